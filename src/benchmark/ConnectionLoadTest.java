@@ -0,0 +1,150 @@
+package benchmark;
+
+import network.server.Server;
+import network.server.ThreadMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts a server in this JVM, connects many clients that all get into a two-player game, and reports how fast
+ * they connect, how many threads and how much heap the server needs per connection, and how long its writes take.
+ * Run it once with -Dscrabble.threads=platform and once with -Dscrabble.threads=virtual (Java 21) to compare.
+ *
+ * Arguments: the number of clients (1000). The heap per connection includes the client side of the sockets,
+ * which is the same in both modes, and the stacks of virtual threads; the stacks of platform threads are
+ * outside the heap, so compare the thread counts as well.
+ */
+public class ConnectionLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        ThreadMode mode = ThreadMode.fromSystemProperty();
+        PrintStream out = System.out;
+
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        // answer the questions of the server: host, port, two players per game, no computer players
+        System.setIn(new ByteArrayInputStream(("localhost\n" + port + "\n2\n0\n").getBytes(StandardCharsets.UTF_8)));
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        Server server = new Server(mode);
+        Thread serverThread = new Thread(server, "server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+        InetSocketAddress address = new InetSocketAddress("localhost", port);
+        waitForServer(address);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long heapBefore = usedHeap(); // the idle server, with its dictionary loaded
+        int threadsBefore = threads.getThreadCount();
+
+        // connect every client and let it join a game
+        List<SocketChannel> channels = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.write(ByteBuffer.wrap(("HI:;:load" + i + ":;:PC\nCRDY:;:load" + i + "\n")
+                    .getBytes(StandardCharsets.UTF_8)));
+            channels.add(channel);
+        }
+        long connectNanos = System.nanoTime() - start;
+
+        // read everything the server sends until every client is in a running game
+        long received = drain(channels, clients / 2 * 2);
+        long readyNanos = System.nanoTime() - start;
+
+        long heapAfter = usedHeap();
+        int threadsAfter = threads.getThreadCount();
+        out.println("Thread mode:         " + mode.name().toLowerCase()
+                + (System.getProperty(ThreadMode.PROPERTY, "platform").equalsIgnoreCase(mode.name()) ? ""
+                        : " (virtual threads need Java 21)"));
+        out.println("Clients:             " + clients + " in " + (clients / 2) + " games");
+        out.printf("Connect rate:        %.0f connections/s%n", clients / (connectNanos / 1e9));
+        out.printf("All games started:   %.2f s, %d KB received%n", readyNanos / 1e9, received / 1024);
+        out.println("Threads:             " + threadsBefore + " before, " + threadsAfter + " with the clients, "
+                + threads.getPeakThreadCount() + " at the peak");
+        out.printf("Heap per connection: %.1f KB%n", (heapAfter - heapBefore) / 1024.0 / clients);
+        out.println("Outbound:            " + server.getOutboundMetrics());
+
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+        System.exit(0);
+    }
+
+    private static void waitForServer(InetSocketAddress address) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try {
+                SocketChannel.open(address).close();
+                return;
+            } catch (IOException e) {
+                Thread.sleep(50);
+            }
+        }
+        throw new IllegalStateException("The server did not start on " + address);
+    }
+
+    /**
+     * Read from all clients until the given number of them saw their game start, or nothing came for ten seconds
+     * @return the number of bytes read
+     */
+    private static long drain(List<SocketChannel> channels, int expectedStarts) throws IOException {
+        byte[] marker = "Starting the game".getBytes(StandardCharsets.UTF_8);
+        int[] matched = new int[channels.size()];
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long received = 0;
+        int starts = 0;
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < channels.size(); i++) {
+                channels.get(i).configureBlocking(false);
+                channels.get(i).register(selector, SelectionKey.OP_READ, i);
+            }
+            while (starts < expectedStarts && selector.select(10_000) > 0) {
+                for (SelectionKey key : selector.selectedKeys()) {
+                    int client = (Integer) key.attachment();
+                    buffer.clear();
+                    int read = ((SocketChannel) key.channel()).read(buffer);
+                    if (read < 0) {
+                        key.cancel();
+                        continue;
+                    }
+                    received += read;
+                    for (int i = 0; i < read && matched[client] < marker.length; i++) {
+                        matched[client] = buffer.get(i) == marker[matched[client]] ? matched[client] + 1
+                                : buffer.get(i) == marker[0] ? 1 : 0;
+                        if (matched[client] == marker.length) {
+                            starts++;
+                        }
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        }
+        return received;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+} // end of class
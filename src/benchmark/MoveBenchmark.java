@@ -0,0 +1,113 @@
+package benchmark;
+
+import exception.InvalidWordException;
+import game.Game;
+import game.GameServices;
+import game.Move;
+import game.Player;
+import game.TileBag;
+import game.wordchecker.InMemoryScrabbleWordChecker;
+import game.wordchecker.ScrabbleWordChecker;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the allocation and file I/O of validating and scoring a move.
+ *
+ * "per call" repeats what every move used to cost: the words are checked one by one with a new
+ * InMemoryScrabbleWordChecker, as checkWordsValid did (its word map is static, so it is only read once), and a new
+ * TileBag is read from letters.txt, as calculateScore did. Both modes score with the current scoring engine.
+ * "injected" uses the services that a server creates once and shares with all of its games.
+ * Allocation is read from the JVM's per-thread counter, I/O from the rchar field of /proc/self/io (Linux only,
+ * -1 elsewhere).
+ */
+public class MoveBenchmark {
+
+    private static final String[][] MOVES = {
+            {"HORN", "H", "F", "8"}, {"FARM", "V", "H", "6"}, {"PASTE", "H", "F", "10"},
+            {"MOB", "H", "H", "9"}, {"BIT", "H", "E", "11"}, {"BOARD", "V", "E", "11"},
+    };
+
+    private static final int ROUNDS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        GameServices services = GameServices.getDefault();
+        run("per call", services, true, ROUNDS / 10); // warm-up
+        run("injected", services, false, ROUNDS / 10);
+
+        run("per call", services, true, ROUNDS);
+        run("injected", services, false, ROUNDS);
+    }
+
+    private static void run(String label, GameServices services, boolean perCall, int rounds) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long moves = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long readBefore = readChars();
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            Player p1 = new Player("p1");
+            Player p2 = new Player("p2");
+            List<Player> players = new ArrayList<>();
+            players.add(p1);
+            players.add(p2);
+            Game game = new Game(players, services);
+            for (String[] input : MOVES) {
+                p1.makeMove(input);
+                Move move = p1.getMove();
+                if (perCall) {
+                    // what checkWordsValid and calculateScore did on every call before
+                    ScrabbleWordChecker checker = new InMemoryScrabbleWordChecker();
+                    for (String word : game.getAllWords(move)) {
+                        if (checker.isValidWord(word) == null) {
+                            break;
+                        }
+                    }
+                    new TileBag(System.getProperty("user.dir") + "/src/letters.txt");
+                } else {
+                    try {
+                        game.checkWordsValid(game.getAllWords(move));
+                    } catch (InvalidWordException e) {
+                        // the sample moves are valid with the Collins list; keep measuring with others
+                    }
+                }
+                game.calculateScore(move);
+                game.placeTileOnBoard(move);
+                moves++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long readAfter = readChars();
+        long read = readBefore < 0 || readAfter < 0 ? -1 : (readAfter - readBefore) / moves;
+
+        System.out.printf("%-9s %8d moves  %8.2f us/move  %10d bytes allocated/move  %8d bytes read/move%n",
+                label, moves, elapsed / 1000.0 / moves, allocated / moves, read);
+    }
+
+    /**
+     * Get the number of bytes this process read so far
+     * @return the rchar field of /proc/self/io, -1 if it cannot be read
+     */
+    private static long readChars() throws IOException {
+        Path io = Paths.get("/proc/self/io");
+        if (!Files.isReadable(io)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(io)) {
+            if (line.startsWith("rchar:")) {
+                return Long.parseLong(line.substring(6).trim());
+            }
+        }
+        return -1;
+    }
+
+} // end of class
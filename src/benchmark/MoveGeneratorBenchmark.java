@@ -0,0 +1,83 @@
+package benchmark;
+
+import game.Game;
+import game.GameServices;
+import game.Move;
+import game.Player;
+import game.engine.MoveGenerator;
+import game.engine.ScoredMove;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how many moves per millisecond the {@link MoveGenerator} finds.
+ *
+ * Every round plays a game in which both players always make their best move,
+ * and times the generation of all moves for every turn.
+ */
+public class MoveGeneratorBenchmark {
+
+    private static final int ROUNDS = 20;
+    private static final int TURNS = 16;
+
+    public static void main(String[] args) throws Exception {
+        GameServices services = GameServices.getDefault();
+        if (services.getMoveGenerator() == null) {
+            System.out.println("The default dictionary has no word graph to generate moves from.");
+            return;
+        }
+        run(services, ROUNDS / 4); // warm-up
+        run(services, ROUNDS);
+    }
+
+    private static void run(GameServices services, int rounds) throws Exception {
+        MoveGenerator generator = services.getMoveGenerator();
+        long moves = 0;
+        long generations = 0;
+        long elapsed = 0;
+        for (int round = 0; round < rounds; round++) {
+            List<Player> players = new ArrayList<>();
+            players.add(new Player("p1"));
+            players.add(new Player("p2"));
+            Game game = new Game(players, services);
+            for (int turn = 0; turn < TURNS; turn++) {
+                Player player = game.getCurrentPlayer();
+                long start = System.nanoTime();
+                List<ScoredMove> legalMoves = generator.generate(game.getBoard(), player.getCurrentTiles());
+                elapsed += System.nanoTime() - start;
+                moves += legalMoves.size();
+                generations++;
+
+                ScoredMove best = null;
+                for (ScoredMove move : legalMoves) {
+                    if (best == null || move.getScore() > best.getScore()) {
+                        best = move;
+                    }
+                }
+                if (best != null) {
+                    play(game, player, best);
+                }
+                game.nextPlayer();
+            }
+        }
+        System.out.printf("%8d racks  %8.1f moves/rack  %8.1f us/rack  %8.0f moves/ms%n",
+                generations, (double) moves / generations, elapsed / 1000.0 / generations,
+                moves / (elapsed / 1_000_000.0));
+    }
+
+    private static void play(Game game, Player player, ScoredMove scored) throws Exception {
+        Move move = scored.toMove();
+        String wordWithoutBlanks = game.removeMinus(move);
+        if (move.getWord().contains("-")) {
+            move.setWord(game.removeCharAfterMinus(move));
+        }
+        List<Character> tiles = game.tilesToRemove(move);
+        player.removeTilesFromRack(tiles);
+        move.setWord(wordWithoutBlanks);
+        player.addScore(game.calculateScore(move));
+        game.placeTileOnBoard(move);
+        player.addTilesToRack(game.getTileBag().drawTiles(tiles.size()));
+    }
+
+} // end of class
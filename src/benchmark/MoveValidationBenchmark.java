@@ -0,0 +1,103 @@
+package benchmark;
+
+import exception.InvalidMoveException;
+import game.Game;
+import game.GameServices;
+import game.Move;
+import game.Placement;
+import game.Player;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how many moves per second pass the placement rules, and what that allocates.
+ *
+ * "checks" runs the five check methods of Game and tilesToRemove twice, as the server used to;
+ * "validator" runs the single-pass {@link game.MoveValidator} into one reused {@link Placement}.
+ * The dictionary is left out; both paths accept the same moves.
+ */
+public class MoveValidationBenchmark {
+
+    private static final String[][] MOVES = {
+            {"HORN", "H", "F", "8"}, {"SHORE", "V", "I", "4"}, {"HE-RS", "H", "E", "9"}, {"NOSE", "V", "G", "7"},
+    };
+
+    private static final int ROUNDS = 2_000_000;
+
+    public static void main(String[] args) throws Exception {
+        Player p1 = new Player("p1");
+        Player p2 = new Player("p2");
+        List<Player> players = new ArrayList<>();
+        players.add(p1);
+        players.add(p2);
+        Game game = new Game(players, GameServices.getDefault());
+        for (Player player : players) {
+            player.clearRack();
+            player.addTilesToRack(Arrays.asList('H', 'O', 'R', 'N', 'S', 'E', '-'));
+        }
+        p1.makeMove(new String[]{"FARM", "V", "H", "6"});
+        game.placeTileOnBoard(p1.getMove());
+
+        List<Move> moves = new ArrayList<>();
+        for (String[] input : MOVES) {
+            p1.makeMove(input);
+            moves.add(p1.getMove());
+        }
+
+        run("checks", game, p1, moves, false, ROUNDS / 10); // warm-up
+        run("validator", game, p1, moves, true, ROUNDS / 10);
+
+        run("checks", game, p1, moves, false, ROUNDS);
+        run("validator", game, p1, moves, true, ROUNDS);
+    }
+
+    private static void run(String label, Game game, Player player, List<Move> moves, boolean singlePass,
+                            int rounds) throws InvalidMoveException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Placement placement = new Placement();
+
+        int valid = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            Move move = moves.get(round % moves.size());
+            if (singlePass) {
+                if (game.validateMove(move, player, placement).isValid()) {
+                    valid++;
+                }
+            } else if (checkSeparately(game, move)) {
+                valid++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-9s %10.0f moves/s  %8.1f bytes allocated/move  %d valid%n",
+                label, rounds / (elapsed / 1e9), (double) allocated / rounds, valid);
+    }
+
+    private static boolean checkSeparately(Game game, Move original) throws InvalidMoveException {
+        Move move = new Move(original.getWord(), original.getDirection(), original.getPlaceCol(),
+                original.getPlaceRow());
+        if (move.getWord().contains("-")) {
+            move.setWord(game.removeCharAfterMinus(move));
+        }
+        try {
+            game.checkMoveInsideBoard(move);
+            game.checkUsingAvailableTiles(move);
+            game.checkMoveOverwrite(move);
+            game.checkFirstMoveCenter(move);
+            game.checkMoveTouchTile(move);
+        } catch (InvalidMoveException e) {
+            return false;
+        }
+        game.tilesToRemove(move);
+        game.tilesToRemove(move);
+        return true;
+    }
+
+} // end of class
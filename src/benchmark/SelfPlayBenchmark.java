@@ -0,0 +1,47 @@
+package benchmark;
+
+import game.GameServices;
+import game.bot.LeaveTable;
+import game.bot.MonteCarloStrategy;
+import game.bot.StaticEvaluationStrategy;
+import game.bot.Tournament;
+import game.bot.TournamentResult;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays complete bot-vs-bot games without a server and reports throughput, scores and turn latency.
+ * Run it before and after a change of the engine to compare.
+ *
+ * Arguments: the number of games (200), the number of threads (one per core), the seed (42), and optionally
+ * the thinking time of a Monte Carlo bot in milliseconds to play against instead of a second static bot.
+ */
+public class SelfPlayBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        long monteCarloMillis = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        GameServices services = GameServices.getDefault();
+        if (services.getMoveGenerator() == null) {
+            System.out.println("The default dictionary has no word graph to generate moves from.");
+            return;
+        }
+        LeaveTable leaves = LeaveTable.getDefault();
+        Tournament tournament = new Tournament().services(services).threads(threads).seed(seed)
+                .addPlayer("static", random -> new StaticEvaluationStrategy(leaves));
+        if (monteCarloMillis > 0) {
+            tournament.addPlayer("montecarlo", random -> new MonteCarloStrategy(ForkJoinPool.commonPool(),
+                    monteCarloMillis, 10, 2, random));
+        } else {
+            tournament.addPlayer("static2", random -> new StaticEvaluationStrategy(leaves));
+        }
+
+        tournament.games(Math.max(1, games / 10)).run(); // warm-up
+        TournamentResult result = tournament.games(games).run();
+        System.out.print(result);
+    }
+
+} // end of class
@@ -0,0 +1,185 @@
+package game;
+
+/**
+ * Which squares of the board hold a tile, as one bitmask per row and a transposed copy with one per column.
+ *
+ * Bit c of row r and bit r of column c are set for an occupied square (r, c). A line of 15 squares fits in an int,
+ * so questions about a whole word, like whether it touches a tile or which squares of a line are anchors,
+ * are answered with a few shifts and masks instead of a loop over the squares.
+ * The {@link Board} keeps its bitboard in step with the letters on it.
+ */
+public class Bitboard {
+
+    // --- Variables -------------------------------
+
+    private static final int SIZE = Board.BOARD_SIZE;
+    private static final int CENTER = SIZE / 2;
+
+    /** Mask of all squares of a line */
+    public static final int FULL_LINE = (1 << SIZE) - 1;
+
+    /** Orientation of the rows, whose lines are read by horizontal words */
+    public static final int ROWS = 0;
+
+    /** Orientation of the columns, whose lines are read by vertical words */
+    public static final int COLUMNS = 1;
+
+    // occupied squares by orientation, then line
+    private final int[][] lines = new int[2][SIZE];
+    private int tileCount;
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Check if a square holds a tile
+     *
+     * @param row the row, may be outside the board
+     * @param column the column, may be outside the board
+     * @return true if the square is on the board and holds a tile
+     */
+    public boolean isOccupied(int row, int column) {
+        return row >= 0 && row < SIZE && column >= 0 && column < SIZE && (lines[ROWS][row] >>> column & 1) != 0;
+    }
+
+    /**
+     * Check if there are no tiles on the board
+     * @return true if no square is occupied
+     */
+    public boolean isEmpty() {
+        return tileCount == 0;
+    }
+
+    /**
+     * Get the number of tiles on the board
+     * @return the number of occupied squares
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Get the occupied squares of a line
+     *
+     * @param orientation {@link #ROWS} or {@link #COLUMNS}
+     * @param line the row or column, 0-14
+     * @return the mask with bit i set if square i of the line is occupied
+     */
+    public int getLine(int orientation, int line) {
+        return lines[orientation][line];
+    }
+
+    /**
+     * Get the anchors of a line: the empty squares next to a tile, where a word of that line may start to touch
+     * the tiles on the board. On an empty board only the center square is an anchor.
+     *
+     * @param orientation {@link #ROWS} or {@link #COLUMNS}
+     * @param line the row or column, 0-14
+     * @return the mask with bit i set if square i of the line is an anchor
+     */
+    public int anchors(int orientation, int line) {
+        if (tileCount == 0) {
+            return line == CENTER ? 1 << CENTER : 0;
+        }
+        int[] masks = lines[orientation];
+        int occupied = masks[line];
+        int around = occupied << 1 | occupied >>> 1;
+        if (line > 0) {
+            around |= masks[line - 1];
+        }
+        if (line < SIZE - 1) {
+            around |= masks[line + 1];
+        }
+        return around & ~occupied & FULL_LINE;
+    }
+
+    /**
+     * Check if a word uses a tile on the board or lies next to one
+     *
+     * @param direction the direction of the word, H or V
+     * @param startRow the row of the first letter, 0-14
+     * @param startColumn the column of the first letter, 0-14
+     * @param length the number of letters of the word
+     * @return true if a square of the word, the squares right before and after it,
+     *         or a square beside it holds a tile
+     */
+    public boolean touches(char direction, int startRow, int startColumn, int length) {
+        int orientation = direction == Move.VERTICAL ? COLUMNS : ROWS;
+        int line = orientation == ROWS ? startRow : startColumn;
+        int start = orientation == ROWS ? startColumn : startRow;
+        if (line < 0 || line >= SIZE) {
+            return false;
+        }
+        int[] masks = lines[orientation];
+        int span = span(start, length);
+        return (masks[line] & span(start - 1, length + 2)) != 0
+                || (line > 0 && (masks[line - 1] & span) != 0)
+                || (line < SIZE - 1 && (masks[line + 1] & span) != 0);
+    }
+
+    /**
+     * Check if a word covers the center square
+     *
+     * @param direction the direction of the word, H or V
+     * @param startRow the row of the first letter, 0-14
+     * @param startColumn the column of the first letter, 0-14
+     * @param length the number of letters of the word
+     * @return true if one of the letters is placed on the center square
+     */
+    public static boolean coversCenter(char direction, int startRow, int startColumn, int length) {
+        boolean vertical = direction == Move.VERTICAL;
+        int line = vertical ? startColumn : startRow;
+        int start = vertical ? startRow : startColumn;
+        return line == CENTER && (span(start, length) & 1 << CENTER) != 0;
+    }
+
+    /**
+     * Get the mask of the squares from start to start + length - 1, without the ones outside the line
+     */
+    private static int span(int start, int length) {
+        int from = Math.max(start, 0);
+        int to = Math.min(start + length, SIZE);
+        return to <= from ? 0 : ((1 << (to - from)) - 1) << from;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Mark a square as occupied or empty
+     *
+     * @param row the row, 0-14
+     * @param column the column, 0-14
+     * @param occupied true if the square holds a tile
+     */
+    public void set(int row, int column, boolean occupied) {
+        int bit = 1 << column;
+        if (((lines[ROWS][row] & bit) != 0) == occupied) {
+            return;
+        }
+        lines[ROWS][row] ^= bit;
+        lines[COLUMNS][column] ^= 1 << row;
+        tileCount += occupied ? 1 : -1;
+    }
+
+    /**
+     * Make this bitboard a copy of another one
+     * @param other the bitboard to copy
+     */
+    public void copyFrom(Bitboard other) {
+        for (int orientation = 0; orientation < 2; orientation++) {
+            System.arraycopy(other.lines[orientation], 0, lines[orientation], 0, SIZE);
+        }
+        tileCount = other.tileCount;
+    }
+
+    /**
+     * Mark every square as empty
+     */
+    public void clear() {
+        for (int line = 0; line < SIZE; line++) {
+            lines[ROWS][line] = 0;
+            lines[COLUMNS][line] = 0;
+        }
+        tileCount = 0;
+    }
+
+} // end of class
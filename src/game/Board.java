@@ -1,11 +1,13 @@
 package game;
 
+import game.engine.CrossChecker;
 import game.tui.TerminalColors;
 
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,6 +18,18 @@ public class Board {
     private static Map<String, String> boardScores;
     public static final int BOARD_SIZE = 15;
     private char[][] scrabbleBoard;
+    private final Bitboard occupancy = new Bitboard();
+    private long hash; // Zobrist hash of the tiles on the board
+
+    // cross checks and cross word scores of every square, for horizontal [0] and vertical [1] words
+    private final int[][] crossChecks = new int[2][BOARD_SIZE * BOARD_SIZE];
+    private final int[][] crossScores = new int[2][BOARD_SIZE * BOARD_SIZE];
+    private CrossChecker crossChecker;
+
+    // changed squares since the oldest open mark, as square << 16 | previous char
+    private int[] history = new int[32];
+    private int historySize;
+    private int openMarks;
 
     // --- Constructor -----------------------------
 
@@ -29,6 +43,26 @@ public class Board {
         this.initBoardScores();
     }
 
+    /**
+     * Constructor of a copy of a board, for trying out moves without touching the original.
+     * The copy has the same tiles, cross checks and cross checker, but no marks to undo.
+     *
+     * @param other the board to copy
+     */
+    public Board(Board other) {
+        scrabbleBoard = new char[BOARD_SIZE][];
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            scrabbleBoard[row] = other.scrabbleBoard[row].clone();
+        }
+        occupancy.copyFrom(other.occupancy);
+        hash = other.hash;
+        for (int direction = 0; direction < 2; direction++) {
+            System.arraycopy(other.crossChecks[direction], 0, crossChecks[direction], 0, crossChecks[direction].length);
+            System.arraycopy(other.crossScores[direction], 0, crossScores[direction], 0, crossScores[direction].length);
+        }
+        crossChecker = other.crossChecker;
+    }
+
     // --- Queries ---------------------------------
 
     /**
@@ -51,7 +85,79 @@ public class Board {
      * @param c the char to be set on the tile
      */
     public void setTileOnBoard(int row, int column, char c) {
+        if (openMarks > 0) {
+            if (historySize == history.length) {
+                history = Arrays.copyOf(history, historySize * 2);
+            }
+            history[historySize++] = (row * BOARD_SIZE + column) << 16 | scrabbleBoard[row][column];
+        }
+        if (scrabbleBoard[row][column] != ' ') {
+            hash ^= Zobrist.square(row, column, scrabbleBoard[row][column]);
+        }
+        if (c != ' ') {
+            hash ^= Zobrist.square(row, column, c);
+        }
         scrabbleBoard[row][column] = c;
+        occupancy.set(row, column, c != ' ');
+        if (crossChecker != null) {
+            // only the nearest empty squares around the changed line of tiles get a new cross word
+            updateCrossCheck(row, column);
+            updateCrossCheck(emptyRow(row, column, -1), column);
+            updateCrossCheck(emptyRow(row, column, 1), column);
+            updateCrossCheck(row, emptyColumn(row, column, -1));
+            updateCrossCheck(row, emptyColumn(row, column, 1));
+        }
+    }
+
+    /**
+     * Get the letters that may be placed on a square by a word in a direction
+     *
+     * @param row the row of the board
+     * @param column the column of the board
+     * @param direction the direction of the word, H or V
+     * @return bitmask of the allowed letters (bit 0 = A ... bit 25 = Z), every letter if no cross checker is set
+     * @requires row >= 0 && row <= 14 && column >= 0 && column <= 14 && the square is empty
+     */
+    public int getCrossCheck(int row, int column, char direction) {
+        return crossChecks[directionIndex(direction)][row * BOARD_SIZE + column];
+    }
+
+    /**
+     * Get the value of the tiles of the cross word formed by placing a tile on a square
+     *
+     * @param row the row of the board
+     * @param column the column of the board
+     * @param direction the direction of the word, H or V
+     * @return the sum of the letter values without the placed tile, -1 if no cross word is formed
+     *         or no cross checker is set
+     * @requires row >= 0 && row <= 14 && column >= 0 && column <= 14 && the square is empty
+     */
+    public int getCrossScore(int row, int column, char direction) {
+        return crossScores[directionIndex(direction)][row * BOARD_SIZE + column];
+    }
+
+    /**
+     * Get the Zobrist hash of the tiles on the board, kept up to date as tiles are set and undone
+     * @return the hash, 0 for an empty board
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Get the bitboard of the occupied squares, kept in step with the tiles on the board
+     * @return the occupancy of the board
+     */
+    public Bitboard getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Get the cross checker keeping the cross checks of this board up to date
+     * @return the cross checker, or null if none is set
+     */
+    public CrossChecker getCrossChecker() {
+        return crossChecker;
     }
 
     /**
@@ -76,6 +182,122 @@ public class Board {
 
     // --- Commands --------------------------------
 
+    /**
+     * Set the cross checker that keeps the cross checks and cross word scores of every square up to date
+     * @param crossChecker the cross checker, null to stop maintaining them
+     */
+    public void setCrossChecker(CrossChecker crossChecker) {
+        this.crossChecker = crossChecker;
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int column = 0; column < BOARD_SIZE; column++) {
+                updateCrossCheck(row, column);
+            }
+        }
+    }
+
+    /**
+     * Place the letters of a word on the empty squares it covers; squares that hold a tile are left as they are
+     *
+     * @param word the letters of the word
+     * @param direction the direction of the word, H or V
+     * @param startRow the row of the first letter, 0-14
+     * @param startColumn the column of the first letter, 0-14
+     * @return the number of tiles placed
+     * @requires the word lies inside the board
+     */
+    public int placeWord(CharSequence word, char direction, int startRow, int startColumn) {
+        int rowStep = direction == Move.VERTICAL ? 1 : 0;
+        int colStep = direction == Move.HORIZONTAL ? 1 : 0;
+        if (rowStep == colStep) {
+            return 0;
+        }
+        int placed = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int row = startRow + i * rowStep;
+            int column = startColumn + i * colStep;
+            if (scrabbleBoard[row][column] == ' ') {
+                setTileOnBoard(row, column, Character.toUpperCase(word.charAt(i)));
+                placed++;
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Start remembering the changes to the board, so they can be taken back with {@link #undo(int)}.
+     * Marks nest: a mark taken after another one is undone first.
+     *
+     * @return the mark to pass to undo
+     */
+    public int mark() {
+        openMarks++;
+        return historySize;
+    }
+
+    /**
+     * Take back every change made since a mark, cross checks and occupancy included, and close the mark
+     *
+     * @param mark the value returned by {@link #mark()}
+     * @requires the mark is the most recent open one
+     */
+    public void undo(int mark) {
+        int open = openMarks;
+        openMarks = 0; // restoring a square must not be remembered
+        while (historySize > mark) {
+            int change = history[--historySize];
+            int square = change >>> 16;
+            setTileOnBoard(square / BOARD_SIZE, square % BOARD_SIZE, (char) (change & 0xFFFF));
+        }
+        openMarks = open - 1;
+    }
+
+    /**
+     * Compute the cross checks and cross word scores of one square for both directions
+     */
+    private void updateCrossCheck(int row, int column) {
+        if (row < 0 || row >= BOARD_SIZE || column < 0 || column >= BOARD_SIZE) {
+            return;
+        }
+        int square = row * BOARD_SIZE + column;
+        if (crossChecker == null || scrabbleBoard[row][column] != ' ') {
+            for (int direction = 0; direction < 2; direction++) {
+                crossChecks[direction][square] = CrossChecker.ALL_LETTERS;
+                crossScores[direction][square] = CrossChecker.NO_CROSS_WORD;
+            }
+            return;
+        }
+        crossChecks[0][square] = crossChecker.allowedLetters(this, row, column, Move.HORIZONTAL);
+        crossScores[0][square] = crossChecker.crossScore(this, row, column, Move.HORIZONTAL);
+        crossChecks[1][square] = crossChecker.allowedLetters(this, row, column, Move.VERTICAL);
+        crossScores[1][square] = crossChecker.crossScore(this, row, column, Move.VERTICAL);
+    }
+
+    /**
+     * Find the first empty square above (step -1) or below (step 1) a square, skipping the tiles in between
+     */
+    private int emptyRow(int row, int column, int step) {
+        int r = row + step;
+        while (r >= 0 && r < BOARD_SIZE && scrabbleBoard[r][column] != ' ') {
+            r += step;
+        }
+        return r;
+    }
+
+    /**
+     * Find the first empty square left (step -1) or right (step 1) of a square, skipping the tiles in between
+     */
+    private int emptyColumn(int row, int column, int step) {
+        int c = column + step;
+        while (c >= 0 && c < BOARD_SIZE && scrabbleBoard[row][c] != ' ') {
+            c += step;
+        }
+        return c;
+    }
+
+    private static int directionIndex(char direction) {
+        return direction == Move.VERTICAL ? 1 : 0;
+    }
+
     /**
      * Initialize the board by making 15x15 empty 2d char arrays
      */
@@ -86,6 +308,14 @@ public class Board {
                 scrabbleBoard[row][column] = ' ';
             }
         }
+        occupancy.clear();
+        hash = 0;
+        historySize = 0;
+        openMarks = 0;
+        for (int direction = 0; direction < 2; direction++) {
+            Arrays.fill(crossChecks[direction], CrossChecker.ALL_LETTERS);
+            Arrays.fill(crossScores[direction], CrossChecker.NO_CROSS_WORD);
+        }
     }
 
     /**
@@ -0,0 +1,95 @@
+package game;
+
+import game.tui.TerminalColors;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The premium squares of the board as letter and word multipliers, indexed by row * 15 + column.
+ * The layout never changes during a game, so it is read once and shared.
+ */
+public class BoardLayout {
+
+    // --- Variables -------------------------------
+
+    public static final int SQUARES = Board.BOARD_SIZE * Board.BOARD_SIZE;
+
+    private static BoardLayout defaultLayout;
+
+    private final byte[] letterMultipliers = new byte[SQUARES];
+    private final byte[] wordMultipliers = new byte[SQUARES];
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor for a board layout
+     * @param fileName "ScrabbleBoard.txt" file containing (coordinate/multiplier), e.g. A1/3W
+     * @throws IOException if file is not found or broken
+     */
+    public BoardLayout(String fileName) throws IOException {
+        Arrays.fill(letterMultipliers, (byte) 1);
+        Arrays.fill(wordMultipliers, (byte) 1);
+        BufferedReader br = new BufferedReader(new FileReader(fileName));
+        String line;
+        while ((line = br.readLine()) != null) {
+            String[] boardTxt = line.split("/");
+            int column = boardTxt[0].charAt(0) - 'A';
+            int row = Integer.parseInt(boardTxt[0].substring(1)) - 1;
+            byte multiplier = (byte) (boardTxt[1].charAt(0) - '0');
+            if (boardTxt[1].charAt(1) == 'W') {
+                wordMultipliers[row * Board.BOARD_SIZE + column] = multiplier;
+            } else {
+                letterMultipliers[row * Board.BOARD_SIZE + column] = multiplier;
+            }
+        }
+        br.close();
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the layout read from "ScrabbleBoard.txt" in the working directory.
+     * It is read once and then shared by every game.
+     *
+     * @return the default board layout
+     */
+    public static synchronized BoardLayout getDefault() {
+        if (defaultLayout == null) {
+            try {
+                defaultLayout = new BoardLayout(System.getProperty("user.dir") + "/src/ScrabbleBoard.txt");
+            } catch (FileNotFoundException e) {
+                System.out.println(TerminalColors.RED_BOLD
+                        + "File \"ScrabbleBoard.txt\" is missing." + TerminalColors.RESET);
+                System.exit(1);
+            } catch (IOException | RuntimeException e) {
+                System.out.println(TerminalColors.RED_BOLD
+                        + "There is a problem with the file \"ScrabbleBoard.txt\"." + TerminalColors.RESET);
+                System.exit(1);
+            }
+        }
+        return defaultLayout;
+    }
+
+    /**
+     * Get the letter multiplier of a square
+     * @param square the index of the square, row * 15 + column
+     * @return 1, 2 or 3
+     */
+    public int getLetterMultiplier(int square) {
+        return letterMultipliers[square];
+    }
+
+    /**
+     * Get the word multiplier of a square
+     * @param square the index of the square, row * 15 + column
+     * @return 1, 2 or 3
+     */
+    public int getWordMultiplier(int square) {
+        return wordMultipliers[square];
+    }
+
+} // end of class
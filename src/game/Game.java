@@ -2,12 +2,17 @@ package game;
 
 import exception.InvalidMoveException;
 import exception.InvalidWordException;
-import game.wordchecker.InMemoryScrabbleWordChecker;
+import game.engine.CrossChecker;
+import game.engine.MoveGenerator;
+import game.engine.ScoredMove;
 import game.tui.TerminalColors;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Game {
 
@@ -17,29 +22,95 @@ public class Game {
     private Board board;
     private TileBag tileBag;
     private int currentPlayerIndex;
+    private final GameServices services;
+    private final long seed;
+    private final SplittableRandom random;
+    private final List<Turn> history = new ArrayList<>();
+    private boolean turnRecorded;
 
     // --- Constructor -----------------------------
 
     /**
-     * Constructor for Game class
+     * Constructor for Game class, using the services shared by all games
      *
      * @param players List of players playing this game
      * @requires players.size() == 2
      */
     public Game(List<Player> players) {
-        // Generate new board
+        this(players, GameServices.getDefault());
+    }
+
+    /**
+     * Constructor for Game class, with a new random seed
+     *
+     * @param players List of players playing this game
+     * @param services the dictionary and letter values, shared with other games
+     * @requires players.size() == 2 && services != null
+     */
+    public Game(List<Player> players, GameServices services) {
+        this(players, services, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor for Game class. The seed decides the tiles drawn and who starts,
+     * so games with the same seed and the same turns end the same.
+     *
+     * @param players List of players playing this game
+     * @param services the dictionary and letter values, shared with other games
+     * @param seed the seed of the random source of the game
+     * @requires players.size() == 2 && services != null
+     */
+    public Game(List<Player> players, GameServices services, long seed) {
+        this.services = services;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+
+        // Generate new board, keeping its cross checks up to date with the dictionary
         this.board = new Board();
+        this.board.setCrossChecker(services.getCrossChecker());
 
         // Generate new tilebag
-        this.tileBag = new TileBag(System.getProperty("user.dir") + "/src/letters.txt");
+        this.tileBag = new TileBag(services.getLetters(), random.split());
 
         // Generate new list of players
         this.players = players;
         for (Player player : players) {
             player.addTilesToRack(tileBag.drawTiles(7));
         }
-        Random r = new Random();
-        this.currentPlayerIndex = r.nextInt(players.size()); // randomly decides which player starts
+        this.currentPlayerIndex = random.nextInt(players.size()); // randomly decides which player starts
+    }
+
+    /**
+     * Play a game again from its seed and its history
+     *
+     * @param players new players with empty racks, in the same order as in the original game
+     * @param services the dictionary and letter values of the original game
+     * @param seed the seed of the original game, see {@link #getSeed()}
+     * @param turns the turns of the original game, see {@link #getHistory()}
+     * @return the game in the state after the last turn
+     * @throws InvalidMoveException if a turn cannot be played in the replayed game
+     * @requires the players have empty racks and no score
+     */
+    public static Game replay(List<Player> players, GameServices services, long seed, List<Turn> turns)
+            throws InvalidMoveException {
+        Game game = new Game(players, services, seed);
+        Placement placement = new Placement();
+        for (int i = 0; i < turns.size(); i++) {
+            Turn turn = turns.get(i);
+            Player player = game.getCurrentPlayer();
+            if (turn.getKind() == Turn.Kind.PLAY) {
+                if (!game.validateMove(turn.getMove(), player, placement).isValid()) {
+                    throw new InvalidMoveException("Turn " + (i + 1) + " (" + turn + ") cannot be replayed: "
+                            + placement.getErrorMessage());
+                }
+                game.playMove(placement, player);
+            } else if (turn.getKind() == Turn.Kind.SWAP) {
+                player.checkSwapTilesInRack(turn.getTiles());
+                game.swapTiles(player, turn.getTiles());
+            }
+            game.nextPlayer();
+        }
+        return game;
     }
 
     // --- Queries ---------------------------------
@@ -60,6 +131,45 @@ public class Game {
         return players.get(currentPlayerIndex);
     }
 
+    /**
+     * Get the Zobrist hash of the position: the tiles on the board, the racks, the tiles left in the bag
+     * and the player to move. The scores are not part of it.
+     * Each part is kept up to date as it changes, so this is a handful of XORs.
+     *
+     * @return the hash of the game state
+     */
+    public long getStateHash() {
+        long hash = board.getHash() ^ tileBag.getHash() ^ Zobrist.turn(currentPlayerIndex);
+        for (int seat = 0; seat < players.size(); seat++) {
+            hash ^= Zobrist.seat(players.get(seat).getRackHash(), seat);
+        }
+        return hash;
+    }
+
+    /**
+     * Get the seed of the random source of the game
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get the turns played so far, to replay the game with {@link #replay}
+     * @return the turns in the order they were played
+     */
+    public List<Turn> getHistory() {
+        return Collections.unmodifiableList(history);
+    }
+
+    /**
+     * Get the players in the order of their turns
+     * @return the players of the game
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
     /**
      * Get the current tile bag
      * @return the current tile bag
@@ -68,6 +178,14 @@ public class Game {
         return tileBag;
     }
 
+    /**
+     * Get the services used by this game
+     * @return the dictionary and letter values of this game
+     */
+    public GameServices getServices() {
+        return services;
+    }
+
     // --- Commands --------------------------------
 
     /**
@@ -77,6 +195,10 @@ public class Game {
      *          || if (currentPlayerIndex) == 1 -> currentPlayerIndex == 0
      */
     public void nextPlayer() {
+        if (!turnRecorded) {
+            history.add(Turn.pass()); // nothing was played, also when the move was rejected
+        }
+        turnRecorded = false;
         this.currentPlayerIndex = (this.currentPlayerIndex + 1) % players.size();
     }
 
@@ -93,168 +215,135 @@ public class Game {
         String word = move.getWord().toUpperCase();
         int startRow = board.convertRow(move.getPlaceRow());
         int startCol = board.convertCol(move.getPlaceCol());
-
-        List<Character> charFirstWord = new ArrayList<>();
-        for (int i = 0; i < word.length(); i++) {
-            charFirstWord.add(i, word.toUpperCase().charAt(i));
+        if (move.getDirection() != Move.HORIZONTAL && move.getDirection() != Move.VERTICAL) {
+            return result;
+        }
+        int rowStep = move.getDirection() == Move.VERTICAL ? 1 : 0;
+        int colStep = move.getDirection() == Move.HORIZONTAL ? 1 : 0;
+
+        // the word itself, with the tiles directly before and after it
+        StringBuilder mainWord = new StringBuilder();
+        appendTilesBefore(mainWord, startRow, startCol, rowStep, colStep);
+        mainWord.append(word);
+        appendTilesFrom(mainWord, startRow + word.length() * rowStep, startCol + word.length() * colStep,
+                rowStep, colStep);
+        if (mainWord.length() > 1) {
+            result.add(mainWord.toString());
         }
 
-        if (move.getDirection() == Move.HORIZONTAL) {
-
-            // check the right side
-            if (startCol + word.length() - 1 < Board.BOARD_SIZE - 1) {
-                char nextChar = board.getTileOnBoard(startRow, startCol + word.length());
-                int i = 0;
-                while (nextChar != ' ') {
-                    charFirstWord.add(charFirstWord.size(), nextChar);
-                    i++;
-                    nextChar = board.getTileOnBoard(startRow, startCol + word.length() + i);
-                }
-            }
-
-            // check the left side
-            if (startCol > 0) {
-                char nextChar = board.getTileOnBoard(startRow, startCol - 1);
-                int i = 1;
-                while (nextChar != ' ') {
-                    charFirstWord.add(0, nextChar);
-                    i++;
-                    nextChar = board.getTileOnBoard(startRow, startCol - i);
-                }
-            }
-
-            // combine right and left
-            String leftRight = "";
-            for (char c : charFirstWord) {
-                leftRight += c;
-            }
-            
-            // add to list result
-            if (leftRight.length() > 1) {
-                result.add(leftRight);
-            }
-
-            // check above and below each placed tile
-
-            for (int i = 0; i < word.length(); i++) {
-                List<Character> charAdditionalWords = new ArrayList<>();
-                if (board.getTileOnBoard(startRow, startCol + i) == ' ') { // only check the tile placed by player, not existing tile on board
-                    char c = word.charAt(i);
-                    charAdditionalWords.add(c);
-                    // check above
-                    if (startRow > 0) {
-                        int x = 1;
-                        char nextChar = '@';
-                        while (nextChar != ' ') {
-                            nextChar = startRow - x >= 0 ? board.getTileOnBoard(startRow - x, startCol + i) : ' ';
-                            if (nextChar != ' ') {
-                                charAdditionalWords.add(0, nextChar);
-                            }
-                            x++;
-                        }
-                    }
-                    // check below
-                    if (startRow + word.length() - 1 < Board.BOARD_SIZE - 1) {
-                        int x = 1;
-                        char nextChar = '@';
-                        while (nextChar != ' ') {
-                            nextChar = startRow + x < Board.BOARD_SIZE ? board.getTileOnBoard(startRow + x, startCol + i) : ' ';
-                            if (nextChar != ' ') {
-                                charAdditionalWords.add(charAdditionalWords.size(), nextChar);
-                            }
-                            x++;
-                        }
-                    }
-                    // combine above and below
-                    String upDown = "";
-                    for (char upDownAdditional : charAdditionalWords) {
-                        upDown += upDownAdditional;
-                    }
-                    // add to list result
-                    if (upDown.length() > 1) {
-                        result.add(upDown);
-                    }
-                }
+        // the words across each placed tile, not across the existing tiles on board;
+        // the board already knows which squares have tiles across them
+        for (int i = 0; i < word.length(); i++) {
+            int row = startRow + i * rowStep;
+            int col = startCol + i * colStep;
+            if (board.getTileOnBoard(row, col) == ' '
+                    && board.getCrossScore(row, col, move.getDirection()) != CrossChecker.NO_CROSS_WORD) {
+                StringBuilder crossWord = new StringBuilder();
+                appendTilesBefore(crossWord, row, col, colStep, rowStep);
+                crossWord.append(word.charAt(i));
+                appendTilesFrom(crossWord, row + colStep, col + rowStep, colStep, rowStep);
+                result.add(crossWord.toString());
             }
+        }
+        return result;
+    }
 
-        } else if (move.getDirection() == Move.VERTICAL) {
-
-            // check above
-            if (startRow > 0) {
-                char nextChar = board.getTileOnBoard(startRow - 1, startCol);
-                int i = 1;
-                while (nextChar != ' ') {
-                    charFirstWord.add(0, nextChar);
-                    i++;
-                    nextChar = board.getTileOnBoard(startRow - i, startCol);
-                }
-            }
+    /**
+     * Append the tiles on the board that lie directly before a square, in reading order
+     *
+     * @param sb the builder to append to
+     * @param row the row of the square
+     * @param col the column of the square
+     * @param rowStep 1 to read down the column, 0 otherwise
+     * @param colStep 1 to read along the row, 0 otherwise
+     */
+    private void appendTilesBefore(StringBuilder sb, int row, int col, int rowStep, int colStep) {
+        if (rowStep == 0 && colStep == 0) {
+            return;
+        }
+        int first = 0;
+        while (isOccupied(row - (first + 1) * rowStep, col - (first + 1) * colStep)) {
+            first++;
+        }
+        for (int i = first; i > 0; i--) {
+            sb.append(board.getTileOnBoard(row - i * rowStep, col - i * colStep));
+        }
+    }
 
-            // check below
-            if (startRow + word.length() - 1 < Board.BOARD_SIZE - 1) {
-                char nextChar = board.getTileOnBoard(startRow + word.length(), startCol);
-                int i = 0;
-                while (nextChar != ' ') {
-                    charFirstWord.add(charFirstWord.size(), nextChar);
-                    i++;
-                    nextChar = board.getTileOnBoard(startRow + word.length() + i, startCol);
-                }
-            }
+    /**
+     * Append the tiles on the board from a square onwards, up to the first empty square
+     *
+     * @param sb the builder to append to
+     * @param row the row of the first square
+     * @param col the column of the first square
+     * @param rowStep 1 to read down the column, 0 otherwise
+     * @param colStep 1 to read along the row, 0 otherwise
+     */
+    private void appendTilesFrom(StringBuilder sb, int row, int col, int rowStep, int colStep) {
+        if (rowStep == 0 && colStep == 0) {
+            return;
+        }
+        while (isOccupied(row, col)) {
+            sb.append(board.getTileOnBoard(row, col));
+            row += rowStep;
+            col += colStep;
+        }
+    }
 
-            // combine above and below
-            String upDown = "";
-            for (char c : charFirstWord) {
-                upDown += c;
-            }
-            
-            //add to list result
-            if (upDown.length() > 1) {
-                result.add(upDown);
-            }
+    /**
+     * Check a move against all placement rules in a single pass, without throwing exceptions
+     *
+     * @param move the move made by a player, blank tiles written as '-' followed by their letter
+     * @param player the player making the move
+     * @param result the placement to fill in, reused from move to move
+     * @return result, telling which tiles are placed or which rule is broken
+     * @requires move != null && player != null && result != null
+     */
+    public Placement validateMove(Move move, Player player, Placement result) {
+        return MoveValidator.validate(board, move, player.getCurrentTiles(), result);
+    }
 
-            // check left and right of each placed tile
-            for (int i = 0; i < word.length(); i++) {
-                List<Character> charAdditionalWords = new ArrayList<>();
-                if (board.getTileOnBoard(startRow + i, startCol) == ' ') { // only check the tile placed by player, not existing tile on board
-                    char c = word.charAt(i);
-                    charAdditionalWords.add(c);
-                    // check left
-                    if (startCol > 0) {
-                        int x = 1;
-                        char nextChar = '@';
-                        while (nextChar != ' ') {
-                            nextChar = startCol - x >= 0 ? board.getTileOnBoard(startRow + i, startCol - x) : ' ';
-                            if (nextChar != ' ') {
-                                charAdditionalWords.add(0, nextChar);
-                            }
-                            x++;
-                        }
-                    }
-                    // check right
-                    if (startCol + word.length() - 1 < Board.BOARD_SIZE - 1) {
-                        int x = 1;
-                        char nextChar = '@';
-                        while (nextChar != ' ') {
-                            nextChar = startCol + x < Board.BOARD_SIZE ? board.getTileOnBoard(startRow + i, startCol + x) : ' ';
-                            if (nextChar != ' ') {
-                                charAdditionalWords.add(charAdditionalWords.size(), nextChar);
-                            }
-                            x++;
-                        }
-                    }
-                    // combine left and right
-                    String leftRight = "";
-                    for (char leftRightAdditional : charAdditionalWords) {
-                        leftRight += leftRightAdditional;
-                    }
-                    // add to list result
-                    if (leftRight.length() > 1) {
-                        result.add(leftRight);
-                    }
-                }
+    /**
+     * Play a validated move: take the tiles from the rack, add the score,
+     * put the tiles on the board and refill the rack
+     *
+     * @param placement the validated move
+     * @param player the player making the move
+     * @return the score of the move
+     * @requires placement.isValid() && all words formed by the move are valid
+     */
+    public int playMove(Placement placement, Player player) {
+        Move move = placement.toMove();
+        history.add(Turn.play(placement.toTypedMove()));
+        turnRecorded = true;
+        player.removeTilesFromRack(placement.getTilesUsed());
+        int score = calculateScore(move);
+        player.addScore(score);
+        player.addTilesToRack(tileBag.drawTiles(placement.getTileCount()));
+        for (int i = 0; i < placement.getLength(); i++) {
+            if (placement.isPlaced(i)) {
+                board.setTileOnBoard(placement.getRow(i), placement.getColumn(i), placement.getLetter(i));
             }
         }
-        return result;
+        return score;
+    }
+
+    /**
+     * Put tiles of a player back into the bag and give the player as many new ones
+     *
+     * @param player the player swapping
+     * @param tiles the tiles to put back
+     * @return the new tiles
+     * @requires player has all the tiles
+     */
+    public List<Character> swapTiles(Player player, List<Character> tiles) {
+        List<Character> back = new ArrayList<>(tiles); // tiles may be a view of the rack
+        history.add(Turn.swap(back));
+        turnRecorded = true;
+        player.removeTilesFromRack(back);
+        List<Character> swapped = tileBag.swapTiles(back);
+        player.addTilesToRack(swapped);
+        return swapped;
     }
 
     /**
@@ -267,15 +356,23 @@ public class Game {
      * @ensures true if all words are valid, false if at least one word is invalid
      */
     public boolean checkWordsValid(List<String> words) throws InvalidWordException {
-        InMemoryScrabbleWordChecker checker = new InMemoryScrabbleWordChecker();
-        for (String word : words) {
-            if (checker.isValidWord(word) == null) {
-                throw new InvalidWordException();
-            }
+        if (services.getDictionary().isValidWords(words).contains(null)) {
+            throw new InvalidWordException();
         }
         return true;
     }
 
+    /**
+     * Check if all the words in a list are defined in the dictionary, without waiting for the dictionary
+     *
+     * @param words a list of words to be checked
+     * @return a future completing with true if all words are valid, false if at least one word is invalid
+     * @requires words != null
+     */
+    public CompletableFuture<Boolean> checkWordsValidAsync(List<String> words) {
+        return services.getDictionary().isValidWordsAsync(words).thenApply(responses -> !responses.contains(null));
+    }
+
     /**
      * Check if a move is valid and does not overwrite an existing tile on board
      *
@@ -380,20 +477,8 @@ public class Game {
         int startRow = board.convertRow(move.getPlaceRow());
         int startCol = board.convertCol(move.getPlaceCol());
 
-        if (board.getTileOnBoard('H',8) == ' ') {
-            if (move.getDirection() == Move.HORIZONTAL) {
-                for (int i = 0; i < word.length(); i++) {
-                    if (startRow == 7 && startCol + i == 7) {
-                        return true;
-                    }
-                }
-            } else if (move.getDirection() == Move.VERTICAL) {
-                for (int i = 0; i < word.length(); i++) {
-                    if (startRow + i == 7 && startCol == 7) {
-                        return true;
-                    }
-                }
-            }
+        if (board.getOccupancy().isEmpty()
+                && !Bitboard.coversCenter(move.getDirection(), startRow, startCol, word.length())) {
             throw new InvalidMoveException(TerminalColors.RED_BOLD
                     + "The first move must be made in the center of the board!" + TerminalColors.RESET);
         }
@@ -415,26 +500,20 @@ public class Game {
         int startRow = board.convertRow(move.getPlaceRow());
         int startCol = board.convertCol(move.getPlaceCol());
 
-        if (board.getTileOnBoard('H',8) != ' ') {
-            if (move.getDirection() == Move.HORIZONTAL) {
-                for (int i = 0; i < word.length(); i++) {
-                    if (board.getTileOnBoard(startRow, startCol + i) != ' ') {
-                        return true;
-                    }
-                }
-            } else if (move.getDirection() == Move.VERTICAL) {
-                for (int i = 0; i < word.length(); i++) {
-                    if (board.getTileOnBoard(startRow + i, startCol) != ' ') {
-                        return true;
-                    }
-                }
-            }
+        // the word may use a tile on the board, or lie next to one (parallel to a word or extending it)
+        Bitboard occupancy = board.getOccupancy();
+        if (!occupancy.isEmpty()
+                && !occupancy.touches(move.getDirection(), startRow, startCol, word.length())) {
             throw new InvalidMoveException(TerminalColors.RED_BOLD
                     + "The move must be adjacent to any existing tiles on board!" + TerminalColors.RESET);
         }
         return true;
     }
 
+    private boolean isOccupied(int row, int col) {
+        return board.getOccupancy().isOccupied(row, col);
+    }
+
     /**
      * Exclude the letter in player's move that already exists on the board accordingly
      *
@@ -478,170 +557,11 @@ public class Game {
      *
      * @param move the move made by a player
      * @return the total score of the player's move
-     * @requires move != null
+     * @requires move != null && the tiles of the move are not yet on the board
      * @ensures calculate the score from the move, multipliers included
      */
     public int calculateScore(Move move) {
-        TileBag tileBag = new TileBag(System.getProperty("user.dir") + "/src/letters.txt");
-        String word = move.getWord().toUpperCase();
-        int startRow = board.convertRow(move.getPlaceRow());
-        int startCol = board.convertCol(move.getPlaceCol());
-
-        // Include multiplier for the calculation of the first move (placed tile only)
-        int firstWordScore = 0;
-
-        // Letter Multiplier
-        for (int i = 0; i < word.length(); i++) {
-            char c = word.charAt(i);
-            int charOriginalValue = tileBag.getLetterValue(c);
-            if (move.getDirection() == Move.HORIZONTAL) {
-                if (board.getTileOnBoard(startRow, startCol + i) == ' ') {
-                    switch (board.getBoardMultiplier(board.getCoordinate(startRow, startCol + i))) {
-                        case "3L":
-                            charOriginalValue *= 3;
-                            break;
-                        case "2L":
-                            charOriginalValue *= 2;
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            } else if (move.getDirection() == Move.VERTICAL) {
-                if (board.getTileOnBoard(startRow + i, startCol) == ' ') {
-                    switch (board.getBoardMultiplier(board.getCoordinate(startRow + i, startCol))) {
-                        case "3L":
-                            charOriginalValue *= 3;
-                            break;
-                        case "2L":
-                            charOriginalValue *= 2;
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
-            firstWordScore += charOriginalValue;
-        }
-
-        // Add value of other letter on its right and left or above and below
-        List<Character> charFirstWord = new ArrayList<>();
-        for (int i = 0; i < word.length(); i++) {
-            charFirstWord.add(i, word.toUpperCase().charAt(i));
-        }
-
-        if (move.getDirection() == Move.HORIZONTAL) {
-
-            // check the right side
-            if (startCol + word.length() - 1 < Board.BOARD_SIZE - 1) {
-                char nextChar = board.getTileOnBoard(startRow, startCol + word.length());
-                int x = 0;
-                while (nextChar != ' ') {
-                    firstWordScore += tileBag.getLetterValue(nextChar);
-                    charFirstWord.add(charFirstWord.size(), nextChar);
-                    x++;
-                    nextChar = board.getTileOnBoard(startRow, startCol + word.length() + x);
-                }
-            }
-
-            // check the left side
-            if (startCol > 0) {
-                char nextChar = board.getTileOnBoard(startRow, startCol - 1);
-                int x = 1;
-                while (nextChar != ' ') {
-                    firstWordScore += tileBag.getLetterValue(nextChar);
-                    charFirstWord.add(0, nextChar);
-                    x++;
-                    nextChar = board.getTileOnBoard(startRow, startCol - x);
-                }
-            }
-
-        } else if (move.getDirection() == Move.VERTICAL) {
-
-            // check above
-            if (startRow > 0) {
-                char nextChar = board.getTileOnBoard(startRow - 1, startCol);
-                int x = 1;
-                while (nextChar != ' ') {
-                    firstWordScore += tileBag.getLetterValue(nextChar);
-                    charFirstWord.add(0, nextChar);
-                    x++;
-                    nextChar = board.getTileOnBoard(startRow - x, startCol);
-                }
-            }
-
-            // check below
-            if (startRow + word.length() - 1 < Board.BOARD_SIZE - 1) {
-                char nextChar = board.getTileOnBoard(startRow + word.length(), startCol);
-                int x = 0;
-                while (nextChar != ' ') {
-                    firstWordScore += tileBag.getLetterValue(nextChar);
-                    charFirstWord.add(charFirstWord.size(), nextChar);
-                    x++;
-                    nextChar = board.getTileOnBoard(startRow + word.length() + x, startCol);
-                }
-            }
-        }
-
-        // Word multiplier
-        for (int i = 0; i < word.length(); i++) {
-            if (move.getDirection() == Move.HORIZONTAL) {
-                if (board.getTileOnBoard(startRow, startCol + i) == ' ') {
-                    switch (board.getBoardMultiplier(board.getCoordinate(startRow, startCol + i))) {
-                        case "3W":
-                            firstWordScore *= 3;
-                            break;
-                        case "2W":
-                            firstWordScore *= 2;
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            } else if (move.getDirection() == Move.VERTICAL) {
-                if (board.getTileOnBoard(startRow + i, startCol) == ' ') {
-                    switch (board.getBoardMultiplier(board.getCoordinate(startRow + i, startCol))) {
-                        case "3W":
-                            firstWordScore *= 3;
-                            break;
-                        case "2W":
-                            firstWordScore *= 2;
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
-        }
-
-        // calculate letter values only for the other moves (without multiplier)
-
-        // first, remove the first word value as it has been calculated above
-        String firstWord = "";
-        for (char c : charFirstWord) {
-            firstWord += c;
-        }
-        List<String> otherWords = getAllWords(move);
-        otherWords.remove(firstWord);
-
-        // then, iterate and add the letter values
-        int otherWordsScore = 0;
-        for (String words : otherWords) {
-            for (int i = 0; i < words.length(); i++) {
-                otherWordsScore += tileBag.getLetterValue(words.charAt(i));
-            }
-        }
-
-        // if all 7 tiles are played, player will get 50 bonus points
-        int allTilesScore = 0;
-        if (tilesToRemove(move).size() == 7) {
-            allTilesScore += 50;
-        }
-
-        // Finally, return the addition of firstWordValue (with multiplier)
-        // and otherWordsValue (without multiplier)
-        // and allTilesScore
-        return firstWordScore + otherWordsScore + allTilesScore;
+        return services.getScoring().score(board, move);
     }
 
     /**
@@ -657,10 +577,43 @@ public class Game {
         if (this.tileBag.getTilesLeft() == 0
                 && this.players.get(currentPlayerIndex).getRackSize() == 0) {
             gameOver = true;
+        } else if (this.tileBag.getTilesLeft() == 0 && services.getMoveGenerator() != null) {
+            // no tiles can be swapped anymore, so the game is stuck if nobody can place a word
+            gameOver = true;
+            for (Player p : players) {
+                if (hasLegalMove(p)) {
+                    gameOver = false;
+                    break;
+                }
+            }
         }
         return gameOver;
     }
 
+    /**
+     * Check if a player can place any word on the board
+     *
+     * @param player the player whose rack is checked
+     * @return true if the player has at least one legal move, also if the dictionary cannot generate moves
+     * @requires player != null
+     */
+    public boolean hasLegalMove(Player player) {
+        MoveGenerator generator = services.getMoveGenerator();
+        return generator == null || generator.hasMove(board, player.getCurrentTiles());
+    }
+
+    /**
+     * Get every legal move of a player, for hints and computer players
+     *
+     * @param player the player whose rack is used
+     * @return all legal moves with their scores, empty if the dictionary cannot generate moves
+     * @requires player != null
+     */
+    public List<ScoredMove> getLegalMoves(Player player) {
+        MoveGenerator generator = services.getMoveGenerator();
+        return generator == null ? new ArrayList<>() : generator.generate(board, player.getCurrentTiles());
+    }
+
     /**
      * Get the winner of the current game
      *
@@ -681,15 +634,17 @@ public class Game {
     }
 
     /**
-     * Resets the board
+     * Resets the board. The new bag and starting player still come from the seed of the game,
+     * but the history starts again, so a reset game cannot be replayed.
      *
      * @ensures the board, player components, and tile bag are reset
      */
     public void reset() {
         this.board.initBoard();
-        this.tileBag = new TileBag(System.getProperty("user.dir") + "/src/letters.txt");
-        Random r = new Random();
-        this.currentPlayerIndex = r.nextInt(players.size());
+        this.tileBag = new TileBag(services.getLetters(), random.split());
+        this.currentPlayerIndex = random.nextInt(players.size());
+        this.history.clear();
+        this.turnRecorded = false;
     }
 
     /**
@@ -700,23 +655,9 @@ public class Game {
      * @ensures the tiles from the move are placed onto the board
      */
     public void placeTileOnBoard(Move move) {
-        String word = move.getWord().toUpperCase();
-        int startRow = board.convertRow(move.getPlaceRow());
-        int startCol = board.convertCol(move.getPlaceCol());
-
-        for (int i = 0; i < word.length(); i++) {
-            if (move.getDirection() == Move.HORIZONTAL) {
-                if (board.getTileOnBoard(startRow, startCol + i) != ' ') {
-                    continue; // not putting the tile if there is existing tile on board (most likely this letter is not on the rack either)
-                }
-                board.setTileOnBoard(startRow, startCol + i, word.toUpperCase().charAt(i));
-            } else if (move.getDirection() == Move.VERTICAL) {
-                if (board.getTileOnBoard(startRow + i, startCol) != ' ') {
-                    continue; // not putting the tile if there is existing tile on board (most likely this letter is not on the rack either)
-                }
-                board.setTileOnBoard(startRow + i, startCol, word.toUpperCase().charAt(i));
-            }
-        }
+        // squares with an existing tile are skipped (most likely this letter is not on the rack either)
+        board.placeWord(move.getWord(), move.getDirection(),
+                board.convertRow(move.getPlaceRow()), board.convertCol(move.getPlaceCol()));
     }
 
     /**
@@ -0,0 +1,130 @@
+package game;
+
+import game.engine.CrossChecker;
+import game.engine.MoveGenerator;
+import game.engine.ScoringEngine;
+import game.wordchecker.DawgScrabbleWordChecker;
+import game.wordchecker.MappedScrabbleWordChecker;
+import game.wordchecker.ScrabbleWordChecker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * The read-only services a game depends on: the dictionary, the letter values and the scoring.
+ * They are created once per server and shared by all of its games,
+ * so playing a move does not construct checkers or read files.
+ */
+public class GameServices {
+
+    // --- Variables -------------------------------
+
+    private static GameServices defaultServices;
+
+    private final ScrabbleWordChecker dictionary;
+    private final LetterDistribution letters;
+    private final MoveGenerator moveGenerator;
+    private final CrossChecker crossChecker;
+    private final ScoringEngine scoring;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the GameServices class
+     *
+     * @param dictionary the word checker used to validate words
+     * @param letters the letter amounts and values
+     */
+    public GameServices(ScrabbleWordChecker dictionary, LetterDistribution letters) {
+        this.dictionary = dictionary;
+        this.letters = letters;
+        this.moveGenerator = MoveGenerator.forDictionary(dictionary, letters);
+        this.crossChecker = moveGenerator != null ? moveGenerator.getCrossChecker() : new CrossChecker(letters);
+        this.scoring = new ScoringEngine(BoardLayout.getDefault(), letters);
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the services shared by every game that is not given its own.
+     * The dictionary is the compiled image if one exists, the word list otherwise.
+     *
+     * @return the default services
+     */
+    public static synchronized GameServices getDefault() {
+        if (defaultServices == null) {
+            defaultServices = new GameServices(defaultDictionary(), LetterDistribution.getDefault());
+        }
+        return defaultServices;
+    }
+
+    /**
+     * Get the dictionary
+     * @return the word checker
+     */
+    public ScrabbleWordChecker getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Get the letter amounts and values
+     * @return the letter distribution
+     */
+    public LetterDistribution getLetters() {
+        return letters;
+    }
+
+    /**
+     * Get the generator of legal moves for the dictionary
+     * @return the move generator, or null if the dictionary is not backed by a word graph
+     */
+    public MoveGenerator getMoveGenerator() {
+        return moveGenerator;
+    }
+
+    /**
+     * Get the cross checker the boards of the games keep their cross checks and cross word scores with
+     * @return the cross checker, the one of the move generator if there is one
+     */
+    public CrossChecker getCrossChecker() {
+        return crossChecker;
+    }
+
+    /**
+     * Get the scoring engine for the letter values and the board layout
+     * @return the scoring engine
+     */
+    public ScoringEngine getScoring() {
+        return scoring;
+    }
+
+    /**
+     * Get services with another dictionary and the same letter values.
+     * This builds a new move generator and scoring engine, so keep the result and share it,
+     * for example one per {@link game.wordchecker.LexiconVersion}.
+     *
+     * @param otherDictionary the dictionary of the new services
+     * @return the new services
+     */
+    public GameServices withDictionary(ScrabbleWordChecker otherDictionary) {
+        return new GameServices(otherDictionary, letters);
+    }
+
+    /**
+     * Load the dictionary the default services use, without keeping a reference to it
+     * @return the compiled image if one exists, the word list otherwise
+     */
+    public static ScrabbleWordChecker defaultDictionary() {
+        if (Files.isReadable(Paths.get(MappedScrabbleWordChecker.DEFAULT_IMAGE))) {
+            try {
+                return new MappedScrabbleWordChecker();
+            } catch (IOException e) {
+                System.out.println("Could not map the dictionary image, falling back to the word list: "
+                        + e.getMessage());
+            }
+        }
+        return new DawgScrabbleWordChecker();
+    }
+
+} // end of class
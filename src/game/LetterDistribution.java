@@ -0,0 +1,114 @@
+package game;
+
+import game.tui.TerminalColors;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+
+public class LetterDistribution {
+
+    // --- Variables -------------------------------
+
+    /** Tile index of the blank tile; the letters A-Z use 0-25 */
+    public static final int BLANK_INDEX = 26;
+    public static final int TILE_TYPES = 27;
+    public static final char BLANK = '-';
+
+    private static LetterDistribution defaultDistribution;
+
+    private final int[] amounts = new int[TILE_TYPES];
+    private final int[] values = new int[TILE_TYPES];
+    private final char[] fileOrder;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor for a letter distribution
+     * @param fileName "letters.txt" file containing (letter/amount/value)
+     * @throws IOException if file is not found or broken
+     */
+    public LetterDistribution(String fileName) throws IOException {
+        StringBuilder order = new StringBuilder();
+        BufferedReader br = new BufferedReader(new FileReader(fileName));
+        String line;
+        while ((line = br.readLine()) != null) {
+            String[] lettersTxt = line.split("/");
+            char letter = lettersTxt[0].charAt(0);
+            int index = tileIndex(letter);
+            amounts[index] = Integer.parseInt(lettersTxt[1]);
+            values[index] = Integer.parseInt(lettersTxt[2]);
+            order.append(letter);
+        }
+        br.close();
+        this.fileOrder = order.toString().toCharArray();
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the distribution read from "letters.txt" in the working directory.
+     * It is read once and then shared by every game.
+     *
+     * @return the default letter distribution
+     */
+    public static synchronized LetterDistribution getDefault() {
+        if (defaultDistribution == null) {
+            try {
+                defaultDistribution = new LetterDistribution(System.getProperty("user.dir") + "/src/letters.txt");
+            } catch (FileNotFoundException e) {
+                System.out.println(TerminalColors.RED_BOLD + "File \"letters.txt\" is missing." + TerminalColors.RESET);
+                System.exit(1);
+            } catch (IOException e) {
+                System.out.println(TerminalColors.RED_BOLD
+                        + "There is a problem with the file \"letters.txt\"." + TerminalColors.RESET);
+                System.exit(1);
+            }
+        }
+        return defaultDistribution;
+    }
+
+    /**
+     * Returns the value of a tile
+     *
+     * @param c the tile (A-Z, a-z or '-')
+     * @return the value of the tile
+     */
+    public int getValue(char c) {
+        return values[tileIndex(c)];
+    }
+
+    /**
+     * Returns how many of a tile are in a full tile bag
+     *
+     * @param c the tile (A-Z, a-z or '-')
+     * @return the amount of the tile
+     */
+    public int getAmount(char c) {
+        return amounts[tileIndex(c)];
+    }
+
+    /**
+     * Returns the tiles in the order they are listed in "letters.txt"
+     * @return a copy of the tiles in file order
+     */
+    public char[] getTiles() {
+        return fileOrder.clone();
+    }
+
+    /**
+     * Convert a tile to its index
+     *
+     * @param c the tile (A-Z, a-z or '-')
+     * @return 0-25 for the letters, {@link #BLANK_INDEX} for the blank tile
+     * @requires c is a letter or '-'
+     */
+    public static int tileIndex(char c) {
+        if (c == BLANK) {
+            return BLANK_INDEX;
+        }
+        return Character.toUpperCase(c) - 'A';
+    }
+
+} // end of class
@@ -0,0 +1,128 @@
+package game;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks a move against the placement rules in a single walk over its squares.
+ *
+ * One pass does what checkMoveInsideBoard, checkUsingAvailableTiles, checkMoveOverwrite,
+ * checkFirstMoveCenter, checkMoveTouchTile and tilesToRemove of {@link Game} do together;
+ * the outcome is written into a reusable {@link Placement} instead of being thrown.
+ * Whether the words exist is left to the dictionary.
+ */
+public final class MoveValidator {
+
+    // --- Variables -------------------------------
+
+    private static final int MAX_BLANKS = 2;
+
+    // --- Constructor -----------------------------
+
+    private MoveValidator() {
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Validate a move of a player
+     *
+     * @param board the board the move is played on
+     * @param move the move as typed by the player, a blank tile written as '-' followed by its letter
+     * @param rack the tiles of the player
+     * @param result the placement to fill in, its previous content is discarded
+     * @return result, for chaining
+     * @requires board != null && move != null && rack != null && result != null
+     */
+    public static Placement validate(Board board, Move move, List<Character> rack, Placement result) {
+        char direction = Character.toUpperCase(move.getDirection());
+        int startRow = move.getPlaceRow() - 1;
+        int startColumn = Character.toUpperCase(move.getPlaceCol()) - 'A';
+        result.reset(direction, startRow, startColumn);
+
+        int rowStep = direction == Move.VERTICAL ? 1 : 0;
+        int colStep = direction == Move.HORIZONTAL ? 1 : 0;
+        if (rowStep == colStep) {
+            result.fail(Placement.Violation.INVALID_DIRECTION);
+            return result;
+        }
+
+        int[] available = result.rackCounts;
+        Arrays.fill(available, 0);
+        for (int i = 0; i < rack.size(); i++) {
+            available[LetterDistribution.tileIndex(rack.get(i))]++;
+        }
+
+        int blanks = 0;
+        boolean blankNext = false;
+        String word = move.getWord();
+        for (int i = 0; i < word.length(); i++) {
+            char c = Character.toUpperCase(word.charAt(i));
+            if (c == LetterDistribution.BLANK && !blankNext) {
+                blankNext = true;
+                continue;
+            }
+            if (c < 'A' || c > 'Z') {
+                result.fail(Placement.Violation.MALFORMED_WORD);
+                return result;
+            }
+            int square = result.getLength();
+            int row = startRow + square * rowStep;
+            int column = startColumn + square * colStep;
+            if (!isOnBoard(row, column)) {
+                result.fail(Placement.Violation.OUTSIDE_BOARD);
+                return result;
+            }
+
+            char tile = board.getTileOnBoard(row, column);
+            if (tile != ' ') {
+                // a letter of the word that is already on the board
+                if (blankNext || tile != c) {
+                    result.fail(Placement.Violation.OVERWRITE);
+                }
+                result.addSquare(c, false, false);
+            } else {
+                int tileIndex = blankNext ? LetterDistribution.BLANK_INDEX : c - 'A';
+                if (available[tileIndex] == 0) {
+                    result.fail(Placement.Violation.NOT_ON_RACK);
+                } else {
+                    available[tileIndex]--;
+                }
+                if (blankNext) {
+                    blanks++;
+                }
+                result.addSquare(c, blankNext, true);
+            }
+            blankNext = false;
+        }
+
+        int length = result.getLength();
+        if (blankNext || length == 0) {
+            result.fail(Placement.Violation.MALFORMED_WORD);
+        }
+        if (blanks > MAX_BLANKS) {
+            result.fail(Placement.Violation.TOO_MANY_BLANKS);
+        }
+        if (result.getTileCount() == 0) {
+            result.fail(Placement.Violation.NO_TILE_PLACED);
+        }
+        // the word touches the tiles it uses, the ones beside it and the ones it extends
+        Bitboard occupancy = board.getOccupancy();
+        if (occupancy.touches(direction, startRow, startColumn, length)) {
+            result.setTouching();
+        }
+        if (occupancy.isEmpty()) {
+            if (!Bitboard.coversCenter(direction, startRow, startColumn, length)) {
+                result.fail(Placement.Violation.FIRST_MOVE_CENTER);
+            }
+        } else if (!result.isTouching()) {
+            result.fail(Placement.Violation.NOT_TOUCHING);
+        }
+        return result;
+    }
+
+    private static boolean isOnBoard(int row, int column) {
+        return row >= 0 && row < Board.BOARD_SIZE && column >= 0 && column < Board.BOARD_SIZE;
+    }
+
+} // end of class
@@ -0,0 +1,285 @@
+package game;
+
+import game.tui.TerminalColors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of validating a move with the {@link MoveValidator}: the squares the word covers,
+ * which of them get a tile from the rack, and the first rule the move breaks, if any.
+ *
+ * A Placement is meant to be reused for move after move, so validating allocates nothing.
+ */
+public class Placement {
+
+    /**
+     * The rules a move can break, in the order they are reported
+     */
+    public enum Violation {
+        NONE(""),
+        MALFORMED_WORD("Please use letters only, with a '-' before the letter of a blank tile!"),
+        TOO_MANY_BLANKS("You cannot possibly have more than 2 blank tiles!"),
+        INVALID_DIRECTION("The direction must be H (horizontal) or V (vertical)!"),
+        OUTSIDE_BOARD("You cannot place a tile outside the board!"),
+        NOT_ON_RACK("You must use the tiles from your rack!"),
+        OVERWRITE("You cannot overwrite an existing tile on the board!"),
+        NO_TILE_PLACED("You must place at least one tile from your rack!"),
+        FIRST_MOVE_CENTER("The first move must be made in the center of the board!"),
+        NOT_TOUCHING("The move must be adjacent to any existing tiles on board!");
+
+        private final String message;
+
+        Violation(String message) {
+            this.message = message;
+        }
+
+        /**
+         * Get the message shown to the player
+         * @return the message
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    // --- Variables -------------------------------
+
+    private final char[] letters = new char[Board.BOARD_SIZE];
+    private final boolean[] blanks = new boolean[Board.BOARD_SIZE];
+    private final boolean[] placed = new boolean[Board.BOARD_SIZE];
+    final int[] rackCounts = new int[LetterDistribution.TILE_TYPES]; // scratch space of the validator
+
+    private char direction;
+    private int startRow;
+    private int startColumn;
+    private int length;
+    private int tileCount;
+    private boolean touching;
+    private Violation violation;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of an empty Placement, to be filled by {@link MoveValidator#validate}
+     */
+    public Placement() {
+        reset(Move.HORIZONTAL, 0, 0);
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Check if the move breaks none of the placement rules
+     * @return true if the move may be played, the dictionary aside
+     */
+    public boolean isValid() {
+        return violation == Violation.NONE;
+    }
+
+    /**
+     * Get the first rule the move breaks
+     * @return the violation, {@link Violation#NONE} if the move is valid
+     */
+    public Violation getViolation() {
+        return violation;
+    }
+
+    /**
+     * Get the message for the player explaining why the move is invalid
+     * @return the colored message, empty if the move is valid
+     */
+    public String getErrorMessage() {
+        return isValid() ? "" : TerminalColors.RED_BOLD + violation.getMessage() + TerminalColors.RESET;
+    }
+
+    /**
+     * Get the direction of the word
+     * @return H(HORIZONTAL) or V(VERTICAL)
+     */
+    public char getDirection() {
+        return direction;
+    }
+
+    /**
+     * Get the row of the first square
+     * @return the row, 0-14
+     */
+    public int getStartRow() {
+        return startRow;
+    }
+
+    /**
+     * Get the column of the first square
+     * @return the column, 0-14
+     */
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    /**
+     * Get the number of squares the word covers
+     * @return the length of the word
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Get the row of a square of the word
+     * @param i the index of the letter in the word
+     * @return the row, 0-14
+     */
+    public int getRow(int i) {
+        return direction == Move.VERTICAL ? startRow + i : startRow;
+    }
+
+    /**
+     * Get the column of a square of the word
+     * @param i the index of the letter in the word
+     * @return the column, 0-14
+     */
+    public int getColumn(int i) {
+        return direction == Move.HORIZONTAL ? startColumn + i : startColumn;
+    }
+
+    /**
+     * Get a letter of the word, the letter a blank stands for included
+     * @param i the index of the letter in the word
+     * @return the upper case letter
+     */
+    public char getLetter(int i) {
+        return letters[i];
+    }
+
+    /**
+     * Check if a letter of the word is a new tile from the rack
+     * @param i the index of the letter in the word
+     * @return true if the tile is placed by this move, false if it is already on the board
+     */
+    public boolean isPlaced(int i) {
+        return placed[i];
+    }
+
+    /**
+     * Check if a letter of the word is played with a blank tile
+     * @param i the index of the letter in the word
+     * @return true if the letter is a blank tile
+     */
+    public boolean isBlank(int i) {
+        return blanks[i];
+    }
+
+    /**
+     * Get the number of tiles the move takes from the rack
+     * @return the number of new tiles
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Check if the word uses or lies next to a tile on the board
+     * @return true if the word touches an existing tile
+     */
+    public boolean isTouching() {
+        return touching;
+    }
+
+    /**
+     * Get the word with the letters the blank tiles stand for, as the dictionary sees it
+     * @return the upper case word
+     */
+    public String getWord() {
+        return new String(letters, 0, length);
+    }
+
+    /**
+     * Get the tiles the move takes from the rack, '-' for a blank tile
+     * @return a new list of the tiles
+     */
+    public List<Character> getTilesUsed() {
+        List<Character> tiles = new ArrayList<>(tileCount);
+        for (int i = 0; i < length; i++) {
+            if (placed[i]) {
+                tiles.add(blanks[i] ? LetterDistribution.BLANK : letters[i]);
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Get the move with the letters the blank tiles stand for, as the dictionary and the scoring see it
+     * @return a new Move
+     */
+    public Move toMove() {
+        return new Move(getWord(), direction, (char) ('A' + startColumn), startRow + 1);
+    }
+
+    /**
+     * Get the move as a player types it, a blank tile written as '-' followed by its letter,
+     * so it can be validated and played again
+     * @return a new Move
+     */
+    public Move toTypedMove() {
+        StringBuilder word = new StringBuilder(length + tileCount);
+        for (int i = 0; i < length; i++) {
+            if (placed[i] && blanks[i]) {
+                word.append(LetterDistribution.BLANK);
+            }
+            word.append(letters[i]);
+        }
+        return new Move(word.toString(), direction, (char) ('A' + startColumn), startRow + 1);
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Start a new validation
+     *
+     * @param newDirection the direction of the move
+     * @param row the row of the first square
+     * @param column the column of the first square
+     */
+    void reset(char newDirection, int row, int column) {
+        direction = newDirection;
+        startRow = row;
+        startColumn = column;
+        length = 0;
+        tileCount = 0;
+        touching = false;
+        violation = Violation.NONE;
+    }
+
+    /**
+     * Add the next square of the word
+     *
+     * @param letter the letter on the square
+     * @param blank true if the letter is played with a blank tile
+     * @param newTile true if the tile comes from the rack
+     */
+    void addSquare(char letter, boolean blank, boolean newTile) {
+        letters[length] = letter;
+        blanks[length] = blank;
+        placed[length] = newTile;
+        length++;
+        if (newTile) {
+            tileCount++;
+        }
+    }
+
+    void setTouching() {
+        touching = true;
+    }
+
+    /**
+     * Record a broken rule; only the first one in the order of {@link Violation} is kept
+     * @param broken the rule that is broken
+     */
+    void fail(Violation broken) {
+        if (violation == Violation.NONE || broken.ordinal() < violation.ordinal()) {
+            violation = broken;
+        }
+    }
+
+} // end of class
@@ -4,6 +4,7 @@ import exception.InvalidMoveException;
 import game.tui.TerminalColors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Player {
@@ -14,6 +15,8 @@ public class Player {
     private int score;
     private List<Character> rack;
     private Move move;
+    private final int[] tileCounts = new int[LetterDistribution.TILE_TYPES];
+    private long rackHash; // Zobrist hash of the tiles in the rack
 
     // --- Constructor -----------------------------
 
@@ -53,6 +56,14 @@ public class Player {
         return this.rack;
     }
 
+    /**
+     * Get the Zobrist hash of the tiles in the rack, independent of their order
+     * @return the rack hash, 0 for an empty rack
+     */
+    public long getRackHash() {
+        return rackHash;
+    }
+
     /**
      * Get the move of the player
      * @return the move of the player
@@ -76,6 +87,8 @@ public class Player {
      */
     public void clearRack() {
         rack.clear();
+        Arrays.fill(tileCounts, 0);
+        rackHash = 0;
     }
 
     /**
@@ -92,7 +105,9 @@ public class Player {
      * @param tile tile to be removed
      */
     private void removeTileFromRack(char tile) {
-        getCurrentTiles().remove((Character) tile);
+        if (getCurrentTiles().remove((Character) tile)) {
+            countTile(tile, -1);
+        }
     }
 
     /**
@@ -111,6 +126,26 @@ public class Player {
      */
     public void addTilesToRack(List<Character> tilesToAdd) {
         rack.addAll(tilesToAdd);
+        for (char tile : tilesToAdd) {
+            countTile(tile, 1);
+        }
+    }
+
+    /**
+     * Keep the tile counts and the rack hash in step with a tile added to (1) or removed from (-1) the rack
+     */
+    private void countTile(char tile, int change) {
+        int index = LetterDistribution.tileIndex(tile);
+        if (index < 0 || index >= LetterDistribution.TILE_TYPES) {
+            return;
+        }
+        if (change > 0) {
+            tileCounts[index]++;
+            rackHash ^= Zobrist.rack(tile, tileCounts[index]);
+        } else {
+            rackHash ^= Zobrist.rack(tile, tileCounts[index]);
+            tileCounts[index]--;
+        }
     }
 
     /**
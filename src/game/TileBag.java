@@ -11,6 +11,8 @@ public class TileBag {
 
     private Map<Character, Integer> letterToAmountLeft = new HashMap<>();
     private Map<Character, Integer> letterToValue = new HashMap<>();
+    private long hash; // Zobrist hash of the tiles left
+    private final SplittableRandom random;
 
     // --- Constructor -----------------------------
 
@@ -19,6 +21,7 @@ public class TileBag {
      * @param fileName "letters.txt" file containing (letters/value/amount)
      */
     public TileBag (String fileName) {
+        this.random = new SplittableRandom();
         try {
             readTxt(fileName);
         } catch (FileNotFoundException e) {
@@ -30,6 +33,29 @@ public class TileBag {
         }
     }
 
+    /**
+     * Constructor for a new, full tile bag without reading any file
+     * @param letters the letter distribution shared by the games of a server
+     */
+    public TileBag(LetterDistribution letters) {
+        this(letters, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for a new, full tile bag drawing from a given random source,
+     * so the same source draws the same tiles
+     *
+     * @param letters the letter distribution shared by the games of a server
+     * @param random the source of the draws, not to be used elsewhere
+     */
+    public TileBag(LetterDistribution letters, SplittableRandom random) {
+        this.random = random;
+        for (char c : letters.getTiles()) {
+            setAmountLeft(c, letters.getAmount(c));
+            letterToValue.put(c, letters.getValue(c));
+        }
+    }
+
     // --- Queries ---------------------------------
 
     /**
@@ -52,8 +78,29 @@ public class TileBag {
         return letterToValue.get(Character.toUpperCase(c));
     }
 
+    /**
+     * Returns the Zobrist hash of the tiles left in the bag
+     * @return the hash of the amount left of every tile
+     */
+    public long getHash() {
+        return hash;
+    }
+
     // --- Commands --------------------------------
 
+    /**
+     * Change the amount left of a tile, keeping the hash of the bag in step
+     * @param c the tile
+     * @param amount the new amount left
+     */
+    private void setAmountLeft(char c, int amount) {
+        Integer previous = letterToAmountLeft.put(c, amount);
+        if (previous != null) {
+            hash ^= Zobrist.bag(c, previous);
+        }
+        hash ^= Zobrist.bag(c, amount);
+    }
+
     /**
      * Read file to put amount left and value of each letter, then putting both in maps of letter
      * @param fileName file to read the amount left and value of each letter
@@ -67,7 +114,7 @@ public class TileBag {
             char letter = lettersTxt[0].charAt(0);
             int letterAmount = Integer.parseInt(lettersTxt[1]);
             int letterValue = Integer.parseInt(lettersTxt[2]);
-            letterToAmountLeft.put(letter, letterAmount);
+            setAmountLeft(letter, letterAmount);
             letterToValue.put(letter, letterValue);
         }
         br.close();
@@ -90,7 +137,6 @@ public class TileBag {
      * @return a random tile
      */
     private char drawTiles() {
-        Random random = new Random();
         int tilesLeft = this.getTilesLeft();
 
         // If there are no tiles left, this method should throw an exception
@@ -103,9 +149,9 @@ public class TileBag {
         for (char c : letterToAmountLeft.keySet()) {
             int amountLeft = getLetterAmountLeft(c);
             randomNumber -= amountLeft;
-            if (randomNumber <= 0) { // meaning that the letter is available to be drawn
+            if (randomNumber < 0) { // meaning that the pick fell on a copy of this letter
                 tileDrawn = c;
-                letterToAmountLeft.put(c, amountLeft-1);
+                setAmountLeft(c, amountLeft-1);
                 break; // break the for loop
             }
         }
@@ -137,7 +183,7 @@ public class TileBag {
      */
     public List<Character> swapTiles(List<Character> tilesSwap) {
         for (char c : tilesSwap) {
-            letterToAmountLeft.put(c, getLetterAmountLeft(c) + 1); // putting the tile back inside the tile bag
+            setAmountLeft(c, getLetterAmountLeft(c) + 1); // putting the tile back inside the tile bag
         }
         return this.drawTiles(tilesSwap.size());
     }
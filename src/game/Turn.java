@@ -0,0 +1,104 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One turn of a game as it is kept in the history of the game: a word placed, a pass or a swap of tiles.
+ * Together with the seed of the game the history is enough to replay it, see {@link Game#replay}.
+ */
+public class Turn {
+
+    /**
+     * What a player did in a turn
+     */
+    public enum Kind { PLAY, PASS, SWAP }
+
+    // --- Variables -------------------------------
+
+    private static final Turn PASS = new Turn(Kind.PASS, null, Collections.<Character>emptyList());
+
+    private final Kind kind;
+    private final Move move;
+    private final List<Character> tiles;
+
+    // --- Constructor -----------------------------
+
+    private Turn(Kind kind, Move move, List<Character> tiles) {
+        this.kind = kind;
+        this.move = move;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Get the turn in which a word is placed
+     * @param move the move, blank tiles written as '-' followed by their letter
+     * @return the turn
+     */
+    public static Turn play(Move move) {
+        Move copy = new Move(move.getWord(), move.getDirection(), move.getPlaceCol(), move.getPlaceRow());
+        return new Turn(Kind.PLAY, copy, Collections.<Character>emptyList());
+    }
+
+    /**
+     * Get the turn in which nothing is done, also when the move of the player was rejected
+     * @return the turn
+     */
+    public static Turn pass() {
+        return PASS;
+    }
+
+    /**
+     * Get the turn in which tiles are put back into the bag for new ones
+     * @param tiles the tiles put back
+     * @return the turn
+     */
+    public static Turn swap(List<Character> tiles) {
+        return new Turn(Kind.SWAP, null, Collections.unmodifiableList(new ArrayList<>(tiles)));
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get what the player did
+     * @return the kind of the turn
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Get the word placed
+     * @return the move, null if no word was placed
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    /**
+     * Get the tiles put back into the bag
+     * @return the tiles, empty if no tiles were swapped
+     */
+    public List<Character> getTiles() {
+        return tiles;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case PLAY:
+                return "PLAY " + move.getWord() + " " + move.getDirection() + " " + move.getPlaceCol() + " "
+                        + move.getPlaceRow();
+            case SWAP:
+                StringBuilder sb = new StringBuilder("SWAP");
+                for (char tile : tiles) {
+                    sb.append(' ').append(tile);
+                }
+                return sb.toString();
+            default:
+                return "PASS";
+        }
+    }
+
+} // end of class
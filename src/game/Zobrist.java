@@ -0,0 +1,103 @@
+package game;
+
+import java.util.Random;
+
+/**
+ * The random keys of the Zobrist hash of a game state.
+ *
+ * Every fact about a state (a letter on a square, the n-th copy of a tile in a rack or in the bag,
+ * the player to move) has its own 64-bit key, and the hash of a state is the XOR of the keys of its facts.
+ * Changing one fact changes the hash with a single XOR, so {@link Board}, {@link Player} and {@link TileBag}
+ * keep their part of the hash up to date as they change, and undoing a change restores it.
+ * The keys come from a fixed seed, so a hash means the same position in every run.
+ */
+public final class Zobrist {
+
+    // --- Variables -------------------------------
+
+    private static final long SEED = 0x5C7A88B1E5L;
+    private static final int SQUARES = Board.BOARD_SIZE * Board.BOARD_SIZE;
+    private static final int MAX_COUNT = 16;
+    private static final int MAX_SEATS = 8;
+
+    private static final long[] SQUARE_KEYS = new long[SQUARES * 26];
+    private static final long[] RACK_KEYS = new long[LetterDistribution.TILE_TYPES * MAX_COUNT];
+    private static final long[] BAG_KEYS = new long[LetterDistribution.TILE_TYPES * MAX_COUNT];
+    private static final long[] TURN_KEYS = new long[MAX_SEATS];
+
+    static {
+        Random random = new Random(SEED);
+        fill(random, SQUARE_KEYS);
+        fill(random, RACK_KEYS);
+        fill(random, BAG_KEYS);
+        fill(random, TURN_KEYS);
+    }
+
+    // --- Constructor -----------------------------
+
+    private Zobrist() {
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the key of a letter on a square
+     *
+     * @param row the row, 0-14
+     * @param column the column, 0-14
+     * @param letter the letter, A-Z or a-z
+     * @return the key
+     */
+    public static long square(int row, int column, char letter) {
+        return SQUARE_KEYS[(row * Board.BOARD_SIZE + column) * 26 + Character.toUpperCase(letter) - 'A'];
+    }
+
+    /**
+     * Get the key of the count-th copy of a tile in a rack
+     *
+     * @param tile the tile, A-Z or '-'
+     * @param count the number of copies of the tile once this one is in the rack, from 1
+     * @return the key
+     */
+    public static long rack(char tile, int count) {
+        return RACK_KEYS[LetterDistribution.tileIndex(tile) * MAX_COUNT + Math.min(count, MAX_COUNT - 1)];
+    }
+
+    /**
+     * Get the key of a tile of which count copies are left in the bag
+     *
+     * @param tile the tile, A-Z or '-'
+     * @param count the number of copies left, from 0
+     * @return the key
+     */
+    public static long bag(char tile, int count) {
+        return BAG_KEYS[LetterDistribution.tileIndex(tile) * MAX_COUNT + Math.min(count, MAX_COUNT - 1)];
+    }
+
+    /**
+     * Get the key of the player to move
+     * @param seat the index of the player in the game
+     * @return the key
+     */
+    public static long turn(int seat) {
+        return TURN_KEYS[seat % MAX_SEATS];
+    }
+
+    /**
+     * Get the part of the hash for the rack of a player at a seat; racks at different seats hash differently
+     *
+     * @param rackHash the hash of the rack, see {@link Player#getRackHash()}
+     * @param seat the index of the player in the game
+     * @return the rack hash for the seat
+     */
+    public static long seat(long rackHash, int seat) {
+        return Long.rotateLeft(rackHash, seat * 13);
+    }
+
+    private static void fill(Random random, long[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+} // end of class
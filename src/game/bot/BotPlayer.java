@@ -0,0 +1,50 @@
+package game.bot;
+
+import game.Game;
+import game.Player;
+import game.engine.ScoredMove;
+
+/**
+ * A player controlled by the computer instead of a client.
+ */
+public class BotPlayer extends Player {
+
+    // --- Variables -------------------------------
+
+    private final MoveStrategy strategy;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the BotPlayer class
+     *
+     * @param name the name shown to the other players
+     * @param strategy the way the bot chooses its moves
+     */
+    public BotPlayer(String name, MoveStrategy strategy) {
+        super(name);
+        this.strategy = strategy;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the way the bot chooses its moves
+     * @return the strategy
+     */
+    public MoveStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Choose the move of the bot
+     *
+     * @param game the game in which the bot is to move
+     * @return the move to play, or null to pass
+     * @requires game.getCurrentPlayer() == this
+     */
+    public ScoredMove decide(Game game) {
+        return strategy.chooseMove(game, this);
+    }
+
+} // end of class
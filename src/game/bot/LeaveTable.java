@@ -0,0 +1,217 @@
+package game.bot;
+
+import game.LetterDistribution;
+import game.tui.TerminalColors;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * How much the tiles a move leaves on the rack are worth for the moves after it.
+ *
+ * The value of a leave is the sum of a value for every tile and a value for every pair of tiles in it,
+ * so a table is 27 tile values and 27 x 27 pair values and looking up a leave costs a few additions.
+ * The pair of a tile with itself holds the penalty for duplicates.
+ * Tables are written as "leaves.txt" with one (tiles/value) line per entry, like "letters.txt";
+ * {@link LeaveTableBuilder} computes them from self-play.
+ */
+public class LeaveTable {
+
+    // --- Variables -------------------------------
+
+    private static final int TYPES = LetterDistribution.TILE_TYPES;
+
+    private static LeaveTable defaultTable;
+
+    private final float[] tileValues = new float[TYPES];
+    private final float[] pairValues = new float[TYPES * TYPES];
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of a table with every value 0
+     */
+    public LeaveTable() {
+    }
+
+    /**
+     * Constructor of a table read from a file
+     * @param fileName "leaves.txt" file containing (tile/value) and (tile tile/value) lines
+     * @throws IOException if file is not found or broken
+     */
+    public LeaveTable(String fileName) throws IOException {
+        BufferedReader br = new BufferedReader(new FileReader(fileName));
+        try {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] leavesTxt = line.split("/");
+                float value = Float.parseFloat(leavesTxt[1]);
+                if (leavesTxt[0].length() == 1) {
+                    setTileValue(leavesTxt[0].charAt(0), value);
+                } else {
+                    setPairValue(leavesTxt[0].charAt(0), leavesTxt[0].charAt(1), value);
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed leave table " + fileName, e);
+        } finally {
+            br.close();
+        }
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the table in "leaves.txt" in the working directory, or a rough one made from the letter values
+     * if there is none. It is read once and then shared by every bot.
+     *
+     * @return the default leave table
+     */
+    public static synchronized LeaveTable getDefault() {
+        if (defaultTable == null) {
+            String fileName = System.getProperty("user.dir") + "/src/leaves.txt";
+            if (Files.isReadable(Paths.get(fileName))) {
+                try {
+                    defaultTable = new LeaveTable(fileName);
+                } catch (IOException e) {
+                    System.out.println(TerminalColors.RED_BOLD + "There is a problem with the file \"leaves.txt\", "
+                            + "using the letter values instead." + TerminalColors.RESET);
+                }
+            }
+            if (defaultTable == null) {
+                defaultTable = fromLetters(LetterDistribution.getDefault());
+            }
+        }
+        return defaultTable;
+    }
+
+    /**
+     * Make a rough table from the letters alone: a blank and an S are worth keeping,
+     * cheap letters are worth a little, expensive ones and duplicates cost points.
+     * It is the starting point of {@link LeaveTableBuilder}.
+     *
+     * @param letters the letter values
+     * @return the new table
+     */
+    public static LeaveTable fromLetters(LetterDistribution letters) {
+        LeaveTable table = new LeaveTable();
+        for (char tile : letters.getTiles()) {
+            float value;
+            if (tile == LetterDistribution.BLANK) {
+                value = 20;
+            } else if (tile == 'S') {
+                value = 7;
+            } else {
+                value = 1.5f - 0.75f * letters.getValue(tile);
+            }
+            table.setTileValue(tile, value);
+            table.setPairValue(tile, tile, -3);
+        }
+        return table;
+    }
+
+    /**
+     * Get the value of the tiles left on a rack
+     *
+     * @param counts the number of every tile on the rack, by {@link LetterDistribution#tileIndex(char)}
+     * @return the value of the leave
+     * @requires counts.length == 27
+     */
+    public double value(int[] counts) {
+        double value = 0;
+        for (int i = 0; i < TYPES; i++) {
+            int count = counts[i];
+            if (count == 0) {
+                continue;
+            }
+            value += count * tileValues[i] + count * (count - 1) / 2 * pairValues[i * TYPES + i];
+            for (int j = i + 1; j < TYPES; j++) {
+                if (counts[j] != 0) {
+                    value += count * counts[j] * pairValues[i * TYPES + j];
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get the value of one tile on the rack
+     * @param tile the tile, A-Z or '-'
+     * @return the value
+     */
+    public float getTileValue(char tile) {
+        return tileValues[LetterDistribution.tileIndex(tile)];
+    }
+
+    /**
+     * Get the value of having two tiles on the rack together
+     *
+     * @param first a tile, A-Z or '-'
+     * @param second another tile, or the same one for the value of a duplicate
+     * @return the value
+     */
+    public float getPairValue(char first, char second) {
+        return pairValues[pairIndex(LetterDistribution.tileIndex(first), LetterDistribution.tileIndex(second))];
+    }
+
+    /**
+     * Write the table to a file that can be read back with {@link #LeaveTable(String)}
+     * @param fileName the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(String fileName) throws IOException {
+        BufferedWriter bw = new BufferedWriter(new FileWriter(fileName));
+        try {
+            for (int i = 0; i < TYPES; i++) {
+                bw.write(tileOf(i) + "/" + tileValues[i]);
+                bw.newLine();
+            }
+            for (int i = 0; i < TYPES; i++) {
+                for (int j = i; j < TYPES; j++) {
+                    if (pairValues[i * TYPES + j] != 0) {
+                        bw.write("" + tileOf(i) + tileOf(j) + "/" + pairValues[i * TYPES + j]);
+                        bw.newLine();
+                    }
+                }
+            }
+        } finally {
+            bw.close();
+        }
+    }
+
+    static int pairIndex(int first, int second) {
+        return first <= second ? first * TYPES + second : second * TYPES + first;
+    }
+
+    static char tileOf(int index) {
+        return index == LetterDistribution.BLANK_INDEX ? LetterDistribution.BLANK : (char) ('A' + index);
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Set the value of one tile on the rack
+     * @param tile the tile, A-Z or '-'
+     * @param value the value
+     */
+    public void setTileValue(char tile, float value) {
+        tileValues[LetterDistribution.tileIndex(tile)] = value;
+    }
+
+    /**
+     * Set the value of having two tiles on the rack together
+     *
+     * @param first a tile, A-Z or '-'
+     * @param second another tile, or the same one for the value of a duplicate
+     * @param value the value
+     */
+    public void setPairValue(char first, char second, float value) {
+        pairValues[pairIndex(LetterDistribution.tileIndex(first), LetterDistribution.tileIndex(second))] = value;
+    }
+
+} // end of class
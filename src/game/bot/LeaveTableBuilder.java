@@ -0,0 +1,250 @@
+package game.bot;
+
+import game.Game;
+import game.GameServices;
+import game.LetterDistribution;
+import game.Player;
+import game.engine.ScoredMove;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes a {@link LeaveTable} from games the static evaluation bot plays against itself.
+ *
+ * After every move that leaves tiles on the rack while the bag still has tiles, the leave is remembered together
+ * with what the same player scores on its next turn. The tile and pair values of the table are then fitted to
+ * those scores by stochastic gradient descent, starting from the table the games were played with.
+ * Every round plays its games with the table of the round before, so the values settle over a few rounds.
+ *
+ * Run it offline, for example {@code java game.bot.LeaveTableBuilder 2000 src/leaves.txt},
+ * and the bots pick the file up as {@link LeaveTable#getDefault()}.
+ */
+public class LeaveTableBuilder {
+
+    /**
+     * A leave and what its player scored on the next turn
+     */
+    private static final class Sample {
+        private final int[] counts;
+        private float nextScore;
+
+        Sample(int[] counts) {
+            this.counts = counts;
+        }
+    }
+
+    // --- Variables -------------------------------
+
+    private static final int TYPES = LetterDistribution.TILE_TYPES;
+
+    private GameServices services;
+    private LeaveTable start;
+    private int games = 500;
+    private int rounds = 2;
+    private int epochs = 5;
+    private double learningRate = 0.002;
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Play the games and fit the table
+     * @return the new table
+     * @requires the dictionary of the services can generate moves
+     */
+    public LeaveTable build() {
+        if (services == null) {
+            services = GameServices.getDefault();
+        }
+        LeaveTable table = start != null ? start : LeaveTable.fromLetters(services.getLetters());
+        for (int round = 0; round < rounds; round++) {
+            table = fit(table, selfPlay(new StaticEvaluationStrategy(table)));
+        }
+        return table;
+    }
+
+    /**
+     * Play the games of one round
+     */
+    private List<Sample> selfPlay(MoveStrategy strategy) {
+        List<Sample> samples = new ArrayList<>();
+        for (int g = 0; g < games; g++) {
+            List<BotPlayer> bots = new ArrayList<>();
+            bots.add(new BotPlayer("Bot1", strategy));
+            bots.add(new BotPlayer("Bot2", strategy));
+            SelfPlayGame selfPlay = new SelfPlayGame(bots, services);
+            Game game = selfPlay.getGame();
+            Sample[] waiting = new Sample[bots.size()];
+            while (!selfPlay.isOver()) {
+                BotPlayer bot = selfPlay.getCurrentBot();
+                int seat = bots.indexOf(bot);
+                ScoredMove move = selfPlay.decide();
+
+                Sample leave = null;
+                if (move != null && game.getTileBag().getTilesLeft() > 0 && move.getTileCount() < bot.getRackSize()) {
+                    leave = new Sample(rackCounts(bot));
+                    move.countLeave(game.getBoard(), leave.counts);
+                }
+                int score = selfPlay.play(move);
+                if (waiting[seat] != null) {
+                    waiting[seat].nextScore = score;
+                    samples.add(waiting[seat]);
+                }
+                waiting[seat] = leave;
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Fit the tile and pair values to the samples, starting from a table
+     */
+    private LeaveTable fit(LeaveTable table, List<Sample> samples) {
+        if (samples.isEmpty()) {
+            return table;
+        }
+        double[] tiles = new double[TYPES];
+        double[] pairs = new double[TYPES * TYPES];
+        for (int i = 0; i < TYPES; i++) {
+            tiles[i] = table.getTileValue(LeaveTable.tileOf(i));
+            for (int j = i; j < TYPES; j++) {
+                pairs[LeaveTable.pairIndex(i, j)] = table.getPairValue(LeaveTable.tileOf(i), LeaveTable.tileOf(j));
+            }
+        }
+        // a leave is worth what it adds to the average next score
+        double average = 0;
+        for (Sample sample : samples) {
+            average += sample.nextScore;
+        }
+        average /= samples.size();
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            for (Sample sample : samples) {
+                int[] counts = sample.counts;
+                double error = sample.nextScore - average - predict(tiles, pairs, counts);
+                double step = learningRate * error;
+                for (int i = 0; i < TYPES; i++) {
+                    if (counts[i] == 0) {
+                        continue;
+                    }
+                    tiles[i] += step * counts[i];
+                    pairs[i * TYPES + i] += step * (counts[i] * (counts[i] - 1) / 2);
+                    for (int j = i + 1; j < TYPES; j++) {
+                        pairs[i * TYPES + j] += step * counts[i] * counts[j];
+                    }
+                }
+            }
+        }
+
+        LeaveTable fitted = new LeaveTable();
+        for (int i = 0; i < TYPES; i++) {
+            fitted.setTileValue(LeaveTable.tileOf(i), (float) tiles[i]);
+            for (int j = i; j < TYPES; j++) {
+                fitted.setPairValue(LeaveTable.tileOf(i), LeaveTable.tileOf(j), (float) pairs[i * TYPES + j]);
+            }
+        }
+        return fitted;
+    }
+
+    private static double predict(double[] tiles, double[] pairs, int[] counts) {
+        double value = 0;
+        for (int i = 0; i < TYPES; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            value += counts[i] * tiles[i] + counts[i] * (counts[i] - 1) / 2 * pairs[i * TYPES + i];
+            for (int j = i + 1; j < TYPES; j++) {
+                value += counts[i] * counts[j] * pairs[i * TYPES + j];
+            }
+        }
+        return value;
+    }
+
+    private static int[] rackCounts(Player player) {
+        int[] counts = new int[TYPES];
+        for (char tile : player.getCurrentTiles()) {
+            counts[LetterDistribution.tileIndex(tile)]++;
+        }
+        return counts;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Set the dictionary and letters the games are played with
+     * @param newServices the services of the games, by default {@link GameServices#getDefault()}
+     * @return this builder
+     */
+    public LeaveTableBuilder services(GameServices newServices) {
+        this.services = newServices;
+        return this;
+    }
+
+    /**
+     * Set the table the first round is played with and the fitting starts from
+     * @param table the starting table, by default {@link LeaveTable#fromLetters(LetterDistribution)}
+     * @return this builder
+     */
+    public LeaveTableBuilder startFrom(LeaveTable table) {
+        this.start = table;
+        return this;
+    }
+
+    /**
+     * Set the number of games played in every round
+     * @param newGames the number of games
+     * @return this builder
+     */
+    public LeaveTableBuilder games(int newGames) {
+        this.games = newGames;
+        return this;
+    }
+
+    /**
+     * Set the number of rounds of playing and fitting
+     * @param newRounds the number of rounds
+     * @return this builder
+     */
+    public LeaveTableBuilder rounds(int newRounds) {
+        this.rounds = newRounds;
+        return this;
+    }
+
+    /**
+     * Set how often the fitting goes through the samples of a round
+     * @param newEpochs the number of passes
+     * @return this builder
+     */
+    public LeaveTableBuilder epochs(int newEpochs) {
+        this.epochs = newEpochs;
+        return this;
+    }
+
+    /**
+     * Set how far every sample moves the values
+     * @param rate the learning rate of the gradient descent
+     * @return this builder
+     */
+    public LeaveTableBuilder learningRate(double rate) {
+        this.learningRate = rate;
+        return this;
+    }
+
+    // ------------------ Main --------------------------
+
+    /**
+     * Build a table with the default dictionary and write it
+     * @param args the number of games per round (500) and the file to write (src/leaves.txt)
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        String fileName = args.length > 1 ? args[1] : System.getProperty("user.dir") + "/src/leaves.txt";
+        long start = System.currentTimeMillis();
+        LeaveTable table = new LeaveTableBuilder().games(games).build();
+        table.write(fileName);
+        System.out.println("Wrote " + fileName + " after " + (System.currentTimeMillis() - start) / 1000
+                + " seconds of self-play.");
+    }
+
+} // end of class
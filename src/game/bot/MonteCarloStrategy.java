@@ -0,0 +1,277 @@
+package game.bot;
+
+import game.Board;
+import game.Game;
+import game.Player;
+import game.TileBag;
+import game.engine.MoveGenerator;
+import game.engine.ScoredMove;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses a move by simulating how the game could go on after each of the best scoring candidates.
+ *
+ * The tiles the player cannot see (the bag and the racks of the opponents) are shuffled and dealt again for every
+ * simulation. The candidate is played, then the next opponent and the player take turns playing their best
+ * scoring move for a number of plies. A candidate is worth its score plus the average of what the player scores
+ * minus what the opponent scores in those plies, and the candidate worth the most is chosen.
+ *
+ * Simulations run in rounds of small tasks on a {@link ForkJoinPool}, one task per candidate, so every candidate
+ * gets about as many simulations no matter how many cores there are. Each task works on its own copy of the
+ * board and takes its moves back with {@link Board#undo(int)}. Rounds are started until the time budget is spent.
+ */
+public class MonteCarloStrategy implements MoveStrategy {
+
+    // --- Variables -------------------------------
+
+    private static final int SIMULATIONS_PER_TASK = 4;
+    private static final int RACK_SIZE = 7;
+
+    private final ForkJoinPool pool;
+    private final long timeBudgetNanos;
+    private final int candidates;
+    private final int plies;
+    private final SplittableRandom random;
+
+    // statistics of the last move, read by other threads for reporting
+    private volatile long lastSimulations;
+    private volatile long lastNanos;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of a MonteCarloStrategy on the common pool, simulating the 10 best scoring moves two plies ahead
+     * @param timeBudgetMillis the time to think about a move, in milliseconds
+     * @param random the source of the shuffles, split from the seed of the game so the game can be played again
+     * @requires timeBudgetMillis >= 0 && random != null
+     */
+    public MonteCarloStrategy(long timeBudgetMillis, SplittableRandom random) {
+        this(ForkJoinPool.commonPool(), timeBudgetMillis, 10, 2, random);
+    }
+
+    /**
+     * Constructor of the MonteCarloStrategy class
+     *
+     * @param pool the pool the simulations run on
+     * @param timeBudgetMillis the time to think about a move, in milliseconds
+     * @param candidates how many of the best scoring moves are simulated
+     * @param plies how many moves after the candidate are simulated, alternately by the opponent and the player
+     * @param random the source of the shuffles; the strategy splits it, so it must not be used elsewhere
+     * @requires pool != null && timeBudgetMillis >= 0 && candidates > 0 && plies >= 0 && random != null
+     */
+    public MonteCarloStrategy(ForkJoinPool pool, long timeBudgetMillis, int candidates, int plies,
+                              SplittableRandom random) {
+        this.pool = pool;
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        this.candidates = candidates;
+        this.plies = plies;
+        this.random = random;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the number of simulations run for the last move
+     * @return the number of simulations
+     */
+    public long getLastSimulations() {
+        return lastSimulations;
+    }
+
+    /**
+     * Get how fast the simulations for the last move ran
+     * @return the simulations per second, 0 if nothing was simulated
+     */
+    public double getSimulationsPerSecond() {
+        long nanos = lastNanos;
+        return nanos == 0 ? 0 : lastSimulations * 1e9 / nanos;
+    }
+
+    @Override
+    public String getStatistics() {
+        return String.format("%d simulations, %.0f per second", getLastSimulations(), getSimulationsPerSecond());
+    }
+
+    @Override
+    public ScoredMove chooseMove(Game game, Player player) {
+        lastSimulations = 0;
+        lastNanos = 0;
+        MoveGenerator generator = game.getServices().getMoveGenerator();
+        if (generator == null) {
+            return null;
+        }
+        List<ScoredMove> moves = generator.generate(game.getBoard(), player.getCurrentTiles());
+        if (moves.isEmpty()) {
+            return null;
+        }
+        moves.sort(Comparator.comparingInt(ScoredMove::getScore).reversed());
+        List<ScoredMove> tried = moves.subList(0, Math.min(candidates, moves.size()));
+        if (tried.size() == 1 || plies == 0 || timeBudgetNanos == 0) {
+            return tried.get(0);
+        }
+
+        Position position = new Position(game, player);
+        long[] totals = new long[tried.size()];
+        int[] counts = new int[tried.size()];
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        List<Simulation> round = new ArrayList<>(tried.size());
+        while (System.nanoTime() < deadline) {
+            round.clear();
+            for (ScoredMove candidate : tried) {
+                round.add(new Simulation(generator, position, candidate, random.split(), deadline));
+            }
+            for (Simulation simulation : round) {
+                pool.execute(simulation);
+            }
+            for (int i = 0; i < round.size(); i++) {
+                Simulation simulation = round.get(i);
+                simulation.join();
+                totals[i] += simulation.total;
+                counts[i] += simulation.count;
+            }
+        }
+        lastNanos = System.nanoTime() - start;
+
+        ScoredMove best = tried.get(0);
+        double bestEquity = Double.NEGATIVE_INFINITY;
+        long simulations = 0;
+        for (int i = 0; i < tried.size(); i++) {
+            simulations += counts[i];
+            double equity = tried.get(i).getScore() + (counts[i] == 0 ? 0 : (double) totals[i] / counts[i]);
+            if (counts[i] > 0 && equity > bestEquity) {
+                bestEquity = equity;
+                best = tried.get(i);
+            }
+        }
+        lastSimulations = simulations;
+        return best;
+    }
+
+    /**
+     * What the player knows when the simulations start, copied from the game so the game may go on
+     */
+    private static final class Position {
+        private final Board board;
+        private final List<Character> rack;
+        private final char[] unseen;
+        private final int bagSize;
+        private final int opponentRackSize;
+
+        Position(Game game, Player player) {
+            board = new Board(game.getBoard());
+            rack = new ArrayList<>(player.getCurrentTiles());
+            TileBag bag = game.getTileBag();
+            bagSize = bag.getTilesLeft();
+
+            StringBuilder tiles = new StringBuilder();
+            for (char tile : game.getServices().getLetters().getTiles()) {
+                for (int i = bag.getLetterAmountLeft(tile); i > 0; i--) {
+                    tiles.append(tile);
+                }
+            }
+            List<Player> players = game.getPlayers();
+            Player next = players.get((players.indexOf(player) + 1) % players.size());
+            for (Player other : players) {
+                if (other != player) {
+                    for (char tile : other.getCurrentTiles()) {
+                        tiles.append(tile);
+                    }
+                }
+            }
+            unseen = tiles.toString().toCharArray();
+            opponentRackSize = next == player ? 0 : next.getRackSize();
+        }
+    }
+
+    /**
+     * A few simulations of one candidate
+     */
+    private final class Simulation extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MoveGenerator generator;
+        private final Position position;
+        private final ScoredMove candidate;
+        private final SplittableRandom random;
+        private final long deadline;
+        private long total; // what the player scored minus what the opponent scored after the candidate
+        private int count;
+
+        Simulation(MoveGenerator generator, Position position, ScoredMove candidate, SplittableRandom random,
+                   long deadline) {
+            this.generator = generator;
+            this.position = position;
+            this.candidate = candidate;
+            this.random = random;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void compute() {
+            Board board = new Board(position.board);
+            char[] tiles = position.unseen.clone();
+            List<Character> ownRack = new ArrayList<>(RACK_SIZE);
+            List<Character> opponentRack = new ArrayList<>(RACK_SIZE);
+            for (int i = 0; i < SIMULATIONS_PER_TASK && System.nanoTime() < deadline; i++) {
+                shuffle(tiles);
+                int mark = board.mark();
+
+                // the opponent's rack comes from the unseen tiles, the rest is the bag
+                opponentRack.clear();
+                int drawn = 0;
+                while (drawn < position.opponentRackSize) {
+                    opponentRack.add(tiles[drawn++]);
+                }
+                int bagLeft = position.bagSize;
+
+                ownRack.clear();
+                ownRack.addAll(position.rack);
+                candidate.placeOn(board, ownRack);
+                int refill = Math.min(RACK_SIZE - ownRack.size(), bagLeft);
+                for (int j = 0; j < refill; j++) {
+                    ownRack.add(tiles[drawn++]);
+                }
+                bagLeft -= refill;
+
+                long result = 0;
+                for (int ply = 0; ply < plies; ply++) {
+                    boolean opponent = ply % 2 == 0;
+                    List<Character> rack = opponent ? opponentRack : ownRack;
+                    ScoredMove move = generator.best(board, rack);
+                    if (move == null) {
+                        continue; // a pass
+                    }
+                    move.placeOn(board, rack);
+                    result += opponent ? -move.getScore() : move.getScore();
+                    refill = Math.min(RACK_SIZE - rack.size(), bagLeft);
+                    for (int j = 0; j < refill; j++) {
+                        rack.add(tiles[drawn++]);
+                    }
+                    bagLeft -= refill;
+                }
+
+                board.undo(mark);
+                total += result;
+                count++;
+            }
+        }
+
+        private void shuffle(char[] tiles) {
+            for (int i = tiles.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                char tile = tiles[i];
+                tiles[i] = tiles[j];
+                tiles[j] = tile;
+            }
+        }
+    }
+
+} // end of class
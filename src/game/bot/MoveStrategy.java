@@ -0,0 +1,31 @@
+package game.bot;
+
+import game.Game;
+import game.Player;
+import game.engine.ScoredMove;
+
+/**
+ * The way a computer player decides on its move.
+ */
+public interface MoveStrategy {
+
+    /**
+     * Choose the move of a player. The game must not change while the strategy thinks,
+     * and the strategy does not change it either.
+     *
+     * @param game the game in which the player is to move
+     * @param player the player to move
+     * @return the move to play, or null to pass
+     * @requires game != null && player != null
+     */
+    ScoredMove chooseMove(Game game, Player player);
+
+    /**
+     * Describe the work done for the last move, for the log of the server
+     * @return a short summary, empty if there is nothing to tell
+     */
+    default String getStatistics() {
+        return "";
+    }
+
+}
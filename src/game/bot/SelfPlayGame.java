@@ -0,0 +1,157 @@
+package game.bot;
+
+import game.Game;
+import game.GameServices;
+import game.Placement;
+import game.Player;
+import game.engine.ScoredMove;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A game played by bots only, in-process and without a server, clients or prompts.
+ *
+ * The game can be played to the end with {@link #playToEnd()}, or turn by turn with {@link #decide()} and
+ * {@link #play(ScoredMove)} to look at every move, as {@link Tournament} and {@link LeaveTableBuilder} do.
+ * The game ends when {@link Game#gameOver()} says so, or after six passes in a row.
+ */
+public class SelfPlayGame {
+
+    // --- Variables -------------------------------
+
+    public static final int MAX_PASSES = 6;
+
+    private final Game game;
+    private final List<BotPlayer> bots;
+    private final Placement placement = new Placement();
+
+    private int moves;
+    private int passes;
+    private long lastDecisionNanos;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the SelfPlayGame class, dealing the racks of the bots
+     *
+     * @param bots the players, in seat order
+     * @param services the dictionary and letter values of the game
+     * @requires bots.size() >= 2 && the bots are not in another game
+     */
+    public SelfPlayGame(List<BotPlayer> bots, GameServices services) {
+        this.bots = new ArrayList<>(bots);
+        this.game = new Game(new ArrayList<Player>(bots), services);
+    }
+
+    /**
+     * Constructor of a SelfPlayGame drawing its tiles from a seed
+     *
+     * @param bots the players, in seat order
+     * @param services the dictionary and letter values of the game
+     * @param seed the seed of the game, see {@link Game#Game(List, GameServices, long)}
+     * @requires bots.size() >= 2 && the bots are not in another game
+     */
+    public SelfPlayGame(List<BotPlayer> bots, GameServices services, long seed) {
+        this.bots = new ArrayList<>(bots);
+        this.game = new Game(new ArrayList<Player>(bots), services, seed);
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the game that is played
+     * @return the game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Get the bots in seat order
+     * @return the bots
+     */
+    public List<BotPlayer> getBots() {
+        return bots;
+    }
+
+    /**
+     * Get the bot to move
+     * @return the current player
+     */
+    public BotPlayer getCurrentBot() {
+        return (BotPlayer) game.getCurrentPlayer();
+    }
+
+    /**
+     * Returns if the game is over
+     * @return true if the game is finished or everyone kept passing
+     */
+    public boolean isOver() {
+        return passes >= MAX_PASSES || game.gameOver();
+    }
+
+    /**
+     * Get the number of moves placed on the board so far
+     * @return the number of moves, passes not included
+     */
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * Get how long the last call of {@link #decide()} took
+     * @return the time in nanoseconds
+     */
+    public long getLastDecisionNanos() {
+        return lastDecisionNanos;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Let the bot to move choose its move, without playing it
+     * @return the move, or null to pass
+     * @requires !isOver()
+     */
+    public ScoredMove decide() {
+        long start = System.nanoTime();
+        ScoredMove move = getCurrentBot().decide(game);
+        lastDecisionNanos = System.nanoTime() - start;
+        return move;
+    }
+
+    /**
+     * Play a move of the bot to move and give the turn to the next bot.
+     * A move that is null or breaks the placement rules is a pass.
+     *
+     * @param move the move, usually from {@link #decide()}
+     * @return the score of the move, 0 for a pass
+     * @requires !isOver()
+     */
+    public int play(ScoredMove move) {
+        BotPlayer bot = getCurrentBot();
+        int score = 0;
+        if (move != null && game.validateMove(move.toMove(), bot, placement).isValid()) {
+            score = game.playMove(placement, bot);
+            moves++;
+            passes = 0;
+        } else {
+            passes++;
+        }
+        game.nextPlayer();
+        return score;
+    }
+
+    /**
+     * Let the bots play until the game is over
+     * @return the winner
+     */
+    public Player playToEnd() {
+        while (!isOver()) {
+            play(decide());
+        }
+        return game.getWinner();
+    }
+
+} // end of class
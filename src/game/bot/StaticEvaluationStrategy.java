@@ -0,0 +1,93 @@
+package game.bot;
+
+import game.Board;
+import game.Game;
+import game.LetterDistribution;
+import game.Player;
+import game.engine.ScoredMove;
+
+import java.util.List;
+
+/**
+ * Chooses the move with the highest equity: its score plus the value of the tiles it leaves on the rack,
+ * looked up in a {@link LeaveTable}. Once the bag is empty no new tiles come, so only the score counts.
+ *
+ * Deciding is one move generation and a few additions per move, well under a millisecond for most racks,
+ * so a single server can run many games of these bots at once.
+ * The strategy holds no state of a game and can be shared by any number of bots.
+ */
+public class StaticEvaluationStrategy implements MoveStrategy {
+
+    // --- Variables -------------------------------
+
+    private final LeaveTable leaves;
+
+    // statistics of the last move, read by other threads for reporting
+    private volatile int lastMoves;
+    private volatile long lastNanos;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of a StaticEvaluationStrategy with the default leave table
+     */
+    public StaticEvaluationStrategy() {
+        this(LeaveTable.getDefault());
+    }
+
+    /**
+     * Constructor of the StaticEvaluationStrategy class
+     * @param leaves the values of the tiles left on the rack
+     */
+    public StaticEvaluationStrategy(LeaveTable leaves) {
+        this.leaves = leaves;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the values of the tiles left on the rack
+     * @return the leave table
+     */
+    public LeaveTable getLeaves() {
+        return leaves;
+    }
+
+    @Override
+    public String getStatistics() {
+        return String.format("%d moves evaluated in %d microseconds", lastMoves, lastNanos / 1000);
+    }
+
+    @Override
+    public ScoredMove chooseMove(Game game, Player player) {
+        long start = System.nanoTime();
+        List<ScoredMove> moves = game.getLegalMoves(player);
+        boolean bagEmpty = game.getTileBag().getTilesLeft() == 0;
+
+        int[] rack = new int[LetterDistribution.TILE_TYPES];
+        for (char tile : player.getCurrentTiles()) {
+            rack[LetterDistribution.tileIndex(tile)]++;
+        }
+        int[] leave = new int[LetterDistribution.TILE_TYPES];
+        Board board = game.getBoard();
+
+        ScoredMove best = null;
+        double bestEquity = Double.NEGATIVE_INFINITY;
+        for (ScoredMove move : moves) {
+            double equity = move.getScore();
+            if (!bagEmpty) {
+                System.arraycopy(rack, 0, leave, 0, rack.length);
+                move.countLeave(board, leave);
+                equity += leaves.value(leave);
+            }
+            if (equity > bestEquity) {
+                bestEquity = equity;
+                best = move;
+            }
+        }
+        lastMoves = moves.size();
+        lastNanos = System.nanoTime() - start;
+        return best;
+    }
+
+} // end of class
@@ -0,0 +1,167 @@
+package game.bot;
+
+import game.GameServices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Plays many {@link SelfPlayGame}s in parallel and measures them, as a benchmark of the engine.
+ *
+ * Every game gets its own random source, split in game order from one seed. The seed of the game itself and the
+ * strategy of every bot come from that source, so with deterministic strategies a run with the same seed plays
+ * the same games no matter how they are spread over the threads.
+ */
+public class Tournament {
+
+    /**
+     * The outcome of one game
+     */
+    static final class GameRecord {
+        final int[] scores;
+        final int moves;
+        final long[] moveNanos;
+
+        GameRecord(int[] scores, int moves, long[] moveNanos) {
+            this.scores = scores;
+            this.moves = moves;
+            this.moveNanos = moveNanos;
+        }
+    }
+
+    // --- Variables -------------------------------
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Function<SplittableRandom, MoveStrategy>> strategies = new ArrayList<>();
+    private GameServices services;
+    private int games = 100;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 42;
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Play the games and measure them
+     *
+     * @return the measurements
+     * @throws InterruptedException if the thread is interrupted while waiting for the games
+     * @requires at least two players are added
+     */
+    public TournamentResult run() throws InterruptedException {
+        if (names.size() < 2) {
+            throw new IllegalStateException("A tournament needs at least two players");
+        }
+        if (services == null) {
+            services = GameServices.getDefault();
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        List<SplittableRandom> gameRandoms = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            gameRandoms.add(random.split());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<GameRecord>> futures = new ArrayList<>(games);
+            for (SplittableRandom gameRandom : gameRandoms) {
+                futures.add(executor.submit(() -> playGame(gameRandom)));
+            }
+            List<GameRecord> records = new ArrayList<>(games);
+            for (Future<GameRecord> future : futures) {
+                records.add(future.get());
+            }
+            return new TournamentResult(names, records, System.nanoTime() - start);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game of the tournament failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private GameRecord playGame(SplittableRandom random) {
+        List<BotPlayer> bots = new ArrayList<>(names.size());
+        for (int seat = 0; seat < names.size(); seat++) {
+            bots.add(new BotPlayer(names.get(seat), strategies.get(seat).apply(random.split())));
+        }
+        SelfPlayGame game = new SelfPlayGame(bots, services, random.nextLong());
+        long[] moveNanos = new long[64];
+        int turns = 0;
+        while (!game.isOver()) {
+            long start = System.nanoTime();
+            game.play(game.decide());
+            if (turns == moveNanos.length) {
+                moveNanos = Arrays.copyOf(moveNanos, turns * 2);
+            }
+            moveNanos[turns++] = System.nanoTime() - start;
+        }
+        int[] scores = new int[bots.size()];
+        for (int seat = 0; seat < scores.length; seat++) {
+            scores[seat] = bots.get(seat).getScore();
+        }
+        return new GameRecord(scores, game.getMoveCount(), Arrays.copyOf(moveNanos, turns));
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Add a player; players sit in the order they are added
+     *
+     * @param name the name of the player
+     * @param strategy makes the strategy of the player for one game from a random source
+     * @return this tournament
+     */
+    public Tournament addPlayer(String name, Function<SplittableRandom, MoveStrategy> strategy) {
+        names.add(name);
+        strategies.add(strategy);
+        return this;
+    }
+
+    /**
+     * Set the dictionary and letters the games are played with
+     * @param newServices the services of the games, by default {@link GameServices#getDefault()}
+     * @return this tournament
+     */
+    public Tournament services(GameServices newServices) {
+        this.services = newServices;
+        return this;
+    }
+
+    /**
+     * Set the number of games
+     * @param newGames the number of games
+     * @return this tournament
+     */
+    public Tournament games(int newGames) {
+        this.games = newGames;
+        return this;
+    }
+
+    /**
+     * Set the number of games played at the same time
+     * @param newThreads the number of threads, by default one per core
+     * @return this tournament
+     */
+    public Tournament threads(int newThreads) {
+        this.threads = newThreads;
+        return this;
+    }
+
+    /**
+     * Set the seed the random sources of the games are split from
+     * @param newSeed the seed
+     * @return this tournament
+     */
+    public Tournament seed(long newSeed) {
+        this.seed = newSeed;
+        return this;
+    }
+
+} // end of class
@@ -0,0 +1,167 @@
+package game.bot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The measurements of a {@link Tournament}: throughput, the scores of every seat and the time every turn took.
+ */
+public class TournamentResult {
+
+    // --- Variables -------------------------------
+
+    private final List<String> names;
+    private final int games;
+    private final long elapsedNanos;
+    private final long moves;
+    private final int[][] scores; // [seat][game], sorted
+    private final int[] wins;
+    private final long[] turnNanos; // sorted
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the TournamentResult class
+     *
+     * @param names the names of the players in seat order
+     * @param records the outcome of every game
+     * @param elapsedNanos the time all games took together
+     */
+    TournamentResult(List<String> names, List<Tournament.GameRecord> records, long elapsedNanos) {
+        this.names = new ArrayList<>(names);
+        this.games = records.size();
+        this.elapsedNanos = elapsedNanos;
+        this.scores = new int[names.size()][games];
+        this.wins = new int[names.size()];
+
+        long moveCount = 0;
+        int turnCount = 0;
+        for (Tournament.GameRecord record : records) {
+            turnCount += record.moveNanos.length;
+        }
+        this.turnNanos = new long[turnCount];
+        turnCount = 0;
+        for (int game = 0; game < games; game++) {
+            Tournament.GameRecord record = records.get(game);
+            moveCount += record.moves;
+            System.arraycopy(record.moveNanos, 0, turnNanos, turnCount, record.moveNanos.length);
+            turnCount += record.moveNanos.length;
+            int winner = 0;
+            for (int seat = 0; seat < names.size(); seat++) {
+                scores[seat][game] = record.scores[seat];
+                if (record.scores[seat] > record.scores[winner]) {
+                    winner = seat;
+                }
+            }
+            wins[winner]++;
+        }
+        this.moves = moveCount;
+        for (int[] seatScores : scores) {
+            Arrays.sort(seatScores);
+        }
+        Arrays.sort(turnNanos);
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the number of games played
+     * @return the number of games
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Get the number of moves placed on the board in all games, passes not included
+     * @return the number of moves
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Get how many games were played per second of wall-clock time
+     * @return the games per second
+     */
+    public double getGamesPerSecond() {
+        return games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get how many moves were placed per second of wall-clock time
+     * @return the moves per second
+     */
+    public double getMovesPerSecond() {
+        return moves * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get the time a turn took at a percentile: choosing the move, checking and playing it
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the time in nanoseconds, 0 if no turn was played
+     */
+    public long getTurnNanos(double percentile) {
+        return turnNanos.length == 0 ? 0 : turnNanos[index(turnNanos.length, percentile)];
+    }
+
+    /**
+     * Get the score of a seat at a percentile of all its games
+     *
+     * @param seat the index of the player
+     * @param percentile the percentile, from 0 to 100
+     * @return the score
+     * @requires getGames() > 0
+     */
+    public int getScore(int seat, double percentile) {
+        return scores[seat][index(games, percentile)];
+    }
+
+    /**
+     * Get the average score of a seat
+     * @param seat the index of the player
+     * @return the average score
+     */
+    public double getAverageScore(int seat) {
+        long total = 0;
+        for (int score : scores[seat]) {
+            total += score;
+        }
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    /**
+     * Get the number of games a seat won; a tie counts for the first seat in it
+     * @param seat the index of the player
+     * @return the number of wins
+     */
+    public int getWins(int seat) {
+        return wins[seat];
+    }
+
+    private static int index(int size, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return Math.max(0, Math.min(size - 1, index));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d games in %.2f s: %.1f games/s, %.0f moves/s%n",
+                games, elapsedNanos / 1e9, getGamesPerSecond(), getMovesPerSecond()));
+        report.append(String.format("turn latency: p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                getTurnNanos(50) / 1e6, getTurnNanos(99) / 1e6, getTurnNanos(100) / 1e6));
+        for (int seat = 0; seat < names.size(); seat++) {
+            if (games == 0) {
+                break;
+            }
+            report.append(String.format("%-12s %4d wins  score avg %.1f  min %d  p10 %d  p50 %d  p90 %d  max %d%n",
+                    names.get(seat), wins[seat], getAverageScore(seat), getScore(seat, 0), getScore(seat, 10),
+                    getScore(seat, 50), getScore(seat, 90), getScore(seat, 100)));
+        }
+        return report.toString();
+    }
+
+} // end of class
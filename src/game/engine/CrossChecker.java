@@ -0,0 +1,213 @@
+package game.engine;
+
+import game.Board;
+import game.LetterDistribution;
+import game.Move;
+import game.wordchecker.Dawg;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Works out for an empty square which letters may be placed on it, given the tiles next to it.
+ *
+ * A word played across a square also forms a word with the tiles above and below it (and a word played down,
+ * with the tiles left and right of it). The cross check of the square is the set of letters for which that
+ * cross word is valid, as a bitmask with bit 0 for A up to bit 25 for Z.
+ * The {@link Board} keeps the cross checks and cross word scores of all squares up to date with one of these;
+ * a checker without a word graph allows every letter and only scores the cross words.
+ */
+public class CrossChecker {
+
+    // --- Variables -------------------------------
+
+    /** Cross check of a square that allows every letter */
+    public static final int ALL_LETTERS = (1 << 26) - 1;
+
+    /** Cross score of a square without a cross word */
+    public static final int NO_CROSS_WORD = -1;
+
+    private final Dawg dawg;
+    private final IntPredicate accepts;
+    private final int[] values = new int[26];
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of a CrossChecker that allows every letter
+     * @param letters the letter values used for the cross word scores
+     */
+    public CrossChecker(LetterDistribution letters) {
+        this(null, null, letters);
+    }
+
+    /**
+     * Constructor of the CrossChecker class
+     *
+     * @param dawg the graph of all words that may be played
+     * @param accepts decides for the index of a word of the graph whether it may be played
+     * @param letters the letter values used for the cross word scores
+     */
+    public CrossChecker(Dawg dawg, IntPredicate accepts, LetterDistribution letters) {
+        this.dawg = dawg;
+        this.accepts = accepts;
+        for (int letter = 0; letter < 26; letter++) {
+            values[letter] = letters.getValue((char) ('A' + letter));
+        }
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the value of a letter
+     * @param letter the letter index, 0 = A ... 25 = Z
+     * @return the value of the letter
+     */
+    public int getValue(int letter) {
+        return values[letter];
+    }
+
+    /**
+     * Get the letters that may be placed on an empty square by a word in a direction
+     *
+     * @param board the board
+     * @param row the row of the square, 0-14
+     * @param column the column of the square, 0-14
+     * @param direction the direction of the word, H or V
+     * @return the bitmask of allowed letters, {@link #ALL_LETTERS} if the square has no cross word
+     * @requires board.getTileOnBoard(row, column) == ' '
+     */
+    public int allowedLetters(Board board, int row, int column, char direction) {
+        int rowStep = direction == Move.HORIZONTAL ? 1 : 0;
+        int colStep = direction == Move.HORIZONTAL ? 0 : 1;
+        int before = runLength(board, row, column, -rowStep, -colStep);
+        int after = runLength(board, row, column, rowStep, colStep);
+        if (before == 0 && after == 0) {
+            return ALL_LETTERS;
+        }
+        if (dawg == null) {
+            return ALL_LETTERS;
+        }
+
+        // walk the tiles before the square from the root of the graph
+        int node = Dawg.ROOT;
+        int base = 0;
+        for (int i = before; i > 0; i--) {
+            if (node < 0) {
+                return 0;
+            }
+            int letter = Dawg.letterIndex(board.getTileOnBoard(row - i * rowStep, column - i * colStep));
+            long step = step(node, base, letter);
+            if (step < 0) {
+                return 0;
+            }
+            int edge = dawg.edge((int) (step >>> 32));
+            node = next(edge);
+            base = (int) step + (Dawg.isTerminal(edge) ? 1 : 0);
+        }
+        if (node < 0) {
+            return 0;
+        }
+
+        // then try every letter on the square, followed by the tiles after it
+        int mask = 0;
+        int index = base;
+        for (int e = node; ; e++) {
+            int edge = dawg.edge(e);
+            if (continuesToWord(edge, index, board, row, column, rowStep, colStep, after)) {
+                mask |= 1 << Dawg.letterOf(edge);
+            }
+            if (Dawg.isLastEdge(edge)) {
+                break;
+            }
+            index += dawg.count(e);
+        }
+        return mask;
+    }
+
+    /**
+     * Get the value of the tiles of the cross word through an empty square, without the square itself
+     *
+     * @param board the board
+     * @param row the row of the square, 0-14
+     * @param column the column of the square, 0-14
+     * @param direction the direction of the word, H or V
+     * @return the sum of the letter values, {@link #NO_CROSS_WORD} if the square has no cross word
+     * @requires board.getTileOnBoard(row, column) == ' '
+     */
+    public int crossScore(Board board, int row, int column, char direction) {
+        int rowStep = direction == Move.HORIZONTAL ? 1 : 0;
+        int colStep = direction == Move.HORIZONTAL ? 0 : 1;
+        int before = runLength(board, row, column, -rowStep, -colStep);
+        int after = runLength(board, row, column, rowStep, colStep);
+        if (before == 0 && after == 0) {
+            return NO_CROSS_WORD;
+        }
+        int score = 0;
+        for (int i = -before; i <= after; i++) {
+            if (i != 0) {
+                score += values[Dawg.letterIndex(board.getTileOnBoard(row + i * rowStep, column + i * colStep))];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Check if the word through an edge, continued with the tiles after the square, may be played
+     */
+    private boolean continuesToWord(int edge, int index, Board board, int row, int column,
+                                    int rowStep, int colStep, int after) {
+        for (int i = 1; i <= after; i++) {
+            int node = next(edge);
+            if (node < 0) {
+                return false;
+            }
+            int letter = Dawg.letterIndex(board.getTileOnBoard(row + i * rowStep, column + i * colStep));
+            long step = step(node, index + (Dawg.isTerminal(edge) ? 1 : 0), letter);
+            if (step < 0) {
+                return false;
+            }
+            edge = dawg.edge((int) (step >>> 32));
+            index = (int) step;
+        }
+        return Dawg.isTerminal(edge) && accepts.test(index);
+    }
+
+    /**
+     * Find the edge of a node with a letter
+     *
+     * @return the edge index in the high and the index of the word it spells in the low 32 bits, or -1
+     */
+    private long step(int node, int base, int letter) {
+        int index = base;
+        for (int e = node; ; e++) {
+            int edge = dawg.edge(e);
+            int edgeLetter = Dawg.letterOf(edge);
+            if (edgeLetter == letter) {
+                return ((long) e << 32) | index;
+            }
+            if (edgeLetter > letter || Dawg.isLastEdge(edge)) {
+                return -1;
+            }
+            index += dawg.count(e);
+        }
+    }
+
+    private static int next(int edge) {
+        int target = Dawg.targetOf(edge);
+        return target == 0 ? -1 : target;
+    }
+
+    private static int runLength(Board board, int row, int column, int rowStep, int colStep) {
+        int length = 0;
+        int r = row + rowStep;
+        int c = column + colStep;
+        while (r >= 0 && r < Board.BOARD_SIZE && c >= 0 && c < Board.BOARD_SIZE
+                && board.getTileOnBoard(r, c) != ' ') {
+            length++;
+            r += rowStep;
+            c += colStep;
+        }
+        return length;
+    }
+
+} // end of class
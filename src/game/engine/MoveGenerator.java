@@ -0,0 +1,452 @@
+package game.engine;
+
+import game.Board;
+import game.BoardLayout;
+import game.LetterDistribution;
+import game.Move;
+import game.wordchecker.Dawg;
+import game.wordchecker.DawgScrabbleWordChecker;
+import game.wordchecker.LexiconVersion;
+import game.wordchecker.ScrabbleWordChecker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Finds every legal placement of a rack on a board, with the algorithm of Appel and Jacobson.
+ *
+ * Words are only started next to existing tiles (the anchor squares, or the center on an empty board),
+ * which are read line by line from the {@link game.Bitboard} of the board.
+ * For every empty square the letters that form a valid word with the tiles above and below it are kept
+ * as a bitmask, so the search through the word graph never places a letter that breaks a cross word.
+ * Both directions are searched with the same code by reading the board transposed for vertical words.
+ *
+ * Scores are the ones {@link game.Game#calculateScore(Move)} awards: multipliers count for the main word only,
+ * cross words are worth the plain value of their letters and playing all 7 tiles is worth 50 extra points.
+ * Like the game, a blank tile is scored at the value of the letter it stands for.
+ *
+ * A generator only holds read-only data, so one instance can serve all games sharing a dictionary.
+ */
+public class MoveGenerator {
+
+    // --- Variables -------------------------------
+
+    private static final int SIZE = Board.BOARD_SIZE;
+    private static final int SQUARES = SIZE * SIZE;
+    private static final int ALL_LETTERS = CrossChecker.ALL_LETTERS;
+    private static final int BLANK = LetterDistribution.BLANK_INDEX;
+    private static final int RACK_SIZE = 7;
+    private static final int ALL_TILES_BONUS = 50;
+    private static final char EMPTY = ' ';
+
+    private final Dawg dawg;
+    private final IntPredicate accepts;
+    private final CrossChecker crossChecker;
+    private final int[] values = new int[26];
+
+    // multipliers by orientation (0 = rows, 1 = columns), then line * SIZE + position
+    private final int[][] letterMultipliers = new int[2][SQUARES];
+    private final int[][] wordMultipliers = new int[2][SQUARES];
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the MoveGenerator class
+     *
+     * @param dawg the graph of all words that may be played
+     * @param accepts decides for the index of a word of the graph whether it may be played
+     * @param letters the letter values used for the scores
+     */
+    public MoveGenerator(Dawg dawg, IntPredicate accepts, LetterDistribution letters) {
+        this.dawg = dawg;
+        this.accepts = accepts;
+        this.crossChecker = new CrossChecker(dawg, accepts, letters);
+        for (int letter = 0; letter < 26; letter++) {
+            values[letter] = letters.getValue((char) ('A' + letter));
+        }
+        loadMultipliers(BoardLayout.getDefault());
+    }
+
+    /**
+     * Get a generator for a dictionary, if it is backed by a word graph
+     *
+     * @param dictionary the dictionary of a game
+     * @param letters the letter values used for the scores
+     * @return the generator, or null if the dictionary has no word graph to search
+     */
+    public static MoveGenerator forDictionary(ScrabbleWordChecker dictionary, LetterDistribution letters) {
+        if (dictionary instanceof LexiconVersion) {
+            dictionary = ((LexiconVersion) dictionary).getChecker();
+        }
+        if (dictionary instanceof DawgScrabbleWordChecker) {
+            DawgScrabbleWordChecker checker = (DawgScrabbleWordChecker) dictionary;
+            return new MoveGenerator(checker.getDawg(), checker::accepts, letters);
+        }
+        return null;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get every legal move of a rack
+     *
+     * @param board the board to play on
+     * @param rack the tiles of the player, '-' for a blank tile
+     * @return all moves, in no particular order
+     * @requires board != null && rack != null
+     */
+    public List<ScoredMove> generate(Board board, List<Character> rack) {
+        Search search = new Search(board, rack, false);
+        search.run();
+        return search.moves;
+    }
+
+    /**
+     * Get the move with the highest score
+     *
+     * @param board the board to play on
+     * @param rack the tiles of the player, '-' for a blank tile
+     * @return the best move, or null if the rack cannot be played
+     * @requires board != null && rack != null
+     */
+    public ScoredMove best(Board board, List<Character> rack) {
+        ScoredMove best = null;
+        for (ScoredMove move : generate(board, rack)) {
+            if (best == null || move.getScore() > best.getScore()) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Check if a rack can be played at all; the search stops at the first move found
+     *
+     * @param board the board to play on
+     * @param rack the tiles of the player, '-' for a blank tile
+     * @return true if there is at least one legal move
+     * @requires board != null && rack != null
+     */
+    public boolean hasMove(Board board, List<Character> rack) {
+        Search search = new Search(board, rack, true);
+        search.run();
+        return !search.moves.isEmpty();
+    }
+
+    /**
+     * Get the cross checker for the same words and letter values as this generator.
+     * Moves are generated faster on a board that keeps its cross checks up to date with it.
+     *
+     * @return the cross checker
+     */
+    public CrossChecker getCrossChecker() {
+        return crossChecker;
+    }
+
+    /**
+     * Copy the multipliers of the squares for both orientations; the layout is the same for every board
+     */
+    private void loadMultipliers(BoardLayout layout) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                int square = row * SIZE + col;
+                letterMultipliers[0][square] = layout.getLetterMultiplier(square);
+                letterMultipliers[1][col * SIZE + row] = layout.getLetterMultiplier(square);
+                wordMultipliers[0][square] = layout.getWordMultiplier(square);
+                wordMultipliers[1][col * SIZE + row] = layout.getWordMultiplier(square);
+            }
+        }
+    }
+
+    /**
+     * The state of one generate call; lines are rows for horizontal and columns for vertical words
+     */
+    private class Search {
+        private final Board board;
+        private final char[][] cells = new char[2][SQUARES];
+        private final int[] rack = new int[LetterDistribution.TILE_TYPES];
+        private final boolean stopAtFirst;
+        private int rackTiles;
+        private final List<ScoredMove> moves = new ArrayList<>();
+
+        private final int[] crossMask = new int[SIZE];
+        private final int[] crossScore = new int[SIZE];
+        private final char[] word = new char[SIZE];
+        private final boolean[] blank = new boolean[SIZE];
+        private final char[] prefix = new char[SIZE];
+        private final boolean[] prefixBlank = new boolean[SIZE];
+
+        private char[] line;
+        private int[] lineLetterMultipliers;
+        private int[] lineWordMultipliers;
+        private int orientation;
+        private int lineIndex;
+        private int anchors; // bitmask of the anchor squares of the line, from the board's occupancy
+        private int anchor;
+        private int start;
+        private int found; // word index of the edge returned by walk()
+
+        Search(Board board, List<Character> tiles, boolean stopAtFirst) {
+            this.board = board;
+            this.stopAtFirst = stopAtFirst;
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    char c = Character.toUpperCase(board.getTileOnBoard(row, col));
+                    cells[0][row * SIZE + col] = c;
+                    cells[1][col * SIZE + row] = c;
+                }
+            }
+            for (char tile : tiles) {
+                if (tile == LetterDistribution.BLANK) {
+                    rack[BLANK]++;
+                    rackTiles++;
+                } else if (Dawg.letterIndex(tile) >= 0) {
+                    rack[Dawg.letterIndex(tile)]++;
+                    rackTiles++;
+                }
+            }
+        }
+
+        void run() {
+            line = new char[SIZE];
+            for (orientation = 0; orientation < 2; orientation++) {
+                for (lineIndex = 0; lineIndex < SIZE; lineIndex++) {
+                    System.arraycopy(cells[orientation], lineIndex * SIZE, line, 0, SIZE);
+                    lineLetterMultipliers = letterMultipliers[orientation];
+                    lineWordMultipliers = wordMultipliers[orientation];
+                    anchors = board.getOccupancy().anchors(orientation, lineIndex);
+                    if (anchors == 0) {
+                        continue;
+                    }
+                    computeCrossChecks();
+                    for (int pending = anchors; pending != 0; pending &= pending - 1) {
+                        searchAnchor(Integer.numberOfTrailingZeros(pending));
+                        if (stopAtFirst && !moves.isEmpty()) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean isAnchor(int pos) {
+            return (anchors >>> pos & 1) != 0;
+        }
+
+        /**
+         * Get for every empty square of the line the letters that fit between the tiles across it.
+         * A board kept up to date by this generator's cross checker already has them.
+         */
+        private void computeCrossChecks() {
+            char direction = orientation == 0 ? Move.HORIZONTAL : Move.VERTICAL;
+            boolean cached = board.getCrossChecker() == crossChecker;
+            for (int pos = 0; pos < SIZE; pos++) {
+                int row = orientation == 0 ? lineIndex : pos;
+                int col = orientation == 0 ? pos : lineIndex;
+                if (line[pos] != EMPTY) {
+                    crossMask[pos] = ALL_LETTERS;
+                    crossScore[pos] = CrossChecker.NO_CROSS_WORD;
+                } else if (cached) {
+                    crossMask[pos] = board.getCrossCheck(row, col, direction);
+                    crossScore[pos] = board.getCrossScore(row, col, direction);
+                } else {
+                    crossMask[pos] = crossChecker.allowedLetters(board, row, col, direction);
+                    crossScore[pos] = crossChecker.crossScore(board, row, col, direction);
+                }
+            }
+        }
+
+        /**
+         * Find the edge of a node with a letter, keeping track of the index of the word it spells
+         *
+         * @return the edge index, or -1; the word index is left in {@link #found}
+         */
+        private int walk(int node, int base, int letter) {
+            int index = base;
+            for (int e = node; ; e++) {
+                int edge = dawg.edge(e);
+                int edgeLetter = Dawg.letterOf(edge);
+                if (edgeLetter == letter) {
+                    found = index;
+                    return e;
+                }
+                if (edgeLetter > letter || Dawg.isLastEdge(edge)) {
+                    return -1;
+                }
+                index += dawg.count(e);
+            }
+        }
+
+        private int next(int edge) {
+            int target = Dawg.targetOf(edge);
+            return target == 0 ? -1 : target;
+        }
+
+        private void searchAnchor(int pos) {
+            anchor = pos;
+            if (pos > 0 && line[pos - 1] != EMPTY) {
+                // the tiles left of the anchor are the fixed start of the word
+                start = pos - 1;
+                while (start > 0 && line[start - 1] != EMPTY) {
+                    start--;
+                }
+                int node = Dawg.ROOT;
+                int base = 0;
+                int sum = 0;
+                for (int i = start; i < pos; i++) {
+                    int letter = line[i] - 'A';
+                    int e = node < 0 ? -1 : walk(node, base, letter);
+                    if (e < 0) {
+                        return;
+                    }
+                    word[i] = line[i];
+                    blank[i] = false;
+                    sum += values[letter];
+                    node = next(dawg.edge(e));
+                    base = found + (Dawg.isTerminal(dawg.edge(e)) ? 1 : 0);
+                }
+                extendRight(pos, node, base, -1, sum, 1, 0, 0);
+            } else {
+                int limit = 0;
+                while (limit < pos && line[pos - limit - 1] == EMPTY && !isAnchor(pos - limit - 1)) {
+                    limit++;
+                }
+                leftPart(0, Dawg.ROOT, 0, limit);
+            }
+        }
+
+        /**
+         * Place every prefix of at most limit rack tiles on the empty squares left of the anchor
+         */
+        private void leftPart(int length, int node, int base, int limit) {
+            // the prefix ends right before the anchor; score it now its squares are known
+            start = anchor - length;
+            int sum = 0;
+            int multiplier = 1;
+            for (int i = 0; i < length; i++) {
+                word[start + i] = prefix[i];
+                blank[start + i] = prefixBlank[i];
+                sum += values[prefix[i] - 'A'] * lineLetterMultipliers[lineIndex * SIZE + start + i];
+                multiplier *= lineWordMultipliers[lineIndex * SIZE + start + i];
+            }
+            extendRight(anchor, node, base, -1, sum, multiplier, 0, length);
+            if (length == limit || length == rackTiles || node < 0 || (stopAtFirst && !moves.isEmpty())) {
+                return;
+            }
+
+            int index = base;
+            for (int e = node; ; e++) {
+                int edge = dawg.edge(e);
+                int letter = Dawg.letterOf(edge);
+                int nextBase = index + (Dawg.isTerminal(edge) ? 1 : 0);
+                if (rack[letter] > 0) {
+                    rack[letter]--;
+                    prefix[length] = (char) ('A' + letter);
+                    prefixBlank[length] = false;
+                    leftPart(length + 1, next(edge), nextBase, limit);
+                    rack[letter]++;
+                }
+                if (rack[BLANK] > 0) {
+                    rack[BLANK]--;
+                    prefix[length] = (char) ('A' + letter);
+                    prefixBlank[length] = true;
+                    leftPart(length + 1, next(edge), nextBase, limit);
+                    rack[BLANK]++;
+                }
+                if (Dawg.isLastEdge(edge)) {
+                    break;
+                }
+                index += dawg.count(e);
+            }
+        }
+
+        /**
+         * Extend the word from a square to the right, through tiles on the board and tiles from the rack
+         *
+         * @param pos the square to fill next
+         * @param node the node of the graph after the letters so far, -1 if no word continues
+         * @param base the index of the first word continuing from node
+         * @param wordIndex the index of the word spelled so far, -1 if it is not a word
+         * @param sum the letter values of the main word so far, letter multipliers included
+         * @param multiplier the product of the word multipliers so far
+         * @param cross the points of the cross words so far
+         * @param placed the number of tiles taken from the rack so far
+         */
+        private void extendRight(int pos, int node, int base, int wordIndex,
+                                 int sum, int multiplier, int cross, int placed) {
+            if (pos == SIZE || line[pos] == EMPTY) {
+                if (wordIndex >= 0 && pos > anchor && pos - start > 1 && accepts.test(wordIndex)) {
+                    record(pos, sum * multiplier + cross + (placed == RACK_SIZE ? ALL_TILES_BONUS : 0), placed);
+                    if (stopAtFirst) {
+                        return;
+                    }
+                }
+                if (pos == SIZE || node < 0 || placed == rackTiles) {
+                    return;
+                }
+                int square = lineIndex * SIZE + pos;
+                int index = base;
+                for (int e = node; ; e++) {
+                    int edge = dawg.edge(e);
+                    int letter = Dawg.letterOf(edge);
+                    if ((crossMask[pos] & (1 << letter)) != 0) {
+                        int value = values[letter];
+                        int nextSum = sum + value * lineLetterMultipliers[square];
+                        int nextMultiplier = multiplier * lineWordMultipliers[square];
+                        int nextCross = crossScore[pos] < 0 ? cross : cross + crossScore[pos] + value;
+                        int nextBase = index + (Dawg.isTerminal(edge) ? 1 : 0);
+                        int nextWord = Dawg.isTerminal(edge) ? index : -1;
+                        word[pos] = (char) ('A' + letter);
+                        if (rack[letter] > 0) {
+                            rack[letter]--;
+                            blank[pos] = false;
+                            extendRight(pos + 1, next(edge), nextBase, nextWord,
+                                    nextSum, nextMultiplier, nextCross, placed + 1);
+                            rack[letter]++;
+                        }
+                        if (rack[BLANK] > 0 && !(stopAtFirst && !moves.isEmpty())) {
+                            rack[BLANK]--;
+                            blank[pos] = true;
+                            extendRight(pos + 1, next(edge), nextBase, nextWord,
+                                    nextSum, nextMultiplier, nextCross, placed + 1);
+                            rack[BLANK]++;
+                        }
+                    }
+                    if (Dawg.isLastEdge(edge) || (stopAtFirst && !moves.isEmpty())) {
+                        break;
+                    }
+                    index += dawg.count(e);
+                }
+            } else if (node >= 0) {
+                int letter = line[pos] - 'A';
+                int e = walk(node, base, letter);
+                if (e >= 0) {
+                    int edge = dawg.edge(e);
+                    word[pos] = line[pos];
+                    blank[pos] = false;
+                    extendRight(pos + 1, next(edge), found + (Dawg.isTerminal(edge) ? 1 : 0),
+                            Dawg.isTerminal(edge) ? found : -1, sum + values[letter], multiplier, cross, placed);
+                }
+            }
+        }
+
+        private void record(int end, int score, int placed) {
+            StringBuilder notation = new StringBuilder(end - start + RACK_SIZE);
+            for (int i = start; i < end; i++) {
+                if (blank[i]) {
+                    notation.append(LetterDistribution.BLANK);
+                }
+                notation.append(word[i]);
+            }
+            if (orientation == 0) {
+                moves.add(new ScoredMove(notation.toString(), Move.HORIZONTAL,
+                        (char) ('A' + start), lineIndex + 1, score, placed));
+            } else {
+                moves.add(new ScoredMove(notation.toString(), Move.VERTICAL,
+                        (char) ('A' + lineIndex), start + 1, score, placed));
+            }
+        }
+    }
+
+} // end of class
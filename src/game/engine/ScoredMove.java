@@ -0,0 +1,176 @@
+package game.engine;
+
+import game.Board;
+import game.LetterDistribution;
+import game.Move;
+
+import java.util.List;
+
+/**
+ * A legal placement found by the {@link MoveGenerator}, together with its score.
+ * The word uses the notation of a player's move: it starts at the first square of the main word,
+ * includes the tiles already on the board and writes a blank tile as '-' followed by its letter.
+ */
+public class ScoredMove {
+
+    // --- Variables -------------------------------
+
+    private final String word;
+    private final char direction;
+    private final char placeCol;
+    private final int placeRow;
+    private final int score;
+    private final int tileCount;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the ScoredMove class
+     *
+     * @param word the word in move notation
+     * @param direction {@link Move#HORIZONTAL} or {@link Move#VERTICAL}
+     * @param placeCol starting column, A-O
+     * @param placeRow starting row, 1-15
+     * @param score the points the move is worth
+     * @param tileCount the number of tiles taken from the rack
+     */
+    public ScoredMove(String word, char direction, char placeCol, int placeRow, int score, int tileCount) {
+        this.word = word;
+        this.direction = direction;
+        this.placeCol = placeCol;
+        this.placeRow = placeRow;
+        this.score = score;
+        this.tileCount = tileCount;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the word in move notation
+     * @return the word, blanks written as '-' followed by their letter
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Get the direction of the word
+     * @return H(HORIZONTAL) or V(VERTICAL)
+     */
+    public char getDirection() {
+        return direction;
+    }
+
+    /**
+     * Get the starting column
+     * @return the char of starting column
+     */
+    public char getPlaceCol() {
+        return placeCol;
+    }
+
+    /**
+     * Get the starting row
+     * @return the int of starting row
+     */
+    public int getPlaceRow() {
+        return placeRow;
+    }
+
+    /**
+     * Get the score of the move
+     * @return the points the move is worth
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Get the number of tiles the move takes from the rack
+     * @return the number of tiles placed
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Get the move a player would make to play this placement
+     * @return a new Move
+     */
+    public Move toMove() {
+        return new Move(word, direction, placeCol, placeRow);
+    }
+
+    /**
+     * Count the tiles a rack keeps after this placement
+     *
+     * @param board the board the placement was generated for
+     * @param rackCounts the number of every tile on the rack, by {@link LetterDistribution#tileIndex(char)};
+     *                   the tiles the placement takes are subtracted
+     * @requires the placement is legal on board with the rack
+     */
+    public void countLeave(Board board, int[] rackCounts) {
+        int row = placeRow - 1;
+        int column = placeCol - 'A';
+        boolean blank = false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c == LetterDistribution.BLANK) {
+                blank = true;
+                continue;
+            }
+            if (board.getTileOnBoard(row, column) == ' ') {
+                rackCounts[blank ? LetterDistribution.BLANK_INDEX : c - 'A']--;
+            }
+            blank = false;
+            if (direction == Move.VERTICAL) {
+                row++;
+            } else {
+                column++;
+            }
+        }
+    }
+
+    /**
+     * Get the move as a player would type it
+     * @return the move command, for example "HORN H F 8"
+     */
+    @Override
+    public String toString() {
+        return word + " " + direction + " " + placeCol + " " + placeRow;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Play this placement on a board that is not the one of a game, for example a copy searched by a bot:
+     * the new tiles are put on the board and taken from the rack
+     *
+     * @param board the board the placement was generated for
+     * @param rack the tiles of the player, '-' for a blank tile
+     * @requires the placement is legal on board with rack
+     */
+    public void placeOn(Board board, List<Character> rack) {
+        int row = placeRow - 1;
+        int column = placeCol - 'A';
+        boolean blank = false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c == LetterDistribution.BLANK) {
+                blank = true;
+                continue;
+            }
+            if (board.getTileOnBoard(row, column) == ' ') {
+                board.setTileOnBoard(row, column, c);
+                rack.remove((Character) (blank ? LetterDistribution.BLANK : c));
+            }
+            blank = false;
+            if (direction == Move.VERTICAL) {
+                row++;
+            } else {
+                column++;
+            }
+        }
+    }
+
+} // end of class
@@ -0,0 +1,148 @@
+package game.engine;
+
+import game.Board;
+import game.BoardLayout;
+import game.LetterDistribution;
+import game.Move;
+
+/**
+ * Scores moves from the multipliers of a {@link BoardLayout} and a table of letter values.
+ *
+ * The main word gets the letter and word multipliers of the squares its new tiles are placed on,
+ * every cross word is worth the plain value of its letters and playing all 7 tiles is worth 50 extra points.
+ * A blank tile is scored at the value of the letter it stands for.
+ * The main word and the cross words are scored in one walk over the squares, without allocating.
+ *
+ * An engine only holds read-only data, so one instance can serve all games.
+ */
+public class ScoringEngine {
+
+    // --- Variables -------------------------------
+
+    private static final int SIZE = Board.BOARD_SIZE;
+    private static final int RACK_SIZE = 7;
+    private static final int ALL_TILES_BONUS = 50;
+    private static final char EMPTY = ' ';
+
+    private final BoardLayout layout;
+    private final int[] values = new int[26];
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the ScoringEngine class
+     *
+     * @param layout the multipliers of the squares
+     * @param letters the letter values
+     */
+    public ScoringEngine(BoardLayout layout, LetterDistribution letters) {
+        this.layout = layout;
+        for (int letter = 0; letter < 26; letter++) {
+            values[letter] = letters.getValue((char) ('A' + letter));
+        }
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the multipliers of the squares
+     * @return the board layout
+     */
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Calculate the score of a move before its tiles are placed on the board
+     *
+     * @param board the board the move is played on
+     * @param move the move, with the letters the blank tiles stand for
+     * @return the total score of the move
+     * @requires board != null && move != null && the move lies inside the board
+     */
+    public int score(Board board, Move move) {
+        return score(board, move.getWord(), move.getDirection(),
+                move.getPlaceRow() - 1, Character.toUpperCase(move.getPlaceCol()) - 'A');
+    }
+
+    /**
+     * Calculate the score of a word before its tiles are placed on the board
+     *
+     * @param board the board the word is played on
+     * @param word the letters of the word, the ones already on the board included
+     * @param direction the direction of the word, H or V
+     * @param startRow the row of the first letter, 0-14
+     * @param startCol the column of the first letter, 0-14
+     * @return the total score of the word, its cross words and the bonus
+     * @requires board != null && word != null && the word lies inside the board
+     */
+    public int score(Board board, CharSequence word, char direction, int startRow, int startCol) {
+        int rowStep = direction == Move.VERTICAL ? 1 : 0;
+        int colStep = direction == Move.HORIZONTAL ? 1 : 0;
+        if (rowStep == colStep) {
+            return 0;
+        }
+        boolean cachedCrossScores = board.getCrossChecker() != null;
+
+        int mainWord = 0;
+        int wordMultiplier = 1;
+        int crossWords = 0;
+        int tiles = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int row = startRow + i * rowStep;
+            int col = startCol + i * colStep;
+            int value = values[Character.toUpperCase(word.charAt(i)) - 'A'];
+            if (board.getTileOnBoard(row, col) != EMPTY) {
+                mainWord += value;
+                continue;
+            }
+            int square = row * SIZE + col;
+            mainWord += value * layout.getLetterMultiplier(square);
+            wordMultiplier *= layout.getWordMultiplier(square);
+            tiles++;
+
+            int crossScore = cachedCrossScores
+                    ? board.getCrossScore(row, col, direction)
+                    : crossScore(board, row, col, colStep, rowStep);
+            if (crossScore != CrossChecker.NO_CROSS_WORD) {
+                crossWords += crossScore + value;
+            }
+        }
+
+        // tiles right before and after the word belong to it
+        mainWord += runValue(board, startRow - rowStep, startCol - colStep, -rowStep, -colStep);
+        mainWord += runValue(board, startRow + word.length() * rowStep, startCol + word.length() * colStep,
+                rowStep, colStep);
+
+        return mainWord * wordMultiplier + crossWords + (tiles == RACK_SIZE ? ALL_TILES_BONUS : 0);
+    }
+
+    /**
+     * Get the value of the tiles across an empty square, or {@link CrossChecker#NO_CROSS_WORD} if there are none
+     */
+    private int crossScore(Board board, int row, int col, int rowStep, int colStep) {
+        if (!isOccupied(board, row - rowStep, col - colStep) && !isOccupied(board, row + rowStep, col + colStep)) {
+            return CrossChecker.NO_CROSS_WORD;
+        }
+        return runValue(board, row - rowStep, col - colStep, -rowStep, -colStep)
+                + runValue(board, row + rowStep, col + colStep, rowStep, colStep);
+    }
+
+    private static boolean isOccupied(Board board, int row, int col) {
+        return row >= 0 && row < SIZE && col >= 0 && col < SIZE && board.getTileOnBoard(row, col) != EMPTY;
+    }
+
+    /**
+     * Add up the values of the tiles from a square onwards until an empty square or the edge of the board
+     */
+    private int runValue(Board board, int row, int col, int rowStep, int colStep) {
+        int sum = 0;
+        while (isOccupied(board, row, col)) {
+            sum += values[Character.toUpperCase(board.getTileOnBoard(row, col)) - 'A'];
+            row += rowStep;
+            col += colStep;
+        }
+        return sum;
+    }
+
+} // end of class
@@ -0,0 +1,121 @@
+package game.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded cache of results by the Zobrist hash of the position they were computed for,
+ * see {@link game.Game#getStateHash()}.
+ *
+ * The table has a fixed number of slots and a position can only live in the slot its hash points to;
+ * a new result replaces whatever was there, so memory use never grows.
+ * Slots are swapped atomically, so threads simulating games in parallel can share one table.
+ *
+ * @param <V> the type of the cached results
+ */
+public class TranspositionTable<V> {
+
+    /**
+     * A cached result, never changed after it is stored
+     */
+    private static final class Entry<V> {
+        private final long hash;
+        private final V value;
+
+        Entry(long hash, V value) {
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    // --- Variables -------------------------------
+
+    private final AtomicReferenceArray<Entry<V>> slots;
+    private final int mask;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the TranspositionTable class
+     * @param capacity the maximum number of results kept, rounded up to a power of two
+     * @requires capacity > 0 && capacity <= 1 << 30
+     */
+    public TranspositionTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the result cached for a position
+     * @param hash the hash of the position
+     * @return the result, or null if it is not in the table
+     */
+    public V get(long hash) {
+        Entry<V> entry = slots.get(slot(hash));
+        if (entry != null && entry.hash == hash) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Get the number of slots
+     * @return the maximum number of results kept
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Get how many lookups found a result
+     * @return the number of hits since the table was created or cleared
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get how many lookups found nothing
+     * @return the number of misses since the table was created or cleared
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private int slot(long hash) {
+        // the low bits of a Zobrist hash are as random as the high ones, mixing them in costs nothing
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Cache the result for a position, replacing the result of any position in the same slot
+     *
+     * @param hash the hash of the position
+     * @param value the result
+     * @requires value != null
+     */
+    public void put(long hash, V value) {
+        slots.set(slot(hash), new Entry<>(hash, value));
+    }
+
+    /**
+     * Remove every result, for example when the dictionary of the positions changes
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+} // end of class
@@ -82,7 +82,8 @@ public class LocalTUI {
     }
 
     public String askReady() {
-        return TerminalColors.WHITE_BOLD + "Type ready to start the game: " + TerminalColors.RESET;
+        return TerminalColors.WHITE_BOLD + "Type ready to be matched into a game, ready <room> to play in a room"
+                + " or rooms to see the rooms: " + TerminalColors.RESET;
     }
 
     public String askCommand(Player player) {
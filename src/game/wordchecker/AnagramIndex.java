@@ -0,0 +1,245 @@
+package game.wordchecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Index of the words of a {@link Dawg} by alphagram, the sorted multiset of their letters.
+ *
+ * An alphagram is packed into a long, 5 bits per letter starting at the most significant end,
+ * so all alphagrams starting with the same letters form one range of the sorted key array.
+ * A rack query walks the sub-multisets of the rack in alphabetical order and narrows that range
+ * letter by letter; a branch stops as soon as no alphagram starts with the letters chosen so far,
+ * which keeps queries with blanks fast.
+ * An index of a dictionary only holds the words it accepts, so an index of one lexicon of a shared graph
+ * never returns the words of another.
+ */
+public class AnagramIndex {
+
+    // --- Variables -------------------------------
+
+    /** Longest word in the index; longer words can never be formed from a rack anyway */
+    public static final int MAX_LENGTH = 12;
+
+    private static final int BITS = 5;
+    private static final char BLANK = '-';
+
+    private final Dawg dawg;
+    private final long[] keys;    // distinct alphagram keys, sorted
+    private final int[] starts;   // for every key, the first of its words in wordIndices
+    private final int[] wordIndices;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor building the index of all words of a graph of at most {@link #MAX_LENGTH} letters
+     * @param dawg the word graph
+     */
+    public AnagramIndex(Dawg dawg) {
+        this(dawg, index -> true);
+    }
+
+    /**
+     * Constructor building the index of the words of at most {@link #MAX_LENGTH} letters a dictionary accepts,
+     * for example one lexicon of a {@link MultiLexiconDictionary}
+     * @param dictionary the dictionary
+     */
+    public AnagramIndex(DawgScrabbleWordChecker dictionary) {
+        this(dictionary.getDawg(), dictionary::accepts);
+    }
+
+    private AnagramIndex(Dawg dawg, IntPredicate accepts) {
+        this.dawg = dawg;
+
+        List<long[]> entries = new ArrayList<>();
+        int[] next = {0};
+        dawg.forEachWord(word -> {
+            int index = next[0]++;
+            if (word.length() <= MAX_LENGTH && accepts.test(index)) {
+                entries.add(new long[]{alphagramKey(word), index});
+            }
+        });
+        entries.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        long[] distinctKeys = new long[entries.size()];
+        int[] keyStarts = new int[entries.size() + 1];
+        wordIndices = new int[entries.size()];
+        int distinct = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            long key = entries.get(i)[0];
+            if (distinct == 0 || distinctKeys[distinct - 1] != key) {
+                distinctKeys[distinct] = key;
+                keyStarts[distinct] = i;
+                distinct++;
+            }
+            wordIndices[i] = (int) entries.get(i)[1];
+        }
+        keyStarts[distinct] = entries.size();
+        keys = Arrays.copyOf(distinctKeys, distinct);
+        starts = Arrays.copyOf(keyStarts, distinct + 1);
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the number of distinct alphagrams
+     * @return the number of alphagrams in the index
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Get the words that use exactly the given letters
+     *
+     * @param letters the letters, in any order and case
+     * @return the anagrams in alphabetical order, empty if there are none
+     */
+    public List<String> anagrams(CharSequence letters) {
+        List<String> result = new ArrayList<>();
+        if (letters.length() == 0 || letters.length() > MAX_LENGTH) {
+            return result;
+        }
+        char[] sorted = new char[letters.length()];
+        for (int i = 0; i < sorted.length; i++) {
+            int letter = Dawg.letterIndex(letters.charAt(i));
+            if (letter < 0) {
+                return result;
+            }
+            sorted[i] = (char) letter;
+        }
+        Arrays.sort(sorted);
+        long key = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            key = append(key, i, sorted[i]);
+        }
+        int k = Arrays.binarySearch(keys, key);
+        if (k >= 0) {
+            addWords(k, result);
+        }
+        return result;
+    }
+
+    /**
+     * Get every word that can be formed from (some of) the tiles of a rack
+     *
+     * @param rack the tiles, letters in any case, '-' for a blank tile
+     * @return the words, grouped by alphagram
+     */
+    public List<String> wordsFromRack(CharSequence rack) {
+        List<String> result = new ArrayList<>();
+        forEachWordFromRack(rack, index -> result.add(dawg.wordAt(index)));
+        return result;
+    }
+
+    /**
+     * Hand the graph index of every word that can be formed from (some of) the tiles of a rack
+     * to a consumer, without building the words themselves
+     *
+     * @param rack the tiles, letters in any case, '-' for a blank tile
+     * @param consumer receiver of the word indices, see {@link Dawg#wordAt(int)}
+     */
+    public void forEachWordFromRack(CharSequence rack, IntConsumer consumer) {
+        int[] counts = new int[26];
+        int blanks = 0;
+        for (int i = 0; i < rack.length(); i++) {
+            char c = rack.charAt(i);
+            if (c == BLANK) {
+                blanks++;
+            } else {
+                int letter = Dawg.letterIndex(c);
+                if (letter >= 0) {
+                    counts[letter]++;
+                }
+            }
+        }
+        search(counts, blanks, 0, 0, 0L, 0, keys.length, consumer);
+    }
+
+    /**
+     * Extend the alphagram chosen so far with letters from firstLetter onwards
+     *
+     * @param counts the rack letters not used yet
+     * @param blanks the blank tiles not used yet
+     * @param firstLetter the smallest letter that may still be added, keeping the alphagram sorted
+     * @param length the length of the alphagram so far
+     * @param key the packed alphagram so far
+     * @param low first key starting with the alphagram so far
+     * @param high one past the last key starting with the alphagram so far
+     * @param consumer receiver of the indices of the words found
+     */
+    private void search(int[] counts, int blanks, int firstLetter, int length, long key,
+                        int low, int high, IntConsumer consumer) {
+        if (length == MAX_LENGTH) {
+            return;
+        }
+        for (int letter = firstLetter; letter < 26; letter++) {
+            if (counts[letter] == 0 && blanks == 0) {
+                continue;
+            }
+            // use a rack tile if there is one, otherwise a blank
+            boolean fromBlank = counts[letter] == 0;
+            if (fromBlank) {
+                blanks--;
+            } else {
+                counts[letter]--;
+            }
+
+            long extended = append(key, length, letter);
+            long rangeEnd = extended | ((1L << (BITS * (MAX_LENGTH - length - 1))) - 1);
+            int newLow = lowerBound(extended, low, high);
+            int newHigh = lowerBound(rangeEnd + 1, newLow, high);
+            if (newLow < newHigh) {
+                if (keys[newLow] == extended) {
+                    for (int i = starts[newLow]; i < starts[newLow + 1]; i++) {
+                        consumer.accept(wordIndices[i]);
+                    }
+                }
+                // the same letter may follow again, so the next letter starts at this one
+                search(counts, blanks, letter, length + 1, extended, newLow, newHigh, consumer);
+            }
+
+            if (fromBlank) {
+                blanks++;
+            } else {
+                counts[letter]++;
+            }
+        }
+    }
+
+    private void addWords(int keyIndex, List<String> result) {
+        for (int i = starts[keyIndex]; i < starts[keyIndex + 1]; i++) {
+            result.add(dawg.wordAt(wordIndices[i]));
+        }
+    }
+
+    private int lowerBound(long key, int low, int high) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long append(long key, int position, int letter) {
+        return key | ((long) (letter + 1) << (BITS * (MAX_LENGTH - position - 1)));
+    }
+
+    private static long alphagramKey(String word) {
+        char[] letters = word.toCharArray();
+        Arrays.sort(letters);
+        long key = 0;
+        for (int i = 0; i < letters.length; i++) {
+            key = append(key, i, letters[i] - 'A');
+        }
+        return key;
+    }
+
+} // end of class
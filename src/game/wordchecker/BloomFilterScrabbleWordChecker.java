@@ -0,0 +1,250 @@
+package game.wordchecker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Word checker decorator with a Bloom filter in front of another checker.
+ * Words the filter has never seen are rejected without touching the wrapped checker;
+ * only words that may be in the dictionary are passed on.
+ * Case folding and hashing are done inline, so a rejected word costs no allocation.
+ */
+public class BloomFilterScrabbleWordChecker implements ScrabbleWordChecker {
+
+    // --- Variables -------------------------------
+
+    private final ScrabbleWordChecker delegate;
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the BloomFilterScrabbleWordChecker class
+     *
+     * @param delegate the checker answering the words that pass the filter
+     * @param words all words of the dictionary of the delegate
+     * @param expectedWords the number of words, used to size the filter
+     * @param falsePositiveRate wanted chance that an absent word passes the filter
+     * @requires expectedWords > 0 && falsePositiveRate > 0 && falsePositiveRate < 1
+     */
+    public BloomFilterScrabbleWordChecker(ScrabbleWordChecker delegate, Iterable<? extends CharSequence> words,
+                                          int expectedWords, double falsePositiveRate) {
+        this.delegate = delegate;
+        // optimal size m = -n ln p / (ln 2)^2 and number of hashes k = m / n ln 2
+        long m = (long) Math.ceil(-expectedWords * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (m + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedWords * Math.log(2)));
+        for (CharSequence word : words) {
+            add(word);
+        }
+    }
+
+    /**
+     * Create a filter holding every word of a word graph
+     *
+     * @param delegate the checker answering the words that pass the filter
+     * @param dawg the word graph of the dictionary of the delegate
+     * @param falsePositiveRate wanted chance that an absent word passes the filter
+     * @return the filtering checker
+     */
+    public static BloomFilterScrabbleWordChecker of(ScrabbleWordChecker delegate, Dawg dawg,
+                                                    double falsePositiveRate) {
+        List<String> words = new ArrayList<>(dawg.size());
+        dawg.forEachWord(words::add);
+        return new BloomFilterScrabbleWordChecker(delegate, words, Math.max(1, dawg.size()), falsePositiveRate);
+    }
+
+    // --- Queries ---------------------------------
+
+    public WordResponse isValidWord(String word) {
+        if (!mightContain(word)) {
+            rejected.increment();
+            return null;
+        }
+        WordResponse response = delegate.isValidWord(word);
+        if (response == null) {
+            falsePositives.increment();
+        } else {
+            hits.increment();
+        }
+        return response;
+    }
+
+    /**
+     * Check a number of words; only the words passing the filter are sent to the wrapped checker, in one batch
+     */
+    @Override
+    public List<WordResponse> isValidWords(Collection<String> words) {
+        List<String> candidates = filter(words);
+        if (candidates.isEmpty()) {
+            return merge(words, candidates, Collections.emptyList());
+        }
+        return merge(words, candidates, delegate.isValidWords(candidates));
+    }
+
+    /**
+     * Reject absent words right away and only wait for the wrapped checker if some words passed the filter
+     */
+    @Override
+    public CompletableFuture<List<WordResponse>> isValidWordsAsync(Collection<String> words) {
+        List<String> candidates = filter(words);
+        if (candidates.isEmpty()) {
+            return CompletableFuture.completedFuture(merge(words, candidates, Collections.emptyList()));
+        }
+        return delegate.isValidWordsAsync(candidates).thenApply(responses -> merge(words, candidates, responses));
+    }
+
+    private List<String> filter(Collection<String> words) {
+        List<String> candidates = new ArrayList<>();
+        for (String word : words) {
+            if (mightContain(word)) {
+                candidates.add(word);
+            } else {
+                rejected.increment();
+            }
+        }
+        return candidates;
+    }
+
+    private List<WordResponse> merge(Collection<String> words, List<String> candidates,
+                                     List<WordResponse> candidateResponses) {
+        List<WordResponse> result = new ArrayList<>(words.size());
+        int next = 0;
+        for (String word : words) {
+            WordResponse response = null;
+            if (next < candidates.size() && candidates.get(next) == word) {
+                response = candidateResponses.get(next++);
+                if (response == null) {
+                    falsePositives.increment();
+                } else {
+                    hits.increment();
+                }
+            }
+            result.add(response);
+        }
+        return result;
+    }
+
+    /**
+     * Check if a word may be in the dictionary. False means it certainly is not.
+     *
+     * @param word the word to check, in upper or lower case
+     * @return false if the word is absent, true if it may be present
+     */
+    public boolean mightContain(CharSequence word) {
+        if (word == null || word.length() == 0) {
+            return false;
+        }
+        long hash = hash(word);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of words rejected by the filter alone
+     * @return the number of rejected words
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Get the number of words that passed the filter and were found by the wrapped checker
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of words that passed the filter but were not found by the wrapped checker
+     * @return the number of false positives
+     */
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * Get the observed share of absent words that still passed the filter
+     * @return falsePositives / (falsePositives + rejected), or 0 if no absent word was checked yet
+     */
+    public double getFalsePositiveRate() {
+        long misses = rejected.sum();
+        long passedMisses = falsePositives.sum();
+        return misses + passedMisses == 0 ? 0 : (double) passedMisses / (misses + passedMisses);
+    }
+
+    /**
+     * Get the size of the filter
+     * @return the number of bits in the filter
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Get the number of hash functions of the filter
+     * @return the number of hash functions
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("bloom filter %d bits, %d hashes: %d hits, %d rejected, %d false positives (%.4f)",
+                bitCount, hashCount, getHits(), getRejected(), getFalsePositives(), getFalsePositiveRate());
+    }
+
+    // --- Commands --------------------------------
+
+    private void add(CharSequence word) {
+        long hash = hash(word);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the upper-cased characters, finished with a murmur-style mix
+     */
+    private static long hash(CharSequence word) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                c -= 'a' - 'A';
+            }
+            hash ^= c;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+} // end of class
@@ -0,0 +1,273 @@
+package game.wordchecker;
+
+import java.nio.IntBuffer;
+import java.util.function.Consumer;
+
+/**
+ * A minimized directed acyclic word graph packed into primitive int arrays.
+ *
+ * Every node is a contiguous block of edges, sorted by letter. One edge is a single int:
+ * <pre>
+ *   bits 0-4   letter (0 = A ... 25 = Z)
+ *   bit  5     last edge of its node
+ *   bit  6     terminal, the path up to and including this edge spells a word
+ *   bits 7-31  index of the first edge of the target node, 0 if the target has no edges
+ * </pre>
+ * The root node starts at edge 0. Next to every edge the number of words that continue
+ * through it is stored, which turns the graph into a minimal perfect hash:
+ * {@link #indexOf(CharSequence)} gives every word its position in alphabetical order.
+ */
+public final class Dawg {
+
+    // --- Variables -------------------------------
+
+    public static final int ROOT = 0;
+
+    static final int LETTER_MASK = 0x1F;
+    static final int LAST_FLAG = 1 << 5;
+    static final int TERMINAL_FLAG = 1 << 6;
+    static final int TARGET_SHIFT = 7;
+
+    private final IntBuffer edges;
+    private final IntBuffer counts;
+    private final int size;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of a Dawg over already packed edges
+     *
+     * @param edges the packed edges, root node first
+     * @param counts for every edge the number of words continuing through it
+     * @requires edges.limit() == counts.limit() && edges.limit() > 0
+     */
+    public Dawg(IntBuffer edges, IntBuffer counts) {
+        this.edges = edges;
+        this.counts = counts;
+        int total = 0;
+        for (int e = ROOT; ; e++) {
+            total += counts.get(e);
+            if (isLastEdge(edges.get(e))) {
+                break;
+            }
+        }
+        this.size = total;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the number of words in the graph
+     * @return the number of words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of edges in the graph
+     * @return the number of edges
+     */
+    public int edgeCount() {
+        return edges.limit();
+    }
+
+    /**
+     * Get the raw packed edge at an index
+     * @param index index of the edge
+     * @return the packed edge
+     */
+    public int edge(int index) {
+        return edges.get(index);
+    }
+
+    /**
+     * Get the number of words continuing through an edge
+     * @param index index of the edge
+     * @return the word count of the edge
+     */
+    public int count(int index) {
+        return counts.get(index);
+    }
+
+    /**
+     * Find the edge of a node that is labelled with a letter
+     *
+     * @param node index of the first edge of the node
+     * @param letter the letter, 0 = A ... 25 = Z
+     * @return the index of the edge, or -1 if the node has no such edge
+     * @requires node == ROOT || node is the non-zero target of an edge
+     */
+    public int findEdge(int node, int letter) {
+        for (int e = node; ; e++) {
+            int edge = edges.get(e);
+            int edgeLetter = edge & LETTER_MASK;
+            if (edgeLetter == letter) {
+                return e;
+            }
+            if (edgeLetter > letter || (edge & LAST_FLAG) != 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Check if a word is in the graph. Lower case letters are accepted, no objects are allocated.
+     *
+     * @param word the word to look up
+     * @return true if the word is in the graph
+     */
+    public boolean contains(CharSequence word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Get the alphabetical position of a word among all words of the graph.
+     * Lower case letters are accepted, no objects are allocated.
+     *
+     * @param word the word to look up
+     * @return the index of the word between 0 and size() - 1, or -1 if it is not in the graph
+     */
+    public int indexOf(CharSequence word) {
+        if (word == null || word.length() == 0) {
+            return -1;
+        }
+        int index = 0;
+        int node = ROOT;
+        int length = word.length();
+        for (int i = 0; i < length; i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter < 0 || (node == 0 && i > 0)) {
+                return -1;
+            }
+            int e = node;
+            int edge;
+            while (true) {
+                edge = edges.get(e);
+                int edgeLetter = edge & LETTER_MASK;
+                if (edgeLetter == letter) {
+                    break;
+                }
+                if (edgeLetter > letter || (edge & LAST_FLAG) != 0) {
+                    return -1;
+                }
+                index += counts.get(e);
+                e++;
+            }
+            if (i == length - 1) {
+                return (edge & TERMINAL_FLAG) != 0 ? index : -1;
+            }
+            if ((edge & TERMINAL_FLAG) != 0) {
+                index++; // the prefix itself comes before all its extensions
+            }
+            node = edge >>> TARGET_SHIFT;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the word at an alphabetical position, the inverse of {@link #indexOf(CharSequence)}
+     *
+     * @param index the index of the word
+     * @return the word in upper case
+     * @requires index >= 0 && index < size()
+     */
+    public String wordAt(int index) {
+        StringBuilder word = new StringBuilder();
+        int node = ROOT;
+        while (true) {
+            int e = node;
+            int edge = edges.get(e);
+            while (index >= counts.get(e)) {
+                index -= counts.get(e);
+                edge = edges.get(++e);
+            }
+            word.append((char) ('A' + (edge & LETTER_MASK)));
+            if ((edge & TERMINAL_FLAG) != 0) {
+                if (index == 0) {
+                    return word.toString();
+                }
+                index--;
+            }
+            node = edge >>> TARGET_SHIFT;
+        }
+    }
+
+    /**
+     * Hand every word of the graph to the consumer, in alphabetical order
+     * @param consumer receiver of the words
+     */
+    public void forEachWord(Consumer<String> consumer) {
+        collect(ROOT, new char[32], 0, consumer);
+    }
+
+    private void collect(int node, char[] prefix, int depth, Consumer<String> consumer) {
+        for (int e = node; ; e++) {
+            int edge = edges.get(e);
+            prefix[depth] = (char) ('A' + (edge & LETTER_MASK));
+            if ((edge & TERMINAL_FLAG) != 0) {
+                consumer.accept(new String(prefix, 0, depth + 1));
+            }
+            int target = edge >>> TARGET_SHIFT;
+            if (target != 0) {
+                collect(target, prefix, depth + 1, consumer);
+            }
+            if ((edge & LAST_FLAG) != 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Convert a character to its letter index, folding lower case to upper case
+     *
+     * @param c the character
+     * @return 0 for A ... 25 for Z, or -1 if the character is not a letter
+     */
+    public static int letterIndex(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return -1;
+    }
+
+    /**
+     * Get the letter of a packed edge
+     * @param edge the packed edge
+     * @return the letter index, 0 = A ... 25 = Z
+     */
+    public static int letterOf(int edge) {
+        return edge & LETTER_MASK;
+    }
+
+    /**
+     * Check if a packed edge is the last edge of its node
+     * @param edge the packed edge
+     * @return true if no edges of the same node follow
+     */
+    public static boolean isLastEdge(int edge) {
+        return (edge & LAST_FLAG) != 0;
+    }
+
+    /**
+     * Check if the path up to a packed edge spells a word
+     * @param edge the packed edge
+     * @return true if the path is a word
+     */
+    public static boolean isTerminal(int edge) {
+        return (edge & TERMINAL_FLAG) != 0;
+    }
+
+    /**
+     * Get the node a packed edge leads to
+     * @param edge the packed edge
+     * @return the index of the first edge of the target node, 0 if the target has no edges
+     */
+    public static int targetOf(int edge) {
+        return edge >>> TARGET_SHIFT;
+    }
+
+} // end of class
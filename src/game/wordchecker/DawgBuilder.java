@@ -0,0 +1,246 @@
+package game.wordchecker;
+
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a minimized {@link Dawg} from words added in alphabetical order,
+ * using the incremental construction of Daciuk et al.
+ * Only the builder keeps object nodes around; the finished graph is packed into int arrays.
+ */
+public class DawgBuilder {
+
+    // --- Variables -------------------------------
+
+    private final State root = new State();
+    private final Map<State, State> register = new HashMap<>();
+    private String previousWord = "";
+    private int nextId = 1;
+
+    // --- Commands --------------------------------
+
+    /**
+     * Build a graph from an unordered collection of words.
+     * Words are upper-cased; words containing anything other than letters are skipped.
+     *
+     * @param words the words to put in the graph
+     * @return the packed graph
+     */
+    public static Dawg build(Collection<String> words) {
+        List<String> sorted = new ArrayList<>(words.size());
+        for (String word : words) {
+            String upper = word.toUpperCase();
+            if (isLetters(upper)) {
+                sorted.add(upper);
+            }
+        }
+        sorted.sort(null);
+        DawgBuilder builder = new DawgBuilder();
+        for (String word : sorted) {
+            builder.add(word);
+        }
+        return builder.finish();
+    }
+
+    /**
+     * Add the next word to the graph. Duplicates of the previous word are ignored.
+     *
+     * @param word the word to add, upper case letters only
+     * @throws IllegalArgumentException if the word is not in alphabetical order
+     *                                  or contains other characters than A-Z
+     */
+    public void add(String word) {
+        if (!isLetters(word)) {
+            throw new IllegalArgumentException("Only the letters A-Z are allowed: " + word);
+        }
+        int order = word.compareTo(previousWord);
+        if (order == 0) {
+            return;
+        }
+        if (order < 0) {
+            throw new IllegalArgumentException("Words must be added in alphabetical order: " + word);
+        }
+
+        int common = 0;
+        int max = Math.min(word.length(), previousWord.length());
+        while (common < max && word.charAt(common) == previousWord.charAt(common)) {
+            common++;
+        }
+
+        State last = root;
+        for (int i = 0; i < common; i++) {
+            last = last.lastChild();
+        }
+        if (last.size > 0) {
+            replaceOrRegister(last);
+        }
+        for (int i = common; i < word.length(); i++) {
+            State next = new State();
+            last.append(word.charAt(i) - 'A', next);
+            last = next;
+        }
+        last.terminal = true;
+        previousWord = word;
+    }
+
+    /**
+     * Minimize the remaining states and pack the graph
+     * @return the packed graph
+     */
+    public Dawg finish() {
+        if (root.size > 0) {
+            replaceOrRegister(root);
+        }
+
+        // give every distinct state with edges its block of edges, root first
+        Map<State, Integer> offsets = new IdentityHashMap<>();
+        Deque<State> queue = new ArrayDeque<>();
+        int edgeCount = Math.max(root.size, 1);
+        offsets.put(root, 0);
+        queue.add(root);
+        List<State> order = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            State state = queue.poll();
+            order.add(state);
+            for (int i = 0; i < state.size; i++) {
+                State child = state.children[i];
+                if (child.size > 0 && !offsets.containsKey(child)) {
+                    offsets.put(child, edgeCount);
+                    edgeCount += child.size;
+                    queue.add(child);
+                }
+            }
+        }
+
+        int[] edges = new int[edgeCount];
+        int[] counts = new int[edgeCount];
+        if (root.size == 0) {
+            edges[0] = Dawg.LAST_FLAG; // empty graph: a single dead edge
+        }
+        for (State state : order) {
+            int base = offsets.get(state);
+            for (int i = 0; i < state.size; i++) {
+                State child = state.children[i];
+                int edge = state.letters[i];
+                if (i == state.size - 1) {
+                    edge |= Dawg.LAST_FLAG;
+                }
+                if (child.terminal) {
+                    edge |= Dawg.TERMINAL_FLAG;
+                }
+                if (child.size > 0) {
+                    edge |= offsets.get(child) << Dawg.TARGET_SHIFT;
+                }
+                edges[base + i] = edge;
+                counts[base + i] = child.wordCount();
+            }
+        }
+        return new Dawg(IntBuffer.wrap(edges), IntBuffer.wrap(counts));
+    }
+
+    /**
+     * Replace the most recently added child of a state by an equivalent registered state,
+     * or register it if there is none. Children are handled first, so a state is only
+     * compared once its whole subtree is final.
+     */
+    private void replaceOrRegister(State state) {
+        State child = state.lastChild();
+        if (child.size > 0) {
+            replaceOrRegister(child);
+        }
+        State existing = register.get(child);
+        if (existing != null) {
+            state.children[state.size - 1] = existing;
+        } else {
+            child.id = nextId++;
+            register.put(child, child);
+        }
+    }
+
+    private static boolean isLetters(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mutable node used during construction only
+     */
+    private static final class State {
+        private int[] letters = new int[2];
+        private State[] children = new State[2];
+        private int size;
+        private boolean terminal;
+        private int id;
+        private int words = -1;
+
+        private State lastChild() {
+            return children[size - 1];
+        }
+
+        private void append(int letter, State child) {
+            if (size == letters.length) {
+                letters = Arrays.copyOf(letters, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            letters[size] = letter;
+            children[size] = child;
+            size++;
+        }
+
+        private int wordCount() {
+            if (words < 0) {
+                int total = terminal ? 1 : 0;
+                for (int i = 0; i < size; i++) {
+                    total += children[i].wordCount();
+                }
+                words = total;
+            }
+            return words;
+        }
+
+        // registered children are canonical, so they are compared by identity
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State)) {
+                return false;
+            }
+            State other = (State) o;
+            if (terminal != other.terminal || size != other.size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (letters[i] != other.letters[i] || children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = terminal ? 1 : 0;
+            for (int i = 0; i < size; i++) {
+                hash = hash * 31 + letters[i];
+                hash = hash * 31 + children[i].id;
+            }
+            return hash;
+        }
+    }
+
+} // end of class
@@ -0,0 +1,143 @@
+package game.wordchecker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Word checker backed by a minimized word graph in primitive arrays instead of a map of Strings.
+ * Membership checks through {@link #contains(CharSequence)} allocate nothing;
+ * descriptions are only loaded once a caller actually asks for one.
+ */
+public class DawgScrabbleWordChecker implements ScrabbleWordChecker {
+
+    // --- Variables -------------------------------
+
+    private final Dawg dawg;
+    private final DefinitionTable definitions;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor using the Collins 2019 word list, which is shared by all instances
+     */
+    public DawgScrabbleWordChecker() {
+        this(Collins.DAWG, Collins.DEFINITIONS);
+    }
+
+    /**
+     * Constructor using an already built graph
+     *
+     * @param dawg the word graph
+     * @param definitions the descriptions of the words in the graph
+     */
+    public DawgScrabbleWordChecker(Dawg dawg, DefinitionTable definitions) {
+        this.dawg = dawg;
+        this.definitions = definitions;
+    }
+
+    // --- Queries ---------------------------------
+
+    public WordResponse isValidWord(String word) {
+        if (word == null || word.isBlank()) {
+            return null;
+        }
+        int index = dawg.indexOf(word);
+        return index < 0 || !accepts(index) ? null : new LazyWordResponse(word.toUpperCase(), definitions, index);
+    }
+
+    /**
+     * Lookups never leave memory, so the future is already complete
+     */
+    @Override
+    public CompletableFuture<List<WordResponse>> isValidWordsAsync(Collection<String> words) {
+        return CompletableFuture.completedFuture(isValidWords(words));
+    }
+
+    /**
+     * Check if a word is in the dictionary without allocating any objects
+     *
+     * @param word the word to check, in upper or lower case
+     * @return true if the word is valid
+     */
+    public boolean contains(CharSequence word) {
+        int index = dawg.indexOf(word);
+        return index >= 0 && accepts(index);
+    }
+
+    /**
+     * Decide if a word of the graph belongs to this dictionary.
+     * Every word does, unless a subclass shares its graph with other dictionaries.
+     * Searches walking the graph themselves, like the move generator, use this to filter their words.
+     *
+     * @param index the index of the word in the graph
+     * @return true if the word is valid in this dictionary
+     */
+    public boolean accepts(int index) {
+        return true;
+    }
+
+    /**
+     * Get the word graph behind this checker
+     * @return the word graph
+     */
+    public Dawg getDawg() {
+        return dawg;
+    }
+
+    /**
+     * Build a graph from a tab-separated word list on the classpath
+     *
+     * @param resource classpath resource of the word list
+     * @return the graph with all words of the list
+     * @throws IOException if the word list cannot be read
+     */
+    public static Dawg buildFromResource(String resource) throws IOException {
+        List<String> words = new ArrayList<>();
+        WordList.read(resource, (word, description) -> words.add(word));
+        return DawgBuilder.build(words);
+    }
+
+    /**
+     * Word response that reads its description from the side table only when asked
+     */
+    private static class LazyWordResponse extends WordResponse {
+        private final DefinitionTable definitions;
+        private final int index;
+
+        LazyWordResponse(String word, DefinitionTable definitions, int index) {
+            super(word, null);
+            this.definitions = definitions;
+            this.index = index;
+        }
+
+        @Override
+        public String getDescription() {
+            return definitions.get(index);
+        }
+    }
+
+    /**
+     * Holder of the default Collins graph, built on first use
+     */
+    private static class Collins {
+        private static final Dawg DAWG;
+        private static final DefinitionTable DEFINITIONS;
+
+        static {
+            Dawg dawg;
+            try {
+                dawg = buildFromResource(WordList.COLLINS_2019);
+            } catch (IOException e) {
+                System.out.println("Could not load scrabble words: " + e.getMessage());
+                e.printStackTrace();
+                dawg = DawgBuilder.build(new ArrayList<>());
+            }
+            DAWG = dawg;
+            DEFINITIONS = new DefinitionTable(dawg, WordList.COLLINS_2019);
+        }
+    }
+
+} // end of class
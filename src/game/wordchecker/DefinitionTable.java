@@ -0,0 +1,120 @@
+package game.wordchecker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Side table with the descriptions of the words of a {@link Dawg}, indexed by {@link Dawg#indexOf(CharSequence)}.
+ * The table is only read from the word list the first time a description is requested,
+ * and then kept as one block of UTF-8 bytes instead of one String per word.
+ * A table can also be opened directly over a compiled dictionary image, see {@link DictionaryImage}.
+ */
+public class DefinitionTable {
+
+    // --- Variables -------------------------------
+
+    private final Dawg dawg;
+    private final String[] resources;
+
+    private volatile IntBuffer offsets;
+    private ByteBuffer text;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the DefinitionTable class
+     *
+     * @param dawg the graph whose word indices are used
+     * @param resources classpath resources of the word lists with the descriptions;
+     *                  a word described in more than one list gets the description of the first
+     */
+    public DefinitionTable(Dawg dawg, String... resources) {
+        this.dawg = dawg;
+        this.resources = resources;
+    }
+
+    /**
+     * Constructor over descriptions that are already in memory or mapped from a file
+     *
+     * @param offsets start of every description in text, plus the end of the last one
+     * @param text the UTF-8 bytes of all descriptions
+     */
+    public DefinitionTable(IntBuffer offsets, ByteBuffer text) {
+        this.dawg = null;
+        this.resources = null;
+        this.text = text;
+        this.offsets = offsets;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the description of a word
+     *
+     * @param index the index of the word in the graph
+     * @return the description, or null if the word list could not be read
+     * @requires index >= 0 && index < dawg.size()
+     */
+    public String get(int index) {
+        IntBuffer loaded = offsets;
+        if (loaded == null) {
+            loaded = load();
+            if (loaded == null) {
+                return null;
+            }
+        }
+        int start = loaded.get(index);
+        byte[] bytes = new byte[loaded.get(index + 1) - start];
+        ByteBuffer source = text.duplicate();
+        source.position(start);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check if the descriptions have been read into memory
+     * @return true if the table is loaded
+     */
+    public boolean isLoaded() {
+        return offsets != null;
+    }
+
+    // --- Commands --------------------------------
+
+    private synchronized IntBuffer load() {
+        if (offsets != null) {
+            return offsets;
+        }
+        String[] descriptions = new String[dawg.size()];
+        try {
+            for (String resource : resources) {
+                WordList.read(resource, (word, description) -> {
+                    int index = dawg.indexOf(word);
+                    if (index >= 0 && descriptions[index] == null) {
+                        descriptions[index] = description;
+                    }
+                });
+            }
+        } catch (IOException e) {
+            System.out.println("Could not load scrabble word descriptions: " + e.getMessage());
+            return null;
+        }
+
+        int[] newOffsets = new int[descriptions.length + 1];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < descriptions.length; i++) {
+            newOffsets[i] = bytes.size();
+            if (descriptions[i] != null) {
+                bytes.writeBytes(descriptions[i].getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        newOffsets[descriptions.length] = bytes.size();
+        text = ByteBuffer.wrap(bytes.toByteArray());
+        offsets = IntBuffer.wrap(newOffsets);
+        return offsets;
+    }
+
+} // end of class
@@ -0,0 +1,62 @@
+package game.wordchecker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Offline compiler from a tab-separated word list to a binary {@link DictionaryImage}.
+ *
+ * Usage: DictionaryCompiler [output file] [word list file]
+ * Without a word list file the Collins 2019 list on the classpath is compiled.
+ */
+public class DictionaryCompiler {
+
+    // --- Commands --------------------------------
+
+    /**
+     * Compile a word list read from a stream into an image file
+     *
+     * @param wordList the tab-separated word list, closed afterwards
+     * @param output the image file to write
+     * @return the number of words in the image
+     * @throws IOException if the word list cannot be read or the image cannot be written
+     */
+    public static int compile(InputStream wordList, Path output) throws IOException {
+        Map<String, String> entries = new TreeMap<>();
+        WordList.read(wordList, (word, description) -> entries.putIfAbsent(word.toUpperCase(), description));
+
+        Dawg dawg = DawgBuilder.build(entries.keySet());
+        String[] descriptions = new String[dawg.size()];
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            int index = dawg.indexOf(entry.getKey());
+            if (index >= 0) {
+                descriptions[index] = entry.getValue();
+            }
+        }
+        DictionaryImage.write(output, dawg, descriptions);
+        return dawg.size();
+    }
+
+    // ------------------ Main --------------------------
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : MappedScrabbleWordChecker.DEFAULT_IMAGE);
+        InputStream wordList = args.length > 1
+                ? Files.newInputStream(Paths.get(args[1]))
+                : DictionaryCompiler.class.getResourceAsStream(WordList.COLLINS_2019);
+        if (wordList == null) {
+            System.out.println("Could not find the word list " + WordList.COLLINS_2019);
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        int words = compile(wordList, output);
+        System.out.printf("Compiled %d words into %s (%d bytes) in %d ms%n",
+                words, output, Files.size(output), (System.nanoTime() - start) / 1_000_000);
+    }
+
+} // end of class
@@ -0,0 +1,154 @@
+package game.wordchecker;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary dictionary image: a packed {@link Dawg} followed by its descriptions.
+ * All values are big-endian ints, so the file can be mapped and used without parsing.
+ * <pre>
+ *   int    MAGIC
+ *   int    VERSION
+ *   int    edge count (E)
+ *   int    word count (W)
+ *   int[E] packed edges
+ *   int[E] word counts per edge
+ *   int[W + 1] start of every description in the text block
+ *   byte[] UTF-8 text of all descriptions
+ * </pre>
+ */
+public final class DictionaryImage {
+
+    // --- Variables -------------------------------
+
+    public static final int MAGIC = 0x53435244; // "SCRD"
+    public static final int VERSION = 1;
+    private static final int HEADER_INTS = 4;
+
+    private final Dawg dawg;
+    private final DefinitionTable definitions;
+
+    // --- Constructor -----------------------------
+
+    private DictionaryImage(Dawg dawg, DefinitionTable definitions) {
+        this.dawg = dawg;
+        this.definitions = definitions;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the word graph of the image
+     * @return the word graph
+     */
+    public Dawg getDawg() {
+        return dawg;
+    }
+
+    /**
+     * Get the descriptions of the image
+     * @return the descriptions
+     */
+    public DefinitionTable getDefinitions() {
+        return definitions;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Map an image file into memory. Nothing is copied to the heap:
+     * the graph and the descriptions are read straight from the mapped buffer,
+     * and the pages are shared with every other process mapping the same file.
+     *
+     * @param file the image file
+     * @return the mapped image
+     * @throws IOException if the file cannot be read or is not a dictionary image
+     */
+    public static DictionaryImage map(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_INTS * Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a dictionary image");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException(file + " has unsupported version " + buffer.getInt(4));
+        }
+        int edgeCount = buffer.getInt(8);
+        int wordCount = buffer.getInt(12);
+        long sections = HEADER_INTS * Integer.BYTES + (2L * edgeCount + wordCount + 1) * Integer.BYTES;
+        if (edgeCount < 0 || wordCount < 0 || sections > buffer.limit()) {
+            throw new IOException(file + " is truncated or corrupt: " + edgeCount + " edges and " + wordCount
+                    + " words do not fit in " + buffer.limit() + " bytes");
+        }
+
+        int position = HEADER_INTS * Integer.BYTES;
+        IntBuffer edges = intSection(buffer, position, edgeCount);
+        position += edgeCount * Integer.BYTES;
+        IntBuffer counts = intSection(buffer, position, edgeCount);
+        position += edgeCount * Integer.BYTES;
+        IntBuffer offsets = intSection(buffer, position, wordCount + 1);
+        position += (wordCount + 1) * Integer.BYTES;
+        ByteBuffer text = buffer.duplicate();
+        text.position(position);
+        text = text.slice();
+        if (offsets.get(wordCount) < 0 || offsets.get(wordCount) > text.limit()) {
+            throw new IOException(file + " is truncated or corrupt: the descriptions end after the file");
+        }
+
+        return new DictionaryImage(new Dawg(edges, counts), new DefinitionTable(offsets, text));
+    }
+
+    /**
+     * Write an image file
+     *
+     * @param file the file to write, replaced if it exists
+     * @param dawg the word graph
+     * @param descriptions the description of every word, indexed by {@link Dawg#indexOf(CharSequence)}
+     * @throws IOException if the file cannot be written
+     * @requires descriptions.length == dawg.size()
+     */
+    public static void write(Path file, Dawg dawg, String[] descriptions) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dawg.edgeCount());
+            out.writeInt(descriptions.length);
+            for (int i = 0; i < dawg.edgeCount(); i++) {
+                out.writeInt(dawg.edge(i));
+            }
+            for (int i = 0; i < dawg.edgeCount(); i++) {
+                out.writeInt(dawg.count(i));
+            }
+            byte[][] text = new byte[descriptions.length][];
+            int offset = 0;
+            for (int i = 0; i < descriptions.length; i++) {
+                text[i] = descriptions[i] == null ? new byte[0] : descriptions[i].getBytes(StandardCharsets.UTF_8);
+                out.writeInt(offset);
+                offset += text[i].length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : text) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static IntBuffer intSection(ByteBuffer buffer, int position, int length) {
+        ByteBuffer section = buffer.duplicate();
+        section.position(position);
+        section.limit(position + length * Integer.BYTES);
+        return section.slice().asIntBuffer();
+    }
+
+} // end of class
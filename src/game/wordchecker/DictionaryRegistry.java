@@ -0,0 +1,117 @@
+package game.wordchecker;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registry of the dictionary new games are started with.
+ *
+ * A new lexicon is loaded on a background thread and then swapped in with a single atomic write,
+ * so live games never wait for it. Each game pins the {@link LexiconVersion} it was started with;
+ * the registry itself only keeps the current version, so a retired version is released
+ * by the garbage collector as soon as the last game using it is gone.
+ */
+public class DictionaryRegistry {
+
+    // --- Variables -------------------------------
+
+    private final AtomicReference<LexiconVersion> current = new AtomicReference<>();
+    private final List<WeakReference<LexiconVersion>> retired = new ArrayList<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dictionary-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int nextVersion = 1;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the DictionaryRegistry class
+     *
+     * @param name name of the initial lexicon, for example "Collins 2019"
+     * @param checker the initial dictionary
+     */
+    public DictionaryRegistry(String name, ScrabbleWordChecker checker) {
+        current.set(newVersion(name, checker));
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the version new games should be pinned to
+     * @return the current lexicon version
+     */
+    public LexiconVersion current() {
+        return current.get();
+    }
+
+    /**
+     * Get the retired versions that are still referenced by running games
+     * @return the retired versions that have not been released yet
+     */
+    public synchronized List<LexiconVersion> liveRetiredVersions() {
+        List<LexiconVersion> live = new ArrayList<>();
+        for (Iterator<WeakReference<LexiconVersion>> it = retired.iterator(); it.hasNext(); ) {
+            LexiconVersion version = it.next().get();
+            if (version == null) {
+                it.remove();
+            } else {
+                live.add(version);
+            }
+        }
+        return live;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Load a lexicon in the background and make it current once it is loaded.
+     * Games that are already running keep the version they started with.
+     *
+     * @param name name of the new lexicon
+     * @param load loads the new dictionary; it runs on the loader thread
+     * @return a future completing with the new version, or exceptionally if loading failed
+     *         (the current version then stays in place)
+     */
+    public CompletableFuture<LexiconVersion> reload(String name, Callable<ScrabbleWordChecker> load) {
+        CompletableFuture<LexiconVersion> result = new CompletableFuture<>();
+        loader.execute(() -> {
+            try {
+                ScrabbleWordChecker checker = load.call();
+                result.complete(swap(name, checker));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Make an already loaded dictionary current
+     *
+     * @param name name of the new lexicon
+     * @param checker the new dictionary
+     * @return the new version
+     */
+    public LexiconVersion swap(String name, ScrabbleWordChecker checker) {
+        LexiconVersion version = newVersion(name, checker);
+        LexiconVersion old = current.getAndSet(version);
+        synchronized (this) {
+            retired.add(new WeakReference<>(old));
+        }
+        return version;
+    }
+
+    private synchronized LexiconVersion newVersion(String name, ScrabbleWordChecker checker) {
+        return new LexiconVersion(name, nextVersion++, checker);
+    }
+
+} // end of class
@@ -1,56 +1,410 @@
 package game.wordchecker;
 
-import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-public class FileStreamScrabbleWordChecker implements ScrabbleWordChecker {
+/**
+ * Word checker that keeps (almost) nothing in memory: words are binary searched in a sorted
+ * index file with positional reads, and only a small LRU of recently checked words is cached.
+ *
+ * The index file is built from the word list the first time it is needed, and built again when the word list
+ * changed since, or when the index is not complete:
+ * <pre>
+ *   int    MAGIC
+ *   int    FORMAT
+ *   long   size of the word list it was built from
+ *   long   modification time of the word list it was built from
+ *   int    word count (N)
+ *   int    stride, the fixed size of a record
+ *   N records of [word, upper case ASCII padded with 0 to stride - 4 bytes][int start of description]
+ *   int    end of the last description
+ *   byte[] UTF-8 text of all descriptions, offsets relative to the start of this block
+ * </pre>
+ * Close the checker to close the index file.
+ */
+public class FileStreamScrabbleWordChecker implements ScrabbleWordChecker, Closeable {
+
+    // --- Variables -------------------------------
+
+    private static final int MAGIC = 0x53435749; // "SCWI"
+    private static final int FORMAT = 2;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int CACHE_SIZE = 1024;
+    private static final WordResponse NOT_FOUND = new WordResponse(null, null);
+
+    /** Default location of the index built from the Collins 2019 list */
+    public static final String DEFAULT_INDEX = System.getProperty("java.io.tmpdir") + "/collins_scrabble_words_2019.idx";
+
+    private FileChannel channel;
+    private int wordCount;
+    private int stride;
+    private long textStart;
+
+    private final Map<String, WordResponse> cache = new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WordResponse> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final ThreadLocal<ByteBuffer> recordBuffer = new ThreadLocal<>();
+
+    /** Threads doing the index reads of asynchronous batches, so callers never block on disk I/O */
+    private static final ExecutorService IO_THREADS = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "word-index-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor using the index at {@link #DEFAULT_INDEX}, built from the Collins list when missing or out of date
+     */
     public FileStreamScrabbleWordChecker() {
+        this(Paths.get(DEFAULT_INDEX));
+    }
+
+    /**
+     * Constructor using an index file, built from the Collins list if it is missing or out of date
+     * @param index the index file
+     */
+    public FileStreamScrabbleWordChecker(Path index) {
+        this(index, WordList.class.getResource(WordList.COLLINS_2019));
+    }
+
+    /**
+     * Constructor using an index file, built from the word list if it does not exist yet, if the word list changed
+     * since it was built or if it is not complete
+     *
+     * @param index the index file
+     * @param wordList the tab-separated word list
+     */
+    public FileStreamScrabbleWordChecker(Path index, URL wordList) {
+        try {
+            if (wordList == null) {
+                throw new IOException("Word list not found");
+            }
+            long[] source = stamp(wordList);
+            if (!open(index, source)) {
+                buildIndex(wordList, index);
+                if (!open(index, source)) {
+                    throw new IOException(index + " is not a word index of " + wordList);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not load scrabble words: " + e.getMessage());
+            e.printStackTrace();
+            channel = null;
+        }
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the number of words in the index
+     * @return the number of words, 0 if the index could not be loaded
+     */
+    public int size() {
+        return channel == null ? 0 : wordCount;
     }
 
     public WordResponse isValidWord(String word) {
-        if (word != null && !word.isBlank()) {
+        if (word != null && !word.isBlank() && channel != null) {
             word = word.toUpperCase();
+            WordResponse cached;
+            synchronized (cache) {
+                cached = cache.get(word);
+            }
+            if (cached != null) {
+                return cached == NOT_FOUND ? null : cached;
+            }
+            if (!channel.isOpen()) {
+                return null;
+            }
 
             try {
-                InputStream resourceStream = FileStreamScrabbleWordChecker.class.getResourceAsStream("/collins_scrabble_words_2019.txt");
-                BufferedReader br = new BufferedReader(new InputStreamReader(resourceStream));
-
-                WordResponse var6;
-                label63: {
-                    String line;
-                    try {
-                        while((line = br.readLine()) != null) {
-                            String[] splitLine = line.split("\t");
-                            if (splitLine.length == 2 && word.equals(splitLine[0])) {
-                                var6 = new WordResponse(splitLine[0], splitLine[1]);
-                                break label63;
-                            }
-                        }
-                    } catch (Throwable var8) {
-                        try {
-                            br.close();
-                        } catch (Throwable var7) {
-                            var8.addSuppressed(var7);
-                        }
-
-                        throw var8;
-                    }
-
-                    br.close();
-                    return null;
+                WordResponse response = lookup(word);
+                synchronized (cache) {
+                    cache.put(word, response == null ? NOT_FOUND : response);
                 }
-
-                br.close();
-                return var6;
-            } catch (IOException var9) {
-                System.out.println("Could not load scrabble words: " + var9.getMessage());
-                var9.printStackTrace();
+                return response;
+            } catch (IOException e) {
+                System.out.println("Could not load scrabble words: " + e.getMessage());
+                e.printStackTrace();
                 return null;
             }
         } else {
             return null;
         }
     }
-}
+
+    /**
+     * Check a number of words. Every distinct word is looked up once,
+     * in sorted order, so consecutive searches read neighbouring index pages.
+     */
+    @Override
+    public List<WordResponse> isValidWords(Collection<String> words) {
+        Map<String, WordResponse> responses = new HashMap<>();
+        for (String word : new TreeSet<>(upperCase(words))) {
+            responses.put(word, isValidWord(word));
+        }
+        List<WordResponse> result = new ArrayList<>(words.size());
+        for (String word : words) {
+            result.add(word == null || word.isBlank() ? null : responses.get(word.toUpperCase()));
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<List<WordResponse>> isValidWordsAsync(Collection<String> words) {
+        return CompletableFuture.supplyAsync(() -> isValidWords(words), IO_THREADS);
+    }
+
+    private static List<String> upperCase(Collection<String> words) {
+        List<String> result = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (word != null && !word.isBlank()) {
+                result.add(word.toUpperCase());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Binary search the index for a word
+     *
+     * @param word the word, upper case
+     * @return the word and its description, or null if it is not in the index
+     * @throws IOException if the index cannot be read
+     */
+    private WordResponse lookup(String word) throws IOException {
+        int keyLength = stride - Integer.BYTES;
+        if (word.length() > keyLength) {
+            return null;
+        }
+        ByteBuffer record = recordBuffer.get();
+        if (record == null) {
+            record = ByteBuffer.allocate(stride * 2);
+            recordBuffer.set(record);
+        }
+
+        int low = 0;
+        int high = wordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            record.clear();
+            // read the record plus the next one, whose description start ends this description
+            readFully(channel, record, HEADER_BYTES + (long) mid * stride);
+            int order = compare(word, record, keyLength);
+            if (order == 0) {
+                int start = record.getInt(keyLength);
+                int end = mid == wordCount - 1 ? record.getInt(stride) : record.getInt(stride + keyLength);
+                ByteBuffer text = ByteBuffer.allocate(end - start);
+                readFully(channel, text, textStart + start);
+                return new WordResponse(word, new String(text.array(), StandardCharsets.UTF_8));
+            } else if (order < 0) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return null;
+    }
+
+    private static void readFully(FileChannel file, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = file.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+    }
+
+    private static int compare(String word, ByteBuffer record, int keyLength) {
+        for (int i = 0; i < keyLength; i++) {
+            int a = i < word.length() ? word.charAt(i) : 0;
+            int b = record.get(i) & 0xFF;
+            if (a != b) {
+                return a - b;
+            }
+            if (a == 0) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Get the size and the modification time of a word list, stored in the index built from it
+     */
+    private static long[] stamp(URL wordList) throws IOException {
+        URLConnection connection = wordList.openConnection();
+        InputStream stream = connection.getInputStream(); // opened to connect, so the stamp can be read
+        try {
+            return new long[] {connection.getContentLengthLong(), connection.getLastModified()};
+        } finally {
+            stream.close();
+        }
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Close the index file. Words checked afterwards are only found in the cache.
+     * @throws IOException if the index file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Open an index file if it is complete and built from the word list as it is now
+     *
+     * @param index the index file
+     * @param source the size and modification time of the word list
+     * @return true if the index is open, false if it has to be built
+     * @throws IOException if the index exists but cannot be read
+     */
+    private boolean open(Path index, long[] source) throws IOException {
+        if (!Files.exists(index)) {
+            return false;
+        }
+        FileChannel file = FileChannel.open(index, StandardOpenOption.READ);
+        boolean complete = false;
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(file, header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != FORMAT
+                    || header.getLong() != source[0] || header.getLong() != source[1]) {
+                return false;
+            }
+            int count = header.getInt();
+            int recordSize = header.getInt();
+            if (count < 0 || recordSize <= Integer.BYTES) {
+                return false;
+            }
+            long text = HEADER_BYTES + (long) count * recordSize + Integer.BYTES;
+            ByteBuffer textLength = ByteBuffer.allocate(Integer.BYTES);
+            readFully(file, textLength, text - Integer.BYTES);
+            // a file cut short, for example by a crash while it was written, is built again
+            complete = !textLength.hasRemaining() && file.size() == text + textLength.getInt(0);
+            if (complete) {
+                wordCount = count;
+                stride = recordSize;
+                textStart = text;
+                channel = file;
+            }
+            return complete;
+        } finally {
+            if (!complete) {
+                file.close();
+            }
+        }
+    }
+
+    /**
+     * Build a sorted fixed-stride index file from a word list on the classpath
+     *
+     * @param resource classpath resource of the word list
+     * @param index the index file to write
+     * @throws IOException if the word list cannot be read or the index cannot be written
+     */
+    public static void buildIndex(String resource, Path index) throws IOException {
+        URL wordList = WordList.class.getResource(resource);
+        if (wordList == null) {
+            throw new IOException("Resource " + resource + " not found");
+        }
+        buildIndex(wordList, index);
+    }
+
+    /**
+     * Build a sorted fixed-stride index file from a word list. The index is written to a temporary file
+     * that replaces the index in one atomic rename, so a crash never leaves half an index behind.
+     *
+     * @param wordList the tab-separated word list
+     * @param index the index file to write
+     * @throws IOException if the word list cannot be read or the index cannot be written
+     */
+    public static void buildIndex(URL wordList, Path index) throws IOException {
+        long[] source = stamp(wordList);
+        Map<String, String> entries = new TreeMap<>();
+        WordList.read(wordList.openStream(),
+                (word, description) -> entries.putIfAbsent(word.toUpperCase(), description));
+        int keyLength = 1;
+        for (String word : entries.keySet()) {
+            keyLength = Math.max(keyLength, word.length());
+        }
+        int stride = keyLength + Integer.BYTES;
+
+        Path temporary = Files.createTempFile(index.toAbsolutePath().getParent(), "words", ".tmp");
+        try {
+            writeIndex(temporary, entries, source, keyLength, stride);
+            try {
+                Files.move(temporary, index, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, index, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeIndex(Path file, Map<String, String> entries, long[] source, int keyLength, int stride)
+            throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(source[0]);
+            out.writeLong(source[1]);
+            out.writeInt(entries.size());
+            out.writeInt(stride);
+            byte[] key = new byte[keyLength];
+            int offset = 0;
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                Arrays.fill(key, (byte) 0);
+                byte[] word = entry.getKey().getBytes(StandardCharsets.US_ASCII);
+                System.arraycopy(word, 0, key, 0, word.length);
+                out.write(key);
+                out.writeInt(offset);
+                offset += entry.getValue().getBytes(StandardCharsets.UTF_8).length;
+            }
+            out.writeInt(offset);
+            for (String description : entries.values()) {
+                out.write(description.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+} // end of class
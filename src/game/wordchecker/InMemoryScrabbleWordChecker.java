@@ -4,8 +4,11 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class InMemoryScrabbleWordChecker implements ScrabbleWordChecker {
     private static final Map<String, WordResponse> words = new HashMap();
@@ -17,6 +20,10 @@ public class InMemoryScrabbleWordChecker implements ScrabbleWordChecker {
         return word != null && !word.isBlank() ? (WordResponse)words.get(word.toUpperCase()) : null;
     }
 
+    public CompletableFuture<List<WordResponse>> isValidWordsAsync(Collection<String> words) {
+        return CompletableFuture.completedFuture(this.isValidWords(words));
+    }
+
     static {
         try {
             InputStream resourceStream = InMemoryScrabbleWordChecker.class.getResourceAsStream("/collins_scrabble_words_2019.txt");
@@ -0,0 +1,83 @@
+package game.wordchecker;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One loaded version of a lexicon, as handed out by the {@link DictionaryRegistry}.
+ * It checks words with the dictionary it was loaded with, so a game holding it
+ * keeps its rules even after a newer version has been swapped in.
+ */
+public final class LexiconVersion implements ScrabbleWordChecker {
+
+    // --- Variables -------------------------------
+
+    private final String name;
+    private final int version;
+    private final ScrabbleWordChecker checker;
+    private final long loadedAt;
+
+    // --- Constructor -----------------------------
+
+    LexiconVersion(String name, int version, ScrabbleWordChecker checker) {
+        this.name = name;
+        this.version = version;
+        this.checker = checker;
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    // --- Queries ---------------------------------
+
+    public WordResponse isValidWord(String word) {
+        return checker.isValidWord(word);
+    }
+
+    @Override
+    public List<WordResponse> isValidWords(Collection<String> words) {
+        return checker.isValidWords(words);
+    }
+
+    @Override
+    public CompletableFuture<List<WordResponse>> isValidWordsAsync(Collection<String> words) {
+        return checker.isValidWordsAsync(words);
+    }
+
+    /**
+     * Get the name of the lexicon
+     * @return the lexicon name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the version number, increasing with every lexicon loaded by the registry
+     * @return the version number
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the dictionary of this version
+     * @return the word checker
+     */
+    public ScrabbleWordChecker getChecker() {
+        return checker;
+    }
+
+    /**
+     * Get the time this version was loaded
+     * @return the load time in milliseconds since the epoch
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (v" + version + ")";
+    }
+
+} // end of class
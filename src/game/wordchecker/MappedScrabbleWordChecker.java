@@ -0,0 +1,43 @@
+package game.wordchecker;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Word checker that looks words up straight from a memory-mapped {@link DictionaryImage},
+ * so opening it costs a single mmap call instead of parsing the word list.
+ * Build the image once with {@link DictionaryCompiler}.
+ */
+public class MappedScrabbleWordChecker extends DawgScrabbleWordChecker {
+
+    // --- Variables -------------------------------
+
+    /** Default location of the compiled Collins 2019 image */
+    public static final String DEFAULT_IMAGE = System.getProperty("user.dir") + "/src/collins_scrabble_words_2019.dict";
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor mapping the image at {@link #DEFAULT_IMAGE}
+     * @throws IOException if the image cannot be mapped
+     */
+    public MappedScrabbleWordChecker() throws IOException {
+        this(Paths.get(DEFAULT_IMAGE));
+    }
+
+    /**
+     * Constructor mapping an image file
+     *
+     * @param image the compiled dictionary image
+     * @throws IOException if the image cannot be mapped
+     */
+    public MappedScrabbleWordChecker(Path image) throws IOException {
+        this(DictionaryImage.map(image));
+    }
+
+    private MappedScrabbleWordChecker(DictionaryImage image) {
+        super(image.getDawg(), image.getDefinitions());
+    }
+
+} // end of class
@@ -0,0 +1,143 @@
+package game.wordchecker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Several lexicons (for example Collins and TWL) in one word graph.
+ * The union of all words is stored once; every word carries a bitmask of the lexicons it belongs to,
+ * indexed by its position in the graph. A checker for one lexicon is a cheap view on the shared data.
+ */
+public class MultiLexiconDictionary {
+
+    // --- Variables -------------------------------
+
+    public static final int MAX_LEXICONS = 16;
+
+    private final Dawg dawg;
+    private final String[] names;
+    private final short[] masks;
+    private final DefinitionTable definitions;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor over an already built union graph
+     *
+     * @param dawg the graph with the words of all lexicons
+     * @param names the lexicon names, bit i of a mask stands for names[i]
+     * @param masks for every word of the graph the lexicons it belongs to
+     * @param definitions the descriptions of the words of the graph
+     * @requires names.length <= MAX_LEXICONS && masks.length == dawg.size()
+     */
+    public MultiLexiconDictionary(Dawg dawg, String[] names, short[] masks, DefinitionTable definitions) {
+        this.dawg = dawg;
+        this.names = names.clone();
+        this.masks = masks;
+        this.definitions = definitions;
+    }
+
+    /**
+     * Build a dictionary from tab-separated word lists on the classpath
+     *
+     * @param lexicons lexicon name to word list resource, in the order the bits are assigned
+     * @return the dictionary
+     * @throws IOException if a word list cannot be read
+     * @throws IllegalArgumentException if more than {@link #MAX_LEXICONS} lexicons are given
+     */
+    public static MultiLexiconDictionary load(Map<String, String> lexicons) throws IOException {
+        if (lexicons.size() > MAX_LEXICONS) {
+            throw new IllegalArgumentException("At most " + MAX_LEXICONS + " lexicons are supported");
+        }
+        Map<String, Integer> wordMasks = new TreeMap<>();
+        String[] names = new String[lexicons.size()];
+        String[] resources = new String[lexicons.size()];
+        int bit = 0;
+        for (Map.Entry<String, String> lexicon : lexicons.entrySet()) {
+            names[bit] = lexicon.getKey();
+            resources[bit] = lexicon.getValue();
+            int flag = 1 << bit;
+            WordList.read(lexicon.getValue(),
+                    (word, description) -> wordMasks.merge(word.toUpperCase(), flag, (a, b) -> a | b));
+            bit++;
+        }
+
+        Dawg dawg = DawgBuilder.build(wordMasks.keySet());
+        short[] masks = new short[dawg.size()];
+        for (Map.Entry<String, Integer> entry : wordMasks.entrySet()) {
+            int index = dawg.indexOf(entry.getKey());
+            if (index >= 0) {
+                masks[index] = (short) (int) entry.getValue();
+            }
+        }
+        return new MultiLexiconDictionary(dawg, names, masks, new DefinitionTable(dawg, resources));
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the names of the lexicons
+     * @return the lexicon names
+     */
+    public List<String> getLexiconNames() {
+        return new ArrayList<>(Arrays.asList(names));
+    }
+
+    /**
+     * Get the graph with the words of all lexicons
+     * @return the union graph
+     */
+    public Dawg getDawg() {
+        return dawg;
+    }
+
+    /**
+     * Get a checker that only accepts the words of one lexicon
+     *
+     * @param lexicon name of the lexicon
+     * @return the checker for that lexicon
+     * @throws IllegalArgumentException if the lexicon is unknown
+     */
+    public DawgScrabbleWordChecker checker(String lexicon) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equalsIgnoreCase(lexicon)) {
+                return new LexiconChecker(1 << i);
+            }
+        }
+        throw new IllegalArgumentException("Unknown lexicon: " + lexicon);
+    }
+
+    /**
+     * Check if a word is in one lexicon, without allocating any objects
+     *
+     * @param word the word, in upper or lower case
+     * @param lexicon index of the lexicon in {@link #getLexiconNames()}
+     * @return true if the word belongs to the lexicon
+     */
+    public boolean contains(CharSequence word, int lexicon) {
+        int index = dawg.indexOf(word);
+        return index >= 0 && (masks[index] & (1 << lexicon)) != 0;
+    }
+
+    /**
+     * View on the shared graph accepting the words of one lexicon only
+     */
+    private class LexiconChecker extends DawgScrabbleWordChecker {
+        private final int bit;
+
+        LexiconChecker(int bit) {
+            super(dawg, definitions);
+            this.bit = bit;
+        }
+
+        @Override
+        public boolean accepts(int index) {
+            return (masks[index] & bit) != 0;
+        }
+    }
+
+} // end of class
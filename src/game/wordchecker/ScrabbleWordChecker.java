@@ -1,8 +1,39 @@
 package game.wordchecker;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public interface ScrabbleWordChecker {
     ScrabbleWordChecker.WordResponse isValidWord(String var1);
 
+    /**
+     * Check a number of words in one call
+     *
+     * @param words the words to check
+     * @return for every word, in the same order, its response or null if the word is not valid
+     */
+    default List<ScrabbleWordChecker.WordResponse> isValidWords(Collection<String> words) {
+        List<ScrabbleWordChecker.WordResponse> responses = new ArrayList<>(words.size());
+        for (String word : words) {
+            responses.add(this.isValidWord(word));
+        }
+        return responses;
+    }
+
+    /**
+     * Check a number of words without blocking the calling thread.
+     * Checkers that answer from memory complete the future immediately;
+     * checkers that need I/O do the lookups on their own threads.
+     *
+     * @param words the words to check
+     * @return a future of the responses, as returned by {@link #isValidWords(Collection)}
+     */
+    default CompletableFuture<List<ScrabbleWordChecker.WordResponse>> isValidWordsAsync(Collection<String> words) {
+        return CompletableFuture.supplyAsync(() -> this.isValidWords(words));
+    }
+
     public static class WordResponse {
         private String word;
         private String description;
@@ -0,0 +1,66 @@
+package game.wordchecker;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+public final class WordList {
+
+    // --- Variables -------------------------------
+
+    /** Classpath resource of the Collins Scrabble Words 2019 list (word TAB description per line) */
+    public static final String COLLINS_2019 = "/collins_scrabble_words_2019.txt";
+
+    // --- Constructor -----------------------------
+
+    private WordList() {
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Callback receiving every entry of a word list
+     */
+    public interface EntryConsumer {
+        void accept(String word, String description);
+    }
+
+    /**
+     * Read a tab-separated word list from the classpath and hand every entry to the consumer.
+     * Lines that do not consist of exactly a word and a description are skipped.
+     *
+     * @param resource classpath resource of the word list, for example {@link #COLLINS_2019}
+     * @param consumer receiver of the entries
+     * @throws IOException if the resource is missing or cannot be read
+     */
+    public static void read(String resource, EntryConsumer consumer) throws IOException {
+        InputStream resourceStream = WordList.class.getResourceAsStream(resource);
+        if (resourceStream == null) {
+            throw new IOException("Resource " + resource + " not found");
+        }
+        read(resourceStream, consumer);
+    }
+
+    /**
+     * Read a tab-separated word list from a stream and hand every entry to the consumer.
+     * The stream is closed afterwards.
+     *
+     * @param stream the word list
+     * @param consumer receiver of the entries
+     * @throws IOException if the stream cannot be read
+     */
+    public static void read(InputStream stream, EntryConsumer consumer) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab > 0 && tab < line.length() - 1 && line.indexOf('\t', tab + 1) < 0) {
+                    consumer.accept(line.substring(0, tab), line.substring(tab + 1));
+                }
+            }
+        }
+    }
+
+} // end of class
@@ -181,6 +181,32 @@ public class Client implements ClientProtocol, Runnable {
         }
     }
 
+    /**
+     * Tell the server the client is ready to play in a room, opening the room if there is none with this name
+     *
+     * @param name name of the client
+     * @param room name of the room
+     * @throws ServerUnavailableException if IO errors occur.
+     */
+    public void doClientReady(String name, String room) throws ServerUnavailableException {
+        if (name != null && room != null) {
+            sendMessage(ProtocolMessages.CLIENTREADY
+                    + ProtocolMessages.SEPARATOR
+                    + name
+                    + ProtocolMessages.SEPARATOR
+                    + room
+            );
+        }
+    }
+
+    /**
+     * Ask the server for the list of rooms
+     * @throws ServerUnavailableException if IO errors occur.
+     */
+    public void doRooms() throws ServerUnavailableException {
+        sendMessage(ProtocolMessages.ROOMS);
+    }
+
     @Override
     public void doAbort(String name) throws ServerUnavailableException, ProtocolException {
         if (name != null) {
@@ -66,7 +66,14 @@ public class ClientTUI implements ClientView {
 
         switch (command) {
             case "READY":
-                client.doClientReady(client.getName());
+                if (inputArray.length > 1) {
+                    client.doClientReady(client.getName(), inputArray[1]);
+                } else {
+                    client.doClientReady(client.getName());
+                }
+                break;
+            case "ROOMS":
+                client.doRooms();
                 break;
             case "MOVE":
                 String coordinate = getString(printAskMove());
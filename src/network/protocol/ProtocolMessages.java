@@ -39,6 +39,10 @@ public class ProtocolMessages {
     /**	The message is sent by each network.client when they are ready. After sending this, they
      * 	should expect to receive a {@link #SERVERREADY} command containing their respective name */
     public static final String CLIENTREADY = "CRDY";
+
+    /**	Sent by a network.client to get the list of rooms. A {@link #CLIENTREADY} command may name a room as its
+     * 	second argument to join or open it, without one the network.client is matched into a room. */
+    public static final String ROOMS = "ROOMS";
     //--------------------------------------------------//
 
     //-----------------Playing The Game-----------------//
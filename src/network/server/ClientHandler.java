@@ -3,38 +3,41 @@ package network.server;
 import network.protocol.ProtocolMessages;
 import game.tui.TerminalColors;
 
-import java.io.*;
-import java.net.Socket;
+import java.util.concurrent.Executor;
 
-public class ClientHandler implements Runnable {
+/**
+ * The server side of one client. The lines of its {@link Connection} are handled one after the other on the
+ * command threads of the server, never on the I/O thread that read them. Commands for a game are handed on to the
+ * event queue of the room.
+ */
+public class ClientHandler implements Connection.Listener {
 
     // --- Variables -------------------------------
 
-    private Socket sock;
-    private BufferedReader in;
-    private BufferedWriter out;
-    private Server srv;
+    private final Connection connection;
+    private final Server srv;
 
-    private String name = "New player";
+    // work for this client, run in order by at most one command thread at a time
+    private final SerialExecutor inbox;
+
+    private volatile String name = "New player";
     private boolean isReady = false;
-    private boolean isMyTurn = false;
+    private volatile boolean isMyTurn = false;
+    private volatile GameRoom room; // null while the client is in the lobby
 
     // --- Constructor -----------------------------
 
     /**
      * Constructor of the ClientHandler class
-     * @param sock socket of the ClientHandler
+     * @param connection connection to the network.client, not served yet
      * @param srv network.server to be connected to
+     * @param commands the threads that handle the commands
      */
-    public ClientHandler (Socket sock, Server srv) {
-        try {
-            in = new BufferedReader(new InputStreamReader(sock.getInputStream()));
-            out = new BufferedWriter(new OutputStreamWriter(sock.getOutputStream()));
-            this.sock = sock;
-            this.srv = srv;
-        } catch (IOException e) {
-            shutdown();
-        }
+    public ClientHandler(Connection connection, Server srv, Executor commands) {
+        this.connection = connection;
+        this.srv = srv;
+        this.inbox = new SerialExecutor(commands);
+        connection.setListener(this);
     }
 
     // --- Queries ---------------------------------
@@ -63,6 +66,22 @@ public class ClientHandler implements Runnable {
         isReady = ready;
     }
 
+    /**
+     * Gets the room the client plays in
+     * @return the room, null while the client is in the lobby
+     */
+    public GameRoom getRoom() {
+        return room;
+    }
+
+    /**
+     * Sets the room the client plays in
+     * @param room the room, null when the client goes back to the lobby
+     */
+    public void setRoom(GameRoom room) {
+        this.room = room;
+    }
+
     /**
      * Sets the turn status of the ClientHandler
      * @param myTurn true if this is the current player to make a move, false otherwise
@@ -73,43 +92,40 @@ public class ClientHandler implements Runnable {
 
     // --- Commands --------------------------------
 
-    /**
-     * Continuously listens to network.client input and forwards the input to the
-     * {@link #handleCommand(String)} method.
-     */
     @Override
-    public void run() {
-        try {
-            String msg = in.readLine();
-            while (msg != null) {
-                System.out.println("> [" + name + "] Incoming: " + msg);
-                handleCommand(msg);
-                out.newLine();
-                out.flush();
-                msg = in.readLine();
-            }
-            shutdown();
-        } catch (IOException e) {
-            shutdown();
-        }
+    public void lineReceived(String msg) {
+        inbox.execute(() -> {
+            System.out.println("> [" + name + "] Incoming: " + msg);
+            handleCommand(msg);
+            sendMessage("");
+        });
+    }
+
+    @Override
+    public void connectionClosed() {
+        inbox.execute(this::leave);
     }
 
     /**
      * Send a message to the network.client
      * @param msg message to be sent
      */
-    public synchronized void sendMessage(String msg) {
-        try {
-            out.write(msg);
-            out.newLine();
-            out.flush();
-        } catch (IOException e) {
-            shutdown();
-        }
+    public void sendMessage(String msg) {
+        connection.send(msg);
+    }
+
+    /**
+     * Send a message to the network.client that may be dropped or replaced when the client reads too slowly
+     * @param msg message to be sent
+     * @param kind what the message is, see {@link OutboundPolicy}
+     */
+    public void sendMessage(String msg, Connection.Kind kind) {
+        connection.send(msg, kind);
     }
 
     /**
-     * Handles commands received from the network.client by calling the according methods at the Server.
+     * Handles commands received from the network.client by calling the according methods at the Server,
+     * or at the room of the client for the commands of a game.
      * For example, when the message "HI:;:NAME:;:FEATURES" is received,
      * the method getHello() of Server should be called
      * and the output must be sent to the network.client.
@@ -117,11 +133,11 @@ public class ClientHandler implements Runnable {
      * If the received input is not valid, send an "Unknown Command" message to the network.server.
      *
      * @param msg command from network.client
-     * @throws IOException if an IO errors occur.
      */
-    private void handleCommand(String msg) throws IOException {
+    private void handleCommand(String msg) {
         String[] msgArray = msg.toUpperCase().split(ProtocolMessages.SEPARATOR);
         String command = msgArray[0];
+        GameRoom current = room;
 
         switch (command) {
 
@@ -131,27 +147,36 @@ public class ClientHandler implements Runnable {
                     String features = msgArray[2];
                     setName(name);
                     sendMessage(srv.getHello(name, features));
-                    srv.doWelcome(name, features);
+                    srv.doWelcome(this);
                 } else {
                     sendMessage(TerminalColors.RED_BOLD + "Wrong command for HELLO!" + TerminalColors.RESET);
                 }
                 break;
 
             case ProtocolMessages.CLIENTREADY:
-                if (msgArray.length == 2) {
-                    String name = msgArray[1];
+                if (room != null) {
+                    sendMessage("You are already in room " + room.getName() + ".");
+                } else if (msgArray.length == 2 || msgArray.length == 3) {
+                    String roomName = msgArray.length == 3 ? msgArray[2].trim() : null;
                     setReady(true);
-                    srv.doServerReady(this);
+                    if (srv.getLobby().join(this, roomName) == null) {
+                        sendMessage(srv.doError(ProtocolMessages.UNRECOGNIZED) + TerminalColors.RED_BOLD
+                                + ", room " + roomName + " is full or playing already" + TerminalColors.RESET);
+                    }
                 } else {
                     sendMessage(TerminalColors.RED_BOLD + "Wrong command for CLIENTREADY!" + TerminalColors.RESET);
                 }
                 break;
 
+            case ProtocolMessages.ROOMS:
+                sendMessage(srv.getLobby().describeRooms());
+                break;
+
             case ProtocolMessages.MOVE:
-                if (isMyTurn) {
+                if (isMyTurn && current != null) {
                     if (msgArray.length == 3) {
                         String coordinate = msgArray[2];
-                        srv.doMove(this, coordinate);
+                        current.doMove(this, coordinate);
                     } else {
                         sendMessage(TerminalColors.RED_BOLD + "Wrong command for MOVE!" + TerminalColors.RESET);
                     }
@@ -162,12 +187,12 @@ public class ClientHandler implements Runnable {
                 break;
 
             case ProtocolMessages.PASS:
-                if (isMyTurn) {
+                if (isMyTurn && current != null) {
                     if (msgArray.length == 1) { // skip
-                        srv.doPass(this);
+                        current.doPass(this);
                     } else if (msgArray.length == 2) { // swap
                         String tiles = msgArray[1];
-                        srv.doPass(this, tiles);
+                        current.doPass(this, tiles);
                     } else {
                         sendMessage(TerminalColors.RED_BOLD + "Wrong command for PASS!" + TerminalColors.RESET);
                     }
@@ -178,13 +203,18 @@ public class ClientHandler implements Runnable {
                 break;
 
             case ProtocolMessages.ABORT:
-                srv.doAbort(this);
+                if (current != null) {
+                    current.doAbort(this);
+                }
                 shutdown();
+                break;
 
             case ProtocolMessages.MSGSEND:
-                if (msgArray.length == 2) {
+                if (msgArray.length == 2 && current != null) {
                     String chatMessage = msgArray[1];
-                    srv.broadcast("[" + name + "]: " + chatMessage);
+                    current.broadcast("[" + name + "]: " + chatMessage);
+                } else if (msgArray.length == 2) {
+                    sendMessage(TerminalColors.RED_BOLD + "Join a room to chat!" + TerminalColors.RESET);
                 } else {
                     sendMessage(srv.doError(ProtocolMessages.UNRECOGNIZED)
                             + TerminalColors.RED_BOLD + ", wrong command for CHAT" + TerminalColors.RESET);
@@ -198,19 +228,22 @@ public class ClientHandler implements Runnable {
     }
 
     /**
-     * Shut down the connection to this network.client by closing the socket and
-     * the In- and OutputStreams.
+     * Shut down the connection to this network.client; the client then leaves its room and the server
      */
     private void shutdown() {
+        connection.close();
+    }
+
+    /**
+     * Leave the room and the server after the connection is closed
+     */
+    private void leave() {
         System.out.println("> [" + name + "] Shutting down.");
-        try {
-            srv.removeClient(this);
-            in.close();
-            out.close();
-            sock.close();
-        } catch (IOException e) {
-            e.printStackTrace();
+        GameRoom current = room;
+        if (current != null) {
+            current.doAbort(this); // the other players in the room are not kept waiting
         }
+        srv.removeClient(this);
     }
 
 } // end of class
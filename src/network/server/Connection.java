@@ -0,0 +1,337 @@
+package network.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A client connection served by an {@link IoLoop}, without a thread of its own.
+ *
+ * Incoming bytes are cut into lines, one protocol message per line with its fields separated by
+ * {@link network.protocol.ProtocolMessages#SEPARATOR}, and every complete line is handed to the listener.
+ * Only the unfinished end of a line is kept between reads. Outgoing messages are queued by any thread and
+ * written by the loop as soon as the socket takes them, so a sender never waits for a slow client.
+ * The queue is bounded by the {@link OutboundPolicy}: what a slow client cannot take in time is dropped or
+ * replaced depending on its {@link Kind}, and a client that falls too far behind is disconnected.
+ */
+public class Connection {
+
+    /**
+     * Receives what happens on a connection, always on the thread of its loop
+     */
+    public interface Listener {
+
+        /**
+         * A complete line arrived
+         * @param line the line, without its line break
+         */
+        void lineReceived(String line);
+
+        /**
+         * The connection is closed, by either side; called once
+         */
+        void connectionClosed();
+    }
+
+    /**
+     * What a message is, which decides what happens to it when the client reads too slowly
+     */
+    public enum Kind {
+
+        /** Always written, unless the client is disconnected */
+        MESSAGE,
+
+        /** Dropped when the queue is over the chat limit */
+        CHAT,
+
+        /** Replaced by the next board if it is still queued */
+        BOARD
+    }
+
+    /**
+     * A queued message
+     */
+    private static final class Outbound {
+
+        private final ByteBuffer data;
+        private final int size;
+        private final long queuedNanos = System.nanoTime();
+        // taken by the loop when it starts writing, or by a newer board that replaces it
+        private final AtomicBoolean taken = new AtomicBoolean();
+        private boolean writing; // only touched by the loop
+
+        private Outbound(byte[] bytes) {
+            this.data = ByteBuffer.wrap(bytes);
+            this.size = bytes.length;
+        }
+    }
+
+    // --- Variables -------------------------------
+
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final IoLoop loop;
+    private final OutboundPolicy policy;
+    private final OutboundMetrics metrics;
+    private Listener listener;
+    private SelectionKey key;
+
+    // the unfinished end of the last read, only touched by the loop
+    private byte[] partial;
+    private int partialLength;
+
+    private final Queue<Outbound> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicReference<Outbound> queuedBoard = new AtomicReference<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the Connection class; it is served once it is registered with its loop
+     *
+     * @param channel the socket, in non-blocking mode
+     * @param loop the loop that serves it
+     * @param policy what to do when the client reads too slowly
+     * @param metrics where the writes are counted
+     */
+    public Connection(SocketChannel channel, IoLoop loop, OutboundPolicy policy, OutboundMetrics metrics) {
+        this.channel = channel;
+        this.loop = loop;
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Returns if the connection is closed
+     * @return true if closed
+     */
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Get the number of bytes queued and not written yet
+     * @return the depth of the queue in bytes
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Set who receives the lines of this connection
+     * @param newListener the listener
+     * @requires the connection is not registered yet
+     */
+    public void setListener(Listener newListener) {
+        this.listener = newListener;
+    }
+
+    /**
+     * Queue a message to be written, followed by a line break
+     * @param message the message
+     */
+    public void send(String message) {
+        send(message, Kind.MESSAGE);
+    }
+
+    /**
+     * Queue a message to be written, followed by a line break, unless the policy drops it
+     * @param message the message
+     * @param kind what the message is
+     */
+    public void send(String message, Kind kind) {
+        if (closed.get()) {
+            return;
+        }
+        if (kind == Kind.CHAT && queuedBytes.get() > policy.getChatQueuedBytes()) {
+            metrics.chatDropped();
+            return;
+        }
+        Outbound entry = new Outbound((message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        if (kind == Kind.BOARD && policy.isCoalesceBoards()) {
+            Outbound previous = queuedBoard.getAndSet(entry);
+            if (previous != null && previous.taken.compareAndSet(false, true)) {
+                // not written yet, so the client only gets the newer board
+                queuedBytes.addAndGet(-previous.size);
+                metrics.discarded(previous.size);
+                metrics.boardCoalesced();
+            }
+        }
+        long depth = queuedBytes.addAndGet(entry.size);
+        outbound.add(entry);
+        metrics.queued(entry.size, depth);
+        if (closed.get() && entry.taken.compareAndSet(false, true)) {
+            metrics.discarded(entry.size); // closed while it was queued
+        } else if (depth > policy.getMaxQueuedBytes()) {
+            if (depth - entry.size <= policy.getMaxQueuedBytes()) {
+                metrics.slowDisconnect();
+                loop.execute(this::closeNow); // the client cannot keep up
+            }
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(this::flush);
+        }
+    }
+
+    /**
+     * Close the connection once the loop gets to it, after writing what the socket takes of the queue
+     */
+    public void close() {
+        loop.execute(() -> {
+            flush();
+            closeNow();
+        });
+    }
+
+    /**
+     * Start reading, on the thread of the loop
+     */
+    void register(Selector selector) {
+        try {
+            key = channel.register(selector, SelectionKey.OP_READ, this);
+        } catch (IOException e) {
+            closeNow();
+            return;
+        }
+        if (!outbound.isEmpty()) {
+            flush(); // queued before the connection was served
+        }
+    }
+
+    /**
+     * Read what arrived and hand over the complete lines, on the thread of the loop
+     * @param buffer the read buffer of the loop
+     */
+    void read(ByteBuffer buffer) {
+        buffer.clear();
+        int read;
+        try {
+            read = channel.read(buffer);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            closeNow();
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining() && !closed.get()) {
+            int start = buffer.position();
+            int end = start;
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                end++;
+            }
+            append(buffer, start, end);
+            if (closed.get()) {
+                return;
+            } else if (end == buffer.limit()) {
+                buffer.position(end); // the rest of the line comes with a later read
+            } else {
+                buffer.position(end + 1);
+                int length = partialLength;
+                if (length > 0 && partial[length - 1] == '\r') {
+                    length--;
+                }
+                String line = new String(partial, 0, length, StandardCharsets.UTF_8);
+                partialLength = 0;
+                if (partial.length > 1024) {
+                    partial = null; // do not keep a large buffer for an idle connection
+                }
+                listener.lineReceived(line);
+            }
+        }
+    }
+
+    private void append(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (partialLength + length > MAX_LINE_LENGTH) {
+            closeNow(); // no message of the protocol is this long
+            return;
+        }
+        if (partial == null) {
+            partial = new byte[Math.max(128, length)];
+        } else if (partial.length < partialLength + length) {
+            partial = Arrays.copyOf(partial, Math.max(partial.length * 2, partialLength + length));
+        }
+        for (int i = start; i < end; i++) {
+            partial[partialLength++] = buffer.get(i);
+        }
+    }
+
+    /**
+     * Write as much of the queue as the socket takes, on the thread of the loop
+     */
+    void flush() {
+        if (key == null || !key.isValid()) {
+            return; // not served yet, or closed
+        }
+        try {
+            Outbound head;
+            while ((head = outbound.peek()) != null) {
+                if (!head.writing) {
+                    if (!head.taken.compareAndSet(false, true)) {
+                        outbound.poll(); // replaced by a newer board
+                        continue;
+                    }
+                    head.writing = true;
+                }
+                channel.write(head.data);
+                if (head.data.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE); // continue when writable
+                    return;
+                }
+                outbound.poll();
+                queuedBoard.compareAndSet(head, null);
+                queuedBytes.addAndGet(-head.size);
+                metrics.written(head.size, System.nanoTime() - head.queuedNanos);
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            flushScheduled.set(false);
+            if (!outbound.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+                loop.execute(this::flush); // queued while the flag was still set
+            }
+        } catch (IOException e) {
+            closeNow();
+        }
+    }
+
+    /**
+     * Close the socket and tell the listener, on the thread of the loop
+     */
+    void closeNow() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // closed anyway
+        }
+        Outbound entry;
+        while ((entry = outbound.poll()) != null) {
+            if (entry.writing || entry.taken.compareAndSet(false, true)) {
+                metrics.discarded(entry.size);
+            }
+        }
+        listener.connectionClosed();
+    }
+
+} // end of class
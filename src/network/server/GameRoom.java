@@ -0,0 +1,546 @@
+package network.server;
+
+import exception.InvalidMoveException;
+import exception.InvalidWordException;
+import game.Game;
+import game.GameServices;
+import game.Placement;
+import game.Player;
+import game.bot.BotPlayer;
+import game.bot.MoveStrategy;
+import game.engine.ScoredMove;
+import game.tui.LocalTUI;
+import game.tui.TerminalColors;
+import network.protocol.ProtocolMessages;
+import network.protocol.ServerProtocol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * One game on the server with its own players and state, so rooms never wait for each other.
+ *
+ * A room is opened by the {@link Lobby}, waits until enough clients are ready, plays one game and then closes,
+ * sending its clients back to the lobby. Everything that happens in the room is an event on its own
+ * {@link SerialExecutor}: the commands of the clients, the answers of the dictionary and the moves of the computer
+ * players are handled one at a time and in order, so the state of the room needs no lock and no thread waits for
+ * a player. Nothing in an event blocks; checking the words and thinking about a move happen elsewhere and come back
+ * as events.
+ */
+public class GameRoom implements ServerProtocol {
+
+    // --- Variables -------------------------------
+
+    private static final int CLOSED = -1;
+
+    private final String name;
+    private final Lobby lobby;
+    private final ServerView view;
+    private final GameServices services;
+    private final List<String> botNames;
+    private final List<Function<SplittableRandom, MoveStrategy>> botStrategies;
+    private final int playersPerGame;
+    private final SerialExecutor events;
+
+    // the only state that other threads read: the seats taken, CLOSED once the game starts or the room closes
+    private final AtomicInteger seats = new AtomicInteger();
+    private volatile String description;
+
+    // the state below is only touched by the events of the room
+    private final List<ClientHandler> readyClients = new ArrayList<>();
+    private final LocalTUI tui = new LocalTUI();
+    private final Placement placement = new Placement();
+    private boolean started;
+    private boolean closed;
+    private boolean gameOver;
+
+    // Game objects
+    private Game newGame;
+    private Map<Player, ClientHandler> playerHandler;
+    private Player currentPlayer;
+    private ClientHandler currentHandler;
+    private List<ClientHandler> opponentHandlers = new ArrayList<>();
+    private int turn; // counts the turns, so an answer that arrives after its turn is over is ignored
+    private boolean checkingWords;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the GameRoom class
+     *
+     * @param name the name of the room, unique in the lobby
+     * @param lobby the lobby that opened the room
+     * @param view the log of the server
+     * @param services the dictionary and letters of the game, pinned when the room opens
+     * @param botNames the names of the computer players taking a seat
+     * @param botStrategies make the strategy of each computer player for the game, in the order of the names
+     * @param playersPerGame the number of players, bots included, the game starts with
+     * @param threads the threads the events of the room run on
+     * @requires botNames.size() == botStrategies.size() && playersPerGame > botNames.size()
+     */
+    public GameRoom(String name, Lobby lobby, ServerView view, GameServices services, List<String> botNames,
+                    List<Function<SplittableRandom, MoveStrategy>> botStrategies, int playersPerGame,
+                    Executor threads) {
+        this.name = name;
+        this.lobby = lobby;
+        this.view = view;
+        this.services = services;
+        this.botNames = new ArrayList<>(botNames);
+        this.botStrategies = new ArrayList<>(botStrategies);
+        this.playersPerGame = playersPerGame;
+        this.events = new SerialExecutor(threads);
+        updateDescription();
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the name of the room
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns if clients can still join the room
+     * @return true if the game has not started and there is a free seat
+     */
+    public boolean isOpen() {
+        int taken = seats.get();
+        return taken != CLOSED && taken + botNames.size() < playersPerGame;
+    }
+
+    /**
+     * Describe the room for the list of rooms in the lobby
+     * @return the name, the players and if the game is running
+     */
+    public String describe() {
+        return description;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Let a ready client take a seat. The seat is taken at once, the client sits down in an event of the room.
+     *
+     * @param client the client
+     * @return true if the client joined, false if the room is full or playing already
+     */
+    public boolean join(ClientHandler client) {
+        int taken;
+        do {
+            taken = seats.get();
+            if (taken == CLOSED || taken + botNames.size() >= playersPerGame) {
+                return false;
+            }
+        } while (!seats.compareAndSet(taken, taken + 1));
+        client.setRoom(this);
+        events.execute(() -> seat(client));
+        return true;
+    }
+
+    private void seat(ClientHandler client) {
+        readyClients.add(client);
+        updateDescription();
+        doServerReady(client);
+        doWelcome(client.getName(), "");
+        if (readyClients.size() + botNames.size() >= playersPerGame) {
+            events.execute(this::startGame);
+        }
+    }
+
+    /**
+     * Start the game once every seat is taken. A client may have left after the start was queued,
+     * then the room stays open and starts when the seat is taken again.
+     */
+    private void startGame() {
+        if (closed || started || readyClients.size() + botNames.size() < playersPerGame) {
+            return;
+        }
+        started = true;
+        seats.set(CLOSED);
+        updateDescription();
+        sendToAll(doStart());
+
+        // Initialize the game
+        setupGame();
+
+        // Broadcast the initial board
+        sendToAll(tui.printBoard(newGame.getBoard()), Connection.Kind.BOARD);
+        beginTurn();
+    }
+
+    /**
+     * Set up a new game with the clients in the room. The computer players get new strategies, each with a random
+     * source split from the seed of the room, which also gives the seed of the game.
+     */
+    private void setupGame() {
+        gameOver = false;
+        List<Player> players = new ArrayList<>();
+        playerHandler = new HashMap<>();
+        for (ClientHandler ch : readyClients) {
+            Player newPlayer = new Player(ch.getName());
+            players.add(newPlayer);
+            playerHandler.put(newPlayer, ch);
+        }
+        long seed = ThreadLocalRandom.current().nextLong();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < botNames.size(); i++) {
+            players.add(new BotPlayer(botNames.get(i), botStrategies.get(i).apply(random.split())));
+        }
+        newGame = new Game(players, services, random.nextLong());
+        view.showMessage("> [" + name + "] New game with seed " + newGame.getSeed() + " (room seed " + seed + ")");
+    }
+
+    /**
+     * Give the turn to the current player of the game, or end the game when it is over
+     */
+    private void beginTurn() {
+        if (gameOver) {
+            return;
+        }
+        if (newGame.gameOver()) {
+            endGame();
+            return;
+        }
+        turn++;
+
+        // Determine current player, a computer player has no handler
+        currentPlayer = newGame.getCurrentPlayer();
+        currentHandler = playerHandler.get(currentPlayer);
+
+        // Determine other players (opponents)
+        opponentHandlers = new ArrayList<>(readyClients);
+        opponentHandlers.remove(currentHandler);
+
+        sendToAll(doTurn());
+        if (currentHandler == null) {
+            playBotTurn((BotPlayer) currentPlayer);
+        } else if (readyClients.contains(currentHandler)) {
+            // The move of the player arrives as an event
+            currentHandler.setMyTurn(true);
+            currentHandler.sendMessage(tui.askCommand(currentPlayer));
+        } else {
+            endTurn();
+        }
+    }
+
+    /**
+     * End the turn of the current player and give the turn to the next player
+     */
+    private void endTurn() {
+        if (currentHandler != null) {
+            currentHandler.setMyTurn(false);
+        }
+        checkingWords = false;
+
+        // Next player's turn
+        newGame.nextPlayer();
+        sendToAll(tui.printBoard(newGame.getBoard()), Connection.Kind.BOARD);
+        beginTurn();
+    }
+
+    /**
+     * End the game, tell everyone the result and close the room
+     */
+    private void endGame() {
+        gameOver = true;
+        sendToAll(tui.gameOver(newGame));
+        // enough to replay the game with Game.replay
+        view.showMessage("> [" + name + "] Game with seed " + newGame.getSeed() + " ended after "
+                + newGame.getHistory());
+        close();
+    }
+
+    /**
+     * Send the clients back to the lobby and leave it
+     */
+    private void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        seats.set(CLOSED);
+        for (ClientHandler ch : readyClients) {
+            ch.setMyTurn(false);
+            ch.setRoom(null);
+            ch.sendMessage(tui.askReady());
+        }
+        readyClients.clear();
+        lobby.removeRoom(this);
+    }
+
+    private void updateDescription() {
+        List<String> names = new ArrayList<>();
+        for (ClientHandler ch : readyClients) {
+            names.add(ch.getName());
+        }
+        names.addAll(botNames);
+        description = name + " " + names + " " + (started ? "playing" : "waiting for "
+                + (playersPerGame - names.size()) + " more");
+    }
+
+    /**
+     * Sends a chat message to every client in the room, in order with the other events of the room.
+     * A client that reads too slowly may miss it.
+     * @param msg message that is sent
+     */
+    public void broadcast(String msg) {
+        events.execute(() -> sendToAll(msg, Connection.Kind.CHAT));
+    }
+
+    private void sendToAll(String msg) {
+        sendToAll(msg, Connection.Kind.MESSAGE);
+    }
+
+    private void sendToAll(String msg, Connection.Kind kind) {
+        for (ClientHandler ch : readyClients) {
+            ch.sendMessage(msg, kind);
+        }
+    }
+
+    // --- Handle Commands -------------------------
+
+    @Override
+    public String getHello(String name, String features) {
+        return "Welcome to room " + this.name + ", " + name + "!";
+    }
+
+    @Override
+    public void doWelcome(String name, String features) {
+        List<String> names = new ArrayList<>();
+        for (ClientHandler ch : readyClients) {
+            names.add(ch.getName());
+        }
+        sendToAll("Current players in room " + this.name + ": " + names);
+    }
+
+    @Override
+    public String doError(String errorCode) {
+        return TerminalColors.RED_BOLD + "ERROR: " + errorCode + TerminalColors.RESET;
+    }
+
+    @Override
+    public String doServerReady() {
+        return "The network.server is ready!";
+    }
+
+    @Override
+    public void doServerReady(ClientHandler clientHandler) {
+        StringBuffer result = new StringBuffer();
+        result.append("Players that are ready in room " + name + ":");
+        for (ClientHandler ch : readyClients) {
+            result.append(System.lineSeparator() + ch.getName());
+        }
+        sendToAll(result.toString());
+    }
+
+    @Override
+    public String doStart() {
+        StringBuffer result = new StringBuffer();
+        result.append("Starting the game in room " + name + "..." + System.lineSeparator());
+        result.append("Players:");
+        for (ClientHandler ch : readyClients) {
+            result.append(System.lineSeparator() + ch.getName());
+        }
+        for (String botName : botNames) {
+            result.append(System.lineSeparator() + botName);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public void doAbort(ClientHandler clientHandler) {
+        events.execute(() -> abort(clientHandler));
+    }
+
+    private void abort(ClientHandler clientHandler) {
+        if (!readyClients.remove(clientHandler)) {
+            return; // left already
+        }
+        clientHandler.setRoom(null);
+        sendToAll("Player " + clientHandler.getName() + " quits the game network.server.");
+        if (started) {
+            if (!gameOver) {
+                endGame();
+            }
+        } else if (seats.decrementAndGet() == 0 && seats.compareAndSet(0, CLOSED)) {
+            close(); // nobody is waiting, and nobody is about to sit down
+        } else {
+            updateDescription();
+        }
+    }
+
+    @Override
+    public String doTiles(Player player) {
+        return "Your current rack: " + player.getCurrentTiles();
+    }
+
+    @Override
+    public String doTurn() {
+        return "It is now " + newGame.getCurrentPlayer().getName() + "'s turn.";
+    }
+
+    @Override
+    public void doMove(ClientHandler clientHandler, String coordinates) {
+        events.execute(() -> move(clientHandler, coordinates));
+    }
+
+    private void move(ClientHandler clientHandler, String coordinates) {
+        // 1. check the placement
+        if (gameOver || clientHandler != currentHandler || checkingWords) {
+            return;
+        }
+        String[] inputMove = coordinates.split(ProtocolMessages.AS);
+        try {
+            currentPlayer.makeMove(inputMove);
+        } catch (InvalidMoveException e) {
+            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE)
+                    + TerminalColors.RED_BOLD + ": " + e.getMessage() + TerminalColors.RESET);
+            endTurn();
+            return;
+        } catch (NumberFormatException nfe) {
+            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE) + TerminalColors.RED_BOLD
+                    + ": " + "Please enter a valid number for the row!" + TerminalColors.RESET);
+            endTurn();
+            return;
+        }
+
+        // Check if the move is valid, all rules in one pass
+        newGame.validateMove(currentPlayer.getMove(), currentPlayer, placement);
+        if (!placement.isValid()) {
+            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE)
+                    + TerminalColors.RED_BOLD + ": " + placement.getErrorMessage() + TerminalColors.RESET);
+            endTurn();
+            return;
+        }
+
+        // 2. check the words, with the letters the blank tiles stand for; the answer comes back as an event
+        checkingWords = true;
+        int moveTurn = turn;
+        Player mover = currentPlayer;
+        newGame.checkWordsValidAsync(newGame.getAllWords(placement.toMove()))
+                .whenComplete((valid, error) -> events.execute(() ->
+                        wordsChecked(moveTurn, mover, error == null && valid)));
+    }
+
+    private void wordsChecked(int moveTurn, Player mover, boolean valid) {
+        // 3. do the move, unless the game went on meanwhile: the placement is only still current
+        // in the same turn of the same player, while the words are being checked
+        if (gameOver || moveTurn != turn || mover != currentPlayer || !checkingWords) {
+            return;
+        }
+        if (valid) {
+            // remove the tiles from the rack, add the points, place the tiles and draw new ones
+            int moveScore = newGame.playMove(placement, currentPlayer);
+            // print player's name, score, and current rack
+            StringBuffer sb = new StringBuffer();
+            sb.append(tui.updateAfterMove(newGame, moveScore) + System.lineSeparator());
+            for (ClientHandler opponent : opponentHandlers) {
+                opponent.sendMessage(sb.toString());
+            }
+            sb.append(doTiles(currentPlayer));
+            currentHandler.sendMessage(sb.toString());
+        } else {
+            // If the word is invalid
+            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE) + TerminalColors.RED_BOLD
+                    + ": " + new InvalidWordException().getMessage() + TerminalColors.RESET);
+        }
+        endTurn();
+    }
+
+    /**
+     * Let a computer player think about its move on another thread. Its move comes back as an event,
+     * so the clients can chat meanwhile.
+     *
+     * @param bot the computer player to move
+     */
+    private void playBotTurn(BotPlayer bot) {
+        int botTurn = turn;
+        CompletableFuture.supplyAsync(() -> bot.decide(newGame),
+                task -> lobby.getThreadMode().start(task, name + "-" + bot.getName()))
+                .whenComplete((move, error) -> events.execute(() -> botDecided(botTurn, bot, move, error)));
+    }
+
+    private void botDecided(int botTurn, BotPlayer bot, ScoredMove move, Throwable error) {
+        if (gameOver || botTurn != turn) {
+            return;
+        }
+        if (error != null) {
+            view.showMessage(TerminalColors.RED_BOLD + "> [" + name + "] " + bot.getName() + " could not decide: "
+                    + error.getMessage() + TerminalColors.RESET);
+            move = null;
+        }
+        if (move != null && newGame.validateMove(move.toMove(), bot, placement).isValid()) {
+            int moveScore = newGame.playMove(placement, bot);
+            sendToAll("Player " + bot.getName() + " plays " + move + System.lineSeparator()
+                    + tui.updateAfterMove(newGame, moveScore));
+        } else {
+            sendToAll("Player " + bot.getName() + " has passed his/her turn.");
+        }
+        view.showMessage("> [" + name + "] " + bot.getName() + " " + (move == null ? "pass" : move) + " ("
+                + bot.getStrategy().getStatistics() + ")");
+        endTurn();
+    }
+
+    @Override
+    public void doPass(ClientHandler clientHandler) {
+        events.execute(() -> {
+            if (gameOver || clientHandler != currentHandler || checkingWords) {
+                return;
+            }
+            sendToAll("Player " + clientHandler.getName() + " has passed his/her turn.");
+            endTurn();
+        });
+    }
+
+    @Override
+    public void doPass(ClientHandler clientHandler, String tiles) {
+        events.execute(() -> swap(clientHandler, tiles));
+    }
+
+    private void swap(ClientHandler clientHandler, String tiles) {
+        if (gameOver || clientHandler != currentHandler || checkingWords) {
+            return;
+        }
+        // Check if the move is valid
+        List<Character> tilesToSwap = new ArrayList<>();
+        String[] swapTile = tiles.split(" ");
+        for (String s : swapTile) {
+            tilesToSwap.add(s.toUpperCase().charAt(0));
+        }
+        try {
+            if (currentPlayer.checkSwapTilesInRack(tilesToSwap)) {
+                // If valid, then do the move
+                newGame.swapTiles(currentPlayer, tilesToSwap);
+                // send message
+                sendToAll("Player " + clientHandler.getName() + " has passed his/her turn and swap tiles.");
+                currentHandler.sendMessage(doTiles(currentPlayer));
+                endTurn();
+            }
+        } catch (InvalidMoveException e) {
+            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE)
+                    + TerminalColors.RED_BOLD + ": " + e.getMessage() + TerminalColors.RESET); // if swap is invalid
+            endTurn();
+        }
+    }
+
+    @Override
+    public void doGameOver() {
+        events.execute(() -> {
+            if (started && !gameOver) {
+                endGame();
+            }
+        });
+    }
+
+} // end of class
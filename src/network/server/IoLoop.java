@@ -0,0 +1,137 @@
+package network.server;
+
+import game.tui.TerminalColors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One I/O thread of the server: a {@link Selector} serving many {@link Connection}s without blocking on any.
+ *
+ * The loop reads every readable connection into one buffer it shares between them, so an idle connection costs
+ * no buffer at all, and writes what the connections have queued once their sockets can take it.
+ * Other threads never touch the selector; they hand their work to the loop with {@link #execute(Runnable)}.
+ */
+public class IoLoop implements Runnable {
+
+    // --- Variables -------------------------------
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private volatile boolean running = true;
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the IoLoop class
+     * @param name the name of the thread of the loop
+     * @throws IOException if no selector can be opened
+     */
+    public IoLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the number of connections served by this loop
+     * @return the number of connections
+     */
+    public int getConnectionCount() {
+        return selector.keys().size();
+    }
+
+    /**
+     * Returns if the current thread is the thread of this loop
+     * @return true if called from the loop
+     */
+    boolean inLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Start the thread of the loop
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stop the loop and close its connections
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Run a task on the thread of the loop, before it waits for the sockets again
+     * @param task the task, which must not block
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (!inLoop()) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Start serving a connection
+     * @param connection a connection on a channel in non-blocking mode
+     */
+    public void register(Connection connection) {
+        execute(() -> connection.register(selector));
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isValid() && key.isReadable()) {
+                        connection.read(readBuffer);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.flush();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println(TerminalColors.RED_BOLD + "> [" + thread.getName() + "] " + e.getMessage()
+                    + TerminalColors.RESET);
+        } finally {
+            for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                ((Connection) key.attachment()).closeNow();
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // nothing left to serve
+            }
+        }
+    }
+
+} // end of class
@@ -0,0 +1,228 @@
+package network.server;
+
+import game.GameServices;
+import game.bot.MoveStrategy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Where clients wait for a game: opens a {@link GameRoom} for every game and keeps track of the rooms.
+ *
+ * A client either names the room to join, opening it if there is none, or is matched into the room that is
+ * filling up, so the server hosts as many games at once as there are pairs of clients.
+ * The lobby only holds its own lock while it picks a room; every room has its own.
+ * The events of the rooms run on the command threads of the server, their computer players think on threads
+ * of the {@link ThreadMode} of the server.
+ */
+public class Lobby {
+
+    // --- Variables -------------------------------
+
+    private final Supplier<GameServices> services;
+    private final ServerView view;
+    private final ThreadMode threadMode;
+    private final Executor threads;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, GameRoom> rooms = new LinkedHashMap<>();
+    private final List<String> botNames = new ArrayList<>();
+    private final List<Function<SplittableRandom, MoveStrategy>> botStrategies = new ArrayList<>();
+    private int playersPerGame = 2;
+    private int nextRoomNumber = 1;
+    private GameRoom matching; // the room that clients without a room name are matched into
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the Lobby class
+     *
+     * @param services gives the services of a new game, with the dictionary that is current at that moment
+     * @param view the log of the server
+     * @param threadMode the threads the computer players think on
+     * @param threads the threads the events of the rooms run on
+     */
+    public Lobby(Supplier<GameServices> services, ServerView view, ThreadMode threadMode, Executor threads) {
+        this.services = services;
+        this.view = view;
+        this.threadMode = threadMode;
+        this.threads = threads;
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the threads the computer players think on
+     * @return the thread mode of the server
+     */
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    /**
+     * Get the number of rooms that are waiting or playing
+     * @return the number of rooms
+     */
+    public int getRoomCount() {
+        lock.lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get a room by name
+     * @param name the name of the room
+     * @return the room, null if there is none with this name
+     */
+    public GameRoom getRoom(String name) {
+        lock.lock();
+        try {
+            return rooms.get(name);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Describe the rooms, one line per room, for clients choosing a room
+     * @return the list of rooms
+     */
+    public String describeRooms() {
+        return describeRooms(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Describe the first rooms, one line per room, so a busy server does not send every room to every client
+     * @param limit the number of rooms to describe
+     * @return the list of rooms, with the number of rooms that are left out
+     */
+    public String describeRooms(int limit) {
+        List<GameRoom> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(rooms.values());
+        } finally {
+            lock.unlock();
+        }
+        if (snapshot.isEmpty()) {
+            return "There are no rooms yet, type ready to open one.";
+        }
+        StringBuilder sb = new StringBuilder("Rooms:");
+        for (GameRoom room : snapshot.subList(0, Math.min(limit, snapshot.size()))) {
+            sb.append(System.lineSeparator()).append(room.describe());
+        }
+        if (snapshot.size() > limit) {
+            sb.append(System.lineSeparator()).append("... and ").append(snapshot.size() - limit)
+                    .append(" more, type rooms to see them all.");
+        }
+        return sb.toString();
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Let a client join a room
+     *
+     * @param client the client, not in a room yet
+     * @param roomName the room to join, or null to be matched into a room
+     * @return the room the client joined, null if the named room is full or playing already
+     */
+    public GameRoom join(ClientHandler client, String roomName) {
+        lock.lock();
+        try {
+            if (roomName == null || roomName.isEmpty()) {
+                if (matching == null || !matching.join(client)) {
+                    matching = openRoom("ROOM" + nextRoomNumber++);
+                    matching.join(client);
+                }
+                return matching;
+            }
+            GameRoom room = rooms.get(roomName);
+            if (room == null) {
+                room = openRoom(roomName);
+            }
+            return room.join(client) ? room : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private GameRoom openRoom(String name) {
+        while (rooms.containsKey(name)) {
+            name = "ROOM" + nextRoomNumber++;
+        }
+        GameRoom room = new GameRoom(name, this, view, services.get(), botNames, botStrategies,
+                Math.max(playersPerGame, botNames.size() + 1), threads);
+        rooms.put(name, room);
+        return room;
+    }
+
+    /**
+     * Forget a room whose game is over or which everyone left
+     * @param room the room
+     */
+    public void removeRoom(GameRoom room) {
+        lock.lock();
+        try {
+            rooms.remove(room.getName(), room);
+            if (matching == room) {
+                matching = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Set how many players, computer players included, every new game starts with
+     * @param players the number of players, at least one more than the computer players
+     */
+    public void setPlayersPerGame(int players) {
+        lock.lock();
+        try {
+            this.playersPerGame = players;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Let a computer player take a seat in every new room. Every game gets its own strategy,
+     * so games do not share the state of a strategy or its random source.
+     *
+     * @param name the name of the computer player
+     * @param strategy makes the strategy for a game from a random source split from the seed of the game
+     */
+    public void addBot(String name, Function<SplittableRandom, MoveStrategy> strategy) {
+        lock.lock();
+        try {
+            botNames.add(name);
+            botStrategies.add(strategy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all computer players from new rooms
+     */
+    public void clearBots() {
+        lock.lock();
+        try {
+            botNames.clear();
+            botStrategies.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+} // end of class
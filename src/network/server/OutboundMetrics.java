@@ -0,0 +1,146 @@
+package network.server;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what the connections of the server write: how deep their queues get, how long a message waits until it
+ * is written, and what the {@link OutboundPolicy} dropped. Updated by all connections at once without a lock.
+ */
+public class OutboundMetrics {
+
+    // --- Variables -------------------------------
+
+    private final LongAdder messagesWritten = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder queuedBytes = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder writeLatencyNanos = new LongAdder();
+    private final LongAccumulator maxWriteLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder chatDropped = new LongAdder();
+    private final LongAdder boardsCoalesced = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the number of messages written to the clients
+     * @return the number of messages
+     */
+    public long getMessagesWritten() {
+        return messagesWritten.sum();
+    }
+
+    /**
+     * Get the number of bytes queued for all clients together
+     * @return the number of bytes not written yet
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.sum();
+    }
+
+    /**
+     * Get the deepest queue of a single client so far
+     * @return the number of bytes
+     */
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Get the average time from queueing a message until it is written
+     * @return the time in nanoseconds
+     */
+    public long getAverageWriteLatencyNanos() {
+        long messages = messagesWritten.sum();
+        return messages == 0 ? 0 : writeLatencyNanos.sum() / messages;
+    }
+
+    /**
+     * Get the longest time from queueing a message until it is written
+     * @return the time in nanoseconds
+     */
+    public long getMaxWriteLatencyNanos() {
+        return maxWriteLatencyNanos.get();
+    }
+
+    /**
+     * Get the number of chat messages dropped for slow clients
+     * @return the number of messages
+     */
+    public long getChatDropped() {
+        return chatDropped.sum();
+    }
+
+    /**
+     * Get the number of boards replaced by a newer board before they were written
+     * @return the number of boards
+     */
+    public long getBoardsCoalesced() {
+        return boardsCoalesced.sum();
+    }
+
+    /**
+     * Get the number of clients disconnected because their queue was full
+     * @return the number of clients
+     */
+    public long getSlowDisconnects() {
+        return slowDisconnects.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d messages (%d KB) written, write latency %.2f ms avg %.2f ms max, "
+                        + "queue depth %d KB max %d KB now, %d chat messages dropped, %d boards coalesced, "
+                        + "%d slow clients disconnected",
+                getMessagesWritten(), bytesWritten.sum() / 1024, getAverageWriteLatencyNanos() / 1e6,
+                getMaxWriteLatencyNanos() / 1e6, getMaxQueueDepth() / 1024, getQueuedBytes() / 1024,
+                getChatDropped(), getBoardsCoalesced(), getSlowDisconnects());
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * A message is queued
+     * @param bytes the size of the message
+     * @param depth the bytes queued for the client, this message included
+     */
+    void queued(int bytes, long depth) {
+        queuedBytes.add(bytes);
+        maxQueueDepth.accumulate(depth);
+    }
+
+    /**
+     * A queued message is written
+     * @param bytes the size of the message
+     * @param latencyNanos the time since it was queued
+     */
+    void written(int bytes, long latencyNanos) {
+        queuedBytes.add(-bytes);
+        messagesWritten.increment();
+        bytesWritten.add(bytes);
+        writeLatencyNanos.add(latencyNanos);
+        maxWriteLatencyNanos.accumulate(latencyNanos);
+    }
+
+    /**
+     * A queued message will not be written, because it was replaced or the connection closed
+     * @param bytes the size of the message
+     */
+    void discarded(int bytes) {
+        queuedBytes.add(-bytes);
+    }
+
+    void chatDropped() {
+        chatDropped.increment();
+    }
+
+    void boardCoalesced() {
+        boardsCoalesced.increment();
+    }
+
+    void slowDisconnect() {
+        slowDisconnects.increment();
+    }
+
+} // end of class
@@ -0,0 +1,98 @@
+package network.server;
+
+/**
+ * What the server does when a client reads slower than the server writes to it.
+ *
+ * Every {@link Connection} queues what it cannot write yet. Once the queue holds more than the chat limit, new chat
+ * messages for that client are dropped; a board that is still queued is replaced by the next board, as only the
+ * latest one matters; and once the queue holds more than the maximum, the client is disconnected, so a stalled
+ * client never holds on to more than that.
+ *
+ * The limits can be set with -Dscrabble.outbound.max, -Dscrabble.outbound.chat (bytes)
+ * and -Dscrabble.outbound.coalesce (true or false).
+ */
+public class OutboundPolicy {
+
+    // --- Variables -------------------------------
+
+    private long maxQueuedBytes = 1024 * 1024;
+    private long chatQueuedBytes = 64 * 1024;
+    private boolean coalesceBoards = true;
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the policy set with the system properties, with the defaults for what is not set
+     * @return the policy
+     */
+    public static OutboundPolicy fromSystemProperties() {
+        OutboundPolicy policy = new OutboundPolicy();
+        return policy.maxQueuedBytes(Long.getLong("scrabble.outbound.max", policy.maxQueuedBytes))
+                .chatQueuedBytes(Long.getLong("scrabble.outbound.chat", policy.chatQueuedBytes))
+                .coalesceBoards(Boolean.parseBoolean(System.getProperty("scrabble.outbound.coalesce",
+                        String.valueOf(policy.coalesceBoards))));
+    }
+
+    /**
+     * Get the number of queued bytes above which a client is disconnected
+     * @return the maximum number of queued bytes
+     */
+    public long getMaxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    /**
+     * Get the number of queued bytes above which chat messages are dropped
+     * @return the number of bytes
+     */
+    public long getChatQueuedBytes() {
+        return chatQueuedBytes;
+    }
+
+    /**
+     * Returns if a board that is still queued is replaced by a newer board
+     * @return true if boards are coalesced
+     */
+    public boolean isCoalesceBoards() {
+        return coalesceBoards;
+    }
+
+    @Override
+    public String toString() {
+        return "disconnect above " + maxQueuedBytes / 1024 + " KB, drop chat above " + chatQueuedBytes / 1024
+                + " KB" + (coalesceBoards ? ", coalesce boards" : "");
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Set the number of queued bytes above which a client is disconnected
+     * @param bytes the maximum number of queued bytes
+     * @return this policy
+     */
+    public OutboundPolicy maxQueuedBytes(long bytes) {
+        this.maxQueuedBytes = bytes;
+        return this;
+    }
+
+    /**
+     * Set the number of queued bytes above which chat messages are dropped
+     * @param bytes the number of bytes
+     * @return this policy
+     */
+    public OutboundPolicy chatQueuedBytes(long bytes) {
+        this.chatQueuedBytes = bytes;
+        return this;
+    }
+
+    /**
+     * Set if a board that is still queued is replaced by a newer board
+     * @param coalesce true to coalesce boards
+     * @return this policy
+     */
+    public OutboundPolicy coalesceBoards(boolean coalesce) {
+        this.coalesceBoards = coalesce;
+        return this;
+    }
+
+} // end of class
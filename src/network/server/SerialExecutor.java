@@ -0,0 +1,66 @@
+package network.server;
+
+import game.tui.TerminalColors;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks one after the other, in the order they were submitted, on the threads of another executor.
+ *
+ * At most one thread runs the tasks of a serial executor at a time, so what only its tasks touch needs no lock,
+ * while many serial executors, one per client or room, share a few threads.
+ * A task must not block, or the other tasks of the same executor wait for it.
+ */
+public class SerialExecutor implements Executor {
+
+    // --- Variables -------------------------------
+
+    private final Executor threads;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    // --- Constructor -----------------------------
+
+    /**
+     * Constructor of the SerialExecutor class
+     * @param threads the executor whose threads run the tasks
+     */
+    public SerialExecutor(Executor threads) {
+        this.threads = threads;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Queue a task and make sure a thread runs it after the tasks queued before
+     * @param task the task
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (draining.compareAndSet(false, true)) {
+            threads.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // one failing task does not stop the tasks after it
+                    System.out.println(TerminalColors.RED_BOLD + "> [" + Thread.currentThread().getName() + "] " + e
+                            + TerminalColors.RESET);
+                }
+            }
+            draining.set(false);
+            // tasks that arrived after the last poll but before the flag was cleared
+        } while (!tasks.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+} // end of class
@@ -1,56 +1,134 @@
 package network.server;
 
 import exception.ExitProgram;
-import exception.InvalidMoveException;
-import exception.InvalidWordException;
-import game.Game;
-import game.Player;
+import game.GameServices;
+import game.LetterDistribution;
+import game.bot.MonteCarloStrategy;
+import game.bot.MoveStrategy;
+import game.bot.StaticEvaluationStrategy;
 import network.protocol.ProtocolMessages;
-import network.protocol.ServerProtocol;
 import game.tui.LocalTUI;
 import game.tui.TerminalColors;
+import game.wordchecker.DictionaryRegistry;
+import game.wordchecker.LexiconVersion;
+import game.wordchecker.MappedScrabbleWordChecker;
 
 import java.io.IOException;
 import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-public class Server implements Runnable, ServerProtocol {
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Accepts the clients and sends them to the {@link Lobby}.
+ *
+ * The connections are served by a few {@link IoLoop}s, so an idle client costs no thread,
+ * and their commands are handled on a small pool of command threads, or on virtual threads
+ * when the server runs in the virtual {@link ThreadMode}.
+ * What a client reads too slowly is handled by the {@link OutboundPolicy}, and the writes are counted in the
+ * {@link OutboundMetrics} that are logged every minute.
+ * Once it runs, the server reads commands from the console: "reload" loads another dictionary for new games,
+ * "dictionary" shows the dictionaries in use.
+ */
+public class Server implements Runnable {
 
     // --- Variables -------------------------------
 
-    private ServerSocket ssock;
-    private List<ClientHandler> clients;
+    private static final int IO_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int COMMAND_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static final int ACCEPT_BACKLOG = 1024; // connections the system queues while the server accepts others
+    private static final int WELCOME_ROOMS = 10; // rooms listed to a new client
+    private static final int METRICS_INTERVAL_SECONDS = 60;
+    private static final int MIN_PLAYERS = 2;
+    private static final int MAX_PLAYERS = 4;
+
+    private ServerSocketChannel ssock;
+    private IoLoop[] loops;
+    private int nextLoop;
+    private final ThreadMode threadMode;
+    private final ExecutorService commands;
+    private final OutboundPolicy outboundPolicy = OutboundPolicy.fromSystemProperties();
+    private final OutboundMetrics outboundMetrics = new OutboundMetrics();
+    private ScheduledExecutorService metricsLog;
+    private Set<ClientHandler> clients;
     private static ServerTUI view;
-    private List<ClientHandler> readyClients;
 
     private final String FEATURES = ProtocolMessages.PASS_TURN_FLAG + ProtocolMessages.CHAT_FLAG;
 
     // Game objects
-    private Game newGame;
-    private List<Player> players;
+    private final LetterDistribution letters = LetterDistribution.getDefault();
+    private final AtomicReference<GameServices> services = new AtomicReference<>(); // of the current lexicon version
+    private DictionaryRegistry dictionaries;
     private LocalTUI tui;
-    private boolean gameOver;
-
-    private Map<Player, ClientHandler> playerHandler;
-    private Player currentPlayer;
-    private ClientHandler currentHandler;
-    private ClientHandler opponentHandler;
+    private Lobby lobby;
 
     // --- Constructor -----------------------------
 
     /**
-     * Constructor for the Server class
+     * Constructor for the Server class, in the thread mode chosen with -Dscrabble.threads
      */
     public Server() {
-        clients = new ArrayList<>();
+        this(ThreadMode.fromSystemProperty());
+    }
+
+    /**
+     * Constructor for the Server class
+     * @param threadMode the threads the commands, rooms and computer players run on
+     */
+    public Server(ThreadMode threadMode) {
+        this.threadMode = threadMode;
+        clients = ConcurrentHashMap.newKeySet();
         view = new ServerTUI();
-        readyClients = new ArrayList<>();
         tui = new LocalTUI();
+        // only the registry holds on to the current lexicon version, so a retired version can be released
+        dictionaries = new DictionaryRegistry("Collins 2019", GameServices.defaultDictionary());
+        // every room keeps the lexicon version that is current when it opens, even if another one is loaded
+        commands = threadMode.newCommandExecutor(COMMAND_THREADS);
+        lobby = new Lobby(this::currentServices, view, threadMode, commands);
+    }
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the lobby in which the clients find their games
+     * @return the lobby
+     */
+    public Lobby getLobby() {
+        return lobby;
+    }
+
+    /**
+     * Get the services of the current lexicon version. They are built once per version
+     * and shared by all rooms opened while it is current.
+     *
+     * @return the services of the current version
+     */
+    public GameServices currentServices() {
+        return services.updateAndGet(current -> {
+            LexiconVersion version = dictionaries.current();
+            return current != null && current.getDictionary() == version ? current
+                    : new GameServices(version, letters);
+        });
+    }
+
+    /**
+     * Get what the connections of the server wrote so far
+     * @return the metrics of the outgoing messages
+     */
+    public OutboundMetrics getOutboundMetrics() {
+        return outboundMetrics;
     }
 
     // --- Commands --------------------------------
@@ -61,75 +139,21 @@ public class Server implements Runnable, ServerProtocol {
         while (openNewSocket) {
             try {
                 setup();
+                startLoops();
 
+                // Every client gets its own handler, the lobby puts it into a room once it is ready
                 while (true) {
-                    Socket sock = ssock.accept();
-                    ClientHandler handler = new ClientHandler(sock, this);
+                    SocketChannel channel = ssock.accept();
+                    channel.configureBlocking(false);
+                    channel.socket().setTcpNoDelay(true);
+                    IoLoop loop = loops[nextLoop++ % loops.length];
+                    Connection connection = new Connection(channel, loop, outboundPolicy, outboundMetrics);
+                    ClientHandler handler = new ClientHandler(connection, this, commands);
                     addClient(handler);
-                    new Thread(handler).start();
+                    loop.register(connection);
                     view.showMessage("> [" + handler.getName() + "] connected!");
-
-                    // After making network.client handler, if 2 players or more connected, send network.server ready, then break
-                    synchronized (this) {
-                        if (clients.size() > 1) {
-                            broadcast(doServerReady()); // network.server ready confirmation
-                            broadcast(tui.askReady()); // player ready confirmation
-                            break;
-                        }
-                    }
                 }
 
-                // Wait until there are 2 clients that are ready
-                synchronized (this) {
-                    while (true) {
-                        wait();
-                        if (readyClients.size() > 1) {
-                            break;
-                        }
-                        broadcast("Waiting for 1 more player to join...");
-                    }
-                    broadcast(doStart());
-                }
-
-                // Initialize the game
-                setupGame();
-
-                synchronized (this) {
-
-                    // Broadcast the initial board
-                    broadcast(tui.printBoard(newGame.getBoard()));
-
-                    while (!gameOver || !newGame.gameOver()) {
-
-                        // Determine current player
-                        currentPlayer = newGame.getCurrentPlayer();
-                        currentHandler = playerHandler.get(currentPlayer);
-                        currentHandler.setMyTurn(true);
-
-                        // Determine other player (opponent)
-                        List<ClientHandler> opponentList = new ArrayList<>();
-                        for (ClientHandler ch : readyClients) {
-                            opponentList.add(ch);
-                        }
-                        opponentList.remove(currentHandler);
-                        opponentHandler = opponentList.get(0);
-
-                        // Wait for the player to make a move
-                        broadcast(doTurn());
-                        currentHandler.sendMessage(tui.askCommand(currentPlayer));
-                        wait();
-
-                        // Next player's turn
-                        currentHandler.setMyTurn(false);
-                        newGame.nextPlayer();
-                        broadcast(tui.printBoard(newGame.getBoard()));
-
-                    } // end while not game over
-
-                    doGameOver();
-
-                } // end synchronized
-
             } catch (ExitProgram e) {
                 openNewSocket = false;
                 view.showMessage("Closing the network.server...");
@@ -141,16 +165,13 @@ public class Server implements Runnable, ServerProtocol {
                     openNewSocket = false;
                     view.showMessage("Closing the network.server...");
                 }
-
-            } catch (InterruptedException e) {
-                view.showMessage(TerminalColors.RED_BOLD + e.getMessage() + TerminalColors.RESET);
             }
         }
     }
 
     /**
-     * Sets up a new Hotel using {@link #setupGame()} and opens a new
-     * ServerSocket at localhost on a user-defined port.
+     * Opens a new ServerSocket at localhost on a user-defined port,
+     * and asks how the games in the rooms are played.
      *
      * The user is asked to input a port, after which a socket is attempted to be opened.
      * If the attempt succeeds, the method ends.
@@ -171,8 +192,10 @@ public class Server implements Runnable, ServerProtocol {
             // Try to open a new ServerSocket
             try {
                 view.showMessage("Attempting to open a socket at " + host + " on port " + port + "...");
-                ssock = new ServerSocket(port, 0, InetAddress.getByName(host));
-                view.showMessage("Server started at " + host + " port " + port);
+                ssock = ServerSocketChannel.open();
+                ssock.bind(new InetSocketAddress(InetAddress.getByName(host), port), ACCEPT_BACKLOG);
+                view.showMessage("Server started at " + host + " port " + port + " on "
+                        + threadMode.name().toLowerCase() + " threads");
             } catch (IOException | IllegalArgumentException e) {
                 view.showMessage(TerminalColors.RED_BOLD + "ERROR: could not create a socket on " + host
                         + " and port " + port + TerminalColors.RESET);
@@ -181,21 +204,119 @@ public class Server implements Runnable, ServerProtocol {
                 }
             }
         }
+
+        String playersQuestion = "How many players should every game have (" + MIN_PLAYERS + " to " + MAX_PLAYERS
+                + ")? ";
+        int players = view.getInt(playersQuestion);
+        while (players < MIN_PLAYERS || players > MAX_PLAYERS) {
+            view.showMessage(TerminalColors.RED_BOLD + "A game has " + MIN_PLAYERS + " to " + MAX_PLAYERS
+                    + " players!" + TerminalColors.RESET);
+            players = view.getInt(playersQuestion);
+        }
+        lobby.setPlayersPerGame(players);
+        lobby.clearBots();
+        // at least one seat is left for a client
+        String botsQuestion = "How many computer players should join every game (0 to " + (players - 1) + ")? ";
+        int botCount = view.getInt(botsQuestion);
+        while (botCount < 0 || botCount >= players) {
+            view.showMessage(TerminalColors.RED_BOLD + "Leave at least one of the " + players
+                    + " seats for a client!" + TerminalColors.RESET);
+            botCount = view.getInt(botsQuestion);
+        }
+        if (botCount > 0) {
+            int thinkingTime = view.getInt("How many milliseconds may a computer player think about a move "
+                    + "(0 for the fast bot that plays the best static move)? ");
+            for (int i = 1; i <= botCount; i++) {
+                if (thinkingTime <= 0) {
+                    addBot("Computer" + i, random -> new StaticEvaluationStrategy());
+                } else {
+                    addBot("Computer" + i, random -> new MonteCarloStrategy(thinkingTime, random));
+                }
+            }
+        }
     }
 
     /**
-     * Set up a new game with connected clients
+     * Start the I/O threads, the log of the metrics and the console, once
+     * @throws IOException if no selector can be opened
      */
-    public void setupGame() {
-        gameOver = false;
-        players = new ArrayList<>();
-        playerHandler = new HashMap<>();
-        for (ClientHandler ch : readyClients) {
-            Player newPlayer = new Player(ch.getName());
-            players.add(newPlayer);
-            playerHandler.put(newPlayer, ch);
+    private void startLoops() throws IOException {
+        if (loops == null) {
+            loops = new IoLoop[IO_THREADS];
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new IoLoop("io-" + (i + 1));
+                loops[i].start();
+            }
+            view.showMessage("Slow clients: " + outboundPolicy);
+            metricsLog = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long[] lastWritten = new long[1];
+            metricsLog.scheduleAtFixedRate(() -> {
+                if (outboundMetrics.getMessagesWritten() != lastWritten[0]) {
+                    lastWritten[0] = outboundMetrics.getMessagesWritten();
+                    view.showMessage("> " + clients.size() + " clients, " + outboundMetrics);
+                }
+            }, METRICS_INTERVAL_SECONDS, METRICS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            Thread console = new Thread(this::readCommands, "console");
+            console.setDaemon(true);
+            console.start();
         }
-        newGame = new Game(players);
+    }
+
+    /**
+     * Handle the commands typed on the console of the server, until its input ends
+     */
+    private void readCommands() {
+        view.showMessage("Type reload <dictionary image> [lexicon name] to use another dictionary for new games, "
+                + "or dictionary to see the dictionaries in use.");
+        String command;
+        while ((command = view.readCommand()) != null) {
+            String[] words = command.trim().split("\\s+", 3);
+            if (words[0].equalsIgnoreCase("reload") && words.length > 1) {
+                Path image = Paths.get(words[1]);
+                reloadDictionary(words.length > 2 ? words[2] : image.getFileName().toString(), image);
+            } else if (words[0].equalsIgnoreCase("dictionary")) {
+                view.showMessage("New games use " + dictionaries.current() + ", running games still use "
+                        + dictionaries.liveRetiredVersions());
+            } else if (!words[0].isEmpty()) {
+                view.showMessage("Unknown command " + words[0] + ", type reload <dictionary image> [lexicon name] "
+                        + "or dictionary.");
+            }
+        }
+    }
+
+    /**
+     * Let a computer player take a seat in every game from now on
+     *
+     * @param name the name of the computer player
+     * @param strategy makes the strategy for each game from a random source split from the seed of the game
+     */
+    public void addBot(String name, Function<SplittableRandom, MoveStrategy> strategy) {
+        lobby.addBot(name, strategy);
+    }
+
+    /**
+     * Load a compiled dictionary image in the background and use it for every game started afterwards.
+     * Games that are already running keep their current dictionary.
+     *
+     * @param name name of the lexicon, for example "Collins 2021"
+     * @param image the compiled dictionary image
+     * @return a future completing with the new version once it is in use
+     */
+    public CompletableFuture<LexiconVersion> reloadDictionary(String name, Path image) {
+        return dictionaries.reload(name, () -> new MappedScrabbleWordChecker(image))
+                .whenComplete((version, error) -> {
+                    if (error == null) {
+                        currentServices(); // let go of the services of the old version right away
+                        view.showMessage("Dictionary " + version + " loaded, new games will use it.");
+                    } else {
+                        view.showMessage(TerminalColors.RED_BOLD + "Could not load dictionary " + name + ": "
+                                + error.getMessage() + TerminalColors.RESET);
+                    }
+                });
     }
 
     /**
@@ -214,234 +335,37 @@ public class Server implements Runnable, ServerProtocol {
         this.clients.remove(client);
     }
 
+    // --- Handle Commands -------------------------
+
     /**
-     * Sends a message using the collection of connected ClientHandlers
-     * to all connected Clients.
-     * @param msg message that is sent
+     * Returns the answer to the HELLO of a client
+     *
+     * @param name the name of the client
+     * @param features the extra optional features supported by the client
+     * @return textual result, to be shown to the user
      */
-    public synchronized void broadcast(String msg) {
-        for (ClientHandler ch : clients) {
-            ch.sendMessage(msg);
-        }
+    public String getHello(String name, String features) {
+        return "Welcome to Scrabble, " + name + "!" + " (features: " + FEATURES + ")";
     }
 
     /**
-     * Gets a list of names from the connected network.client
-     * @return a list of names from the connected network.client
+     * Tell a new client who is online and how to find a game
+     * @param clientHandler the client that said HELLO
      */
-    public List<String> clientNames() {
-        List<String> names = new ArrayList<>();
-        for (ClientHandler ch : clients) {
-            names.add(ch.getName());
-        }
-        return names;
-    }
-
-    // --- Handle Commands -------------------------
-
-    @Override
-    public synchronized String getHello(String name, String features) {
-        String str = "Welcome to Scrabble, " + name + "!" + " (features: " + FEATURES + ")";
-        return str;
-    }
-
-    @Override
-    public synchronized void doWelcome(String name, String features) {
-        String str = "Current online players in the game: " + clientNames() + " (features: " + FEATURES + ")";
-        broadcast(str);
-    }
-
-    @Override
-    public synchronized String doError(String errorCode) {
-        String str = TerminalColors.RED_BOLD + "ERROR: " + errorCode + TerminalColors.RESET;
-        return str;
-    }
-
-    @Override
-    public synchronized String doServerReady() {
-        return "The network.server is ready!";
-    }
-
-    @Override
-    public synchronized void doServerReady(ClientHandler clientHandler) {
-        readyClients.add(clientHandler);
-        StringBuffer result = new StringBuffer();
-        result.append("Players that are ready:");
-        for (ClientHandler ch : readyClients) {
-            result.append(System.lineSeparator() + ch.getName());
-        }
-        broadcast(result.toString());
-        notifyAll();
+    public void doWelcome(ClientHandler clientHandler) {
+        clientHandler.sendMessage("There are " + clients.size() + " players online in " + lobby.getRoomCount()
+                + " rooms (features: " + FEATURES + ")" + System.lineSeparator()
+                + lobby.describeRooms(WELCOME_ROOMS)
+                + System.lineSeparator() + tui.askReady());
     }
 
-    @Override
-    public synchronized String doStart() {
-        StringBuffer result = new StringBuffer();
-        result.append("Starting the game..." + System.lineSeparator());
-        result.append("Players:");
-        for (ClientHandler ch : readyClients) {
-            result.append(System.lineSeparator() + ch.getName());
-        }
-        return result.toString();
-    }
-
-    @Override
-    public synchronized void doAbort(ClientHandler clientHandler) {
-        broadcast("Player " + clientHandler.getName() + " quits the game network.server.");
-        doGameOver();
-        notifyAll();
-    }
-
-    @Override
-    public synchronized String doTiles(Player player) {
-        String str = "Your current rack: " + player.getCurrentTiles();
-        return str;
-    }
-
-    @Override
-    public synchronized String doTurn() {
-        String str = "It is now " + newGame.getCurrentPlayer().getName() + "'s turn.";
-        return str;
-    }
-
-    @Override
-    public synchronized void doMove(ClientHandler clientHandler, String coordinates) {
-        String[] inputMove = coordinates.split(ProtocolMessages.AS);
-
-        try {
-            currentPlayer.makeMove(inputMove);
-        } catch (InvalidMoveException e) {
-            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE)
-                    + TerminalColors.RED_BOLD + ": " + e.getMessage() + TerminalColors.RESET);
-            notifyAll();
-        } catch (NumberFormatException nfe) {
-            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE) + TerminalColors.RED_BOLD
-                    + ": " + "Please enter a valid number for the row!" + TerminalColors.RESET);
-            notifyAll();
-        }
-
-        try {
-            // If blank tile(s) is played
-            if (currentPlayer.getMove().getWord().contains("-")) {
-                String wordWithoutBlanks = newGame.removeMinus(currentPlayer.getMove());
-                String wordWithoutReplacement = newGame.removeCharAfterMinus(currentPlayer.getMove());
-
-                // Check if the move is valid
-                currentPlayer.getMove().setWord(wordWithoutReplacement);
-                if (newGame.checkMoveInsideBoard(currentPlayer.getMove())
-                        && newGame.checkUsingAvailableTiles(currentPlayer.getMove())
-                        && newGame.checkMoveOverwrite(currentPlayer.getMove())
-                        && newGame.checkFirstMoveCenter(currentPlayer.getMove())
-                        && newGame.checkMoveTouchTile(currentPlayer.getMove())) {
-
-                    // Check if the word is valid
-                    currentPlayer.getMove().setWord(wordWithoutBlanks);
-                    if (newGame.checkWordsValid(newGame.getAllWords(currentPlayer.getMove()))) {
-                        // If valid, then do the move :
-                        // 1. remove tiles from player's rack
-                        currentPlayer.getMove().setWord(wordWithoutReplacement);
-                        currentPlayer.removeTilesFromRack(newGame.tilesToRemove(currentPlayer.getMove()));
-                        // 2. calculate points and update the player's points
-                        currentPlayer.getMove().setWord(wordWithoutBlanks);
-                        int moveScore = newGame.calculateScore(currentPlayer.getMove());
-                        currentPlayer.addScore(moveScore);
-                        // 3. players draw new tiles
-                        int tileUsed = newGame.tilesToRemove(currentPlayer.getMove()).size();
-                        currentPlayer.addTilesToRack(newGame.getTileBag().drawTiles(tileUsed));
-                        // 4. place tiles on board
-                        newGame.placeTileOnBoard(currentPlayer.getMove());
-                        // 5.print player's name, score, and current rack
-                        StringBuffer sb = new StringBuffer();
-                        sb.append(tui.updateAfterMove(newGame, moveScore) + System.lineSeparator());
-                        opponentHandler.sendMessage(sb.toString());
-                        sb.append(doTiles(currentPlayer));
-                        currentHandler.sendMessage(sb.toString());
-                        // Don't forget to notify the waiting thread
-                        notifyAll();
-                    }
-                }
-            }
-
-            // If no blank tiles are played
-            else {
-                // Check if the move is valid
-                if (newGame.checkMoveInsideBoard(currentPlayer.getMove())
-                        && newGame.checkUsingAvailableTiles(currentPlayer.getMove())
-                        && newGame.checkMoveOverwrite(currentPlayer.getMove())
-                        && newGame.checkFirstMoveCenter(currentPlayer.getMove())
-                        && newGame.checkMoveTouchTile(currentPlayer.getMove())) {
-
-                    // Check if the word is valid
-                    if (newGame.checkWordsValid(newGame.getAllWords(currentPlayer.getMove()))) {
-
-                        // If move and word are valid, then do the move :
-                        // 1. remove tiles from player's rack
-                        currentPlayer.removeTilesFromRack(newGame.tilesToRemove(currentPlayer.getMove()));
-                        // 2. calculate points and update the player's points
-                        int moveScore = newGame.calculateScore(currentPlayer.getMove());
-                        currentPlayer.addScore(moveScore);
-                        // 3. players draw new tiles
-                        int tileUsed = newGame.tilesToRemove(currentPlayer.getMove()).size();
-                        currentPlayer.addTilesToRack(newGame.getTileBag().drawTiles(tileUsed));
-                        // 4. place tiles on board
-                        newGame.placeTileOnBoard(currentPlayer.getMove());
-                        // 5.print player's name, score, and current rack
-                        StringBuffer sb = new StringBuffer();
-                        sb.append(tui.updateAfterMove(newGame, moveScore) + System.lineSeparator());
-                        opponentHandler.sendMessage(sb.toString());
-                        sb.append(doTiles(currentPlayer));
-                        currentHandler.sendMessage(sb.toString());
-                        // Don't forget to notify the waiting thread
-                        notifyAll();
-                    }
-                }
-            }
-        } // end of try
-
-        // If the move or word is invalid
-        catch (InvalidMoveException | InvalidWordException e) {
-            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE)
-                    + TerminalColors.RED_BOLD + ": " + e.getMessage() + TerminalColors.RESET);
-            notifyAll();
-        }
-    }
-
-    @Override
-    public synchronized void doPass(ClientHandler clientHandler) {
-        broadcast("Player " + clientHandler.getName() + " has passed his/her turn.");
-        notifyAll();
-    }
-
-    @Override
-    public synchronized void doPass(ClientHandler clientHandler, String tiles) {
-        // Check if the move is valid
-        List<Character> tilesToSwap = new ArrayList<>();
-        String[] swapTile = tiles.split(" ");
-        for (String s : swapTile) {
-            tilesToSwap.add(s.toUpperCase().charAt(0));
-        }
-        try {
-            if (currentPlayer.checkSwapTilesInRack(tilesToSwap)) {
-                // If valid, then do the move
-                currentPlayer.removeTilesFromRack(tilesToSwap);
-                List<Character> swappedTiles = newGame.getTileBag().swapTiles(tilesToSwap);
-                currentPlayer.addTilesToRack(swappedTiles);
-                // send message
-                broadcast("Player " + clientHandler.getName() + " has passed his/her turn and swap tiles.");
-                currentHandler.sendMessage(doTiles(currentPlayer));
-                notifyAll();
-            }
-        } catch (InvalidMoveException e) {
-            currentHandler.sendMessage(doError(ProtocolMessages.INVALID_MOVE)
-                    + TerminalColors.RED_BOLD + ": " + e.getMessage() + TerminalColors.RESET); // if swap is invalid
-            notifyAll();
-        }
-    }
-
-    @Override
-    public synchronized void doGameOver() {
-        gameOver = true;
-        broadcast(tui.gameOver(newGame));
+    /**
+     * The appropriate error code is sent by the network.server when something has gone wrong
+     * @param errorCode the appropriate error code sent by the network.server
+     * @return textual result, to be shown to the user
+     */
+    public String doError(String errorCode) {
+        return TerminalColors.RED_BOLD + "ERROR: " + errorCode + TerminalColors.RESET;
     }
 
     // ------------------ Main --------------------------
@@ -2,24 +2,42 @@ package network.server;
 
 import game.tui.TerminalColors;
 
-import java.io.PrintWriter;
+import java.io.PrintStream;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
+/**
+ * The console of the server. The questions of the setup and the commands are asked from different threads,
+ * so one thread reads all input and hands every line to the question that is waiting, or else to the commands.
+ * It only reads when one of them waits, so answers typed ahead of a question are not taken as commands.
+ */
 public class ServerTUI implements ServerView {
 
     // --- Variables -------------------------------
 
-    private PrintWriter console;
+    private PrintStream console; // not a PrintWriter, whose monitor would pin a virtual thread that logs
     private Scanner scanner;
 
+    // a line of input, empty once the input ends
+    private final BlockingQueue<Optional<String>> answers = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Optional<String>> commands = new LinkedBlockingQueue<>();
+    private int questionsWaiting; // guarded by this, like commandsWaiting
+    private int commandsWaiting;
+
     // --- Constructor -----------------------------
 
     /**
      * Constructor of the ServerTUI class
      */
     public ServerTUI() {
-        console = new PrintWriter(System.out, true);
+        console = System.out;
         scanner = new Scanner(System.in);
+        Thread reader = new Thread(this::readInput, "console-input");
+        reader.setDaemon(true);
+        reader.start();
     }
 
     // --- Commands --------------------------------
@@ -32,7 +50,7 @@ public class ServerTUI implements ServerView {
     @Override
     public String getString(String question) {
         showMessage(question);
-        String answer = scanner.nextLine();
+        String answer = nextAnswer();
         return answer;
     }
 
@@ -42,7 +60,7 @@ public class ServerTUI implements ServerView {
         while (true) {
             showMessage(question);
             try {
-                answerInt = Integer.parseInt(scanner.nextLine());
+                answerInt = Integer.parseInt(nextAnswer());
                 return answerInt;
             } catch (NumberFormatException e) {
                 showMessage(TerminalColors.RED_BOLD + "That is not a valid number!" + TerminalColors.RESET);
@@ -55,7 +73,7 @@ public class ServerTUI implements ServerView {
         showMessage(question);
         String answer;
         while (true) {
-            answer = scanner.nextLine();
+            answer = nextAnswer();
             if (answer.equalsIgnoreCase("YES")) {
                 return true;
             } else if (answer.equalsIgnoreCase("NO")) {
@@ -66,4 +84,76 @@ public class ServerTUI implements ServerView {
         }
     }
 
+    @Override
+    public String readCommand() {
+        return take(commands, false);
+    }
+
+    /**
+     * Wait for the line that answers the question just shown
+     * @return the line
+     * @throws NoSuchElementException if the input ended
+     */
+    private String nextAnswer() {
+        String line = take(answers, true);
+        if (line == null) {
+            throw new NoSuchElementException("No line found");
+        }
+        return line;
+    }
+
+    private String take(BlockingQueue<Optional<String>> lines, boolean question) {
+        synchronized (this) {
+            if (question) {
+                questionsWaiting++;
+            } else {
+                commandsWaiting++;
+            }
+            notifyAll();
+        }
+        try {
+            Optional<String> line = lines.take();
+            if (line.isEmpty()) {
+                lines.add(line); // the input stays ended for later calls
+            }
+            return line.orElse(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Read a line whenever someone waits for one, the only thread that touches the scanner.
+     * A waiting question gets the line before a waiting command.
+     */
+    private void readInput() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    while (questionsWaiting == 0 && commandsWaiting == 0) {
+                        wait();
+                    }
+                }
+                if (!scanner.hasNextLine()) {
+                    break;
+                }
+                String line = scanner.nextLine();
+                synchronized (this) {
+                    if (questionsWaiting > 0) {
+                        questionsWaiting--;
+                        answers.add(Optional.of(line));
+                    } else {
+                        commandsWaiting--;
+                        commands.add(Optional.of(line));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        answers.add(Optional.empty());
+        commands.add(Optional.empty());
+    }
+
 } // end of class
@@ -33,4 +33,12 @@ public interface ServerView {
      */
     public boolean getBoolean(String question);
 
+    /**
+     * Reads the next command the user types, without asking a question.
+     * A line typed while a question is waiting answers that question and is not a command.
+     *
+     * @return The command, or null if there is no more input.
+     */
+    public String readCommand();
+
 }
@@ -0,0 +1,94 @@
+package network.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The kind of threads the server runs its commands, rooms and computer players on.
+ *
+ * Virtual threads need Java 21; they are looked up at runtime, so the server still builds and runs on Java 11,
+ * where {@link #VIRTUAL} falls back to platform threads. Choose the mode with -Dscrabble.threads=virtual.
+ */
+public enum ThreadMode {
+
+    /** A fixed pool of command threads, which also run the events of the rooms */
+    PLATFORM,
+
+    /** A new virtual thread for every command, event of a room and computer player that thinks */
+    VIRTUAL;
+
+    // --- Variables -------------------------------
+
+    public static final String PROPERTY = "scrabble.threads";
+
+    // Thread.ofVirtual().factory(), null before Java 21
+    private static final ThreadFactory VIRTUAL_THREADS = lookupVirtualThreads();
+
+    // --- Queries ---------------------------------
+
+    /**
+     * Get the mode chosen with the system property, falling back to platform threads
+     * @return the mode to run the server in
+     */
+    public static ThreadMode fromSystemProperty() {
+        String mode = System.getProperty(PROPERTY, "platform");
+        return mode.equalsIgnoreCase("virtual") && VIRTUAL.isSupported() ? VIRTUAL : PLATFORM;
+    }
+
+    /**
+     * Returns if this mode can be used by the running Java version
+     * @return false for virtual threads before Java 21
+     */
+    public boolean isSupported() {
+        return this == PLATFORM || VIRTUAL_THREADS != null;
+    }
+
+    // --- Commands --------------------------------
+
+    /**
+     * Create the executor the commands of the clients run on
+     * @param poolSize the number of threads of a platform pool
+     * @return a pool of platform threads, or a virtual thread per command
+     */
+    public ExecutorService newCommandExecutor(int poolSize) {
+        if (this == VIRTUAL && isSupported()) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, VIRTUAL_THREADS);
+            } catch (ReflectiveOperationException e) {
+                // use a pool of platform threads instead
+            }
+        }
+        AtomicInteger commandThreads = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "command-" + commandThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start a thread for a task that lives long or waits, like a computer player thinking
+     * @param task the task
+     * @param name the name of the thread
+     * @return the started thread
+     */
+    public Thread start(Runnable task, String name) {
+        Thread thread = this == VIRTUAL && isSupported() ? VIRTUAL_THREADS.newThread(task) : new Thread(task);
+        thread.setName(name);
+        thread.start();
+        return thread;
+    }
+
+    private static ThreadFactory lookupVirtualThreads() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null; // before Java 21
+        }
+    }
+
+} // end of class
@@ -0,0 +1,93 @@
+package test;
+
+import game.wordchecker.AnagramIndex;
+import game.wordchecker.Dawg;
+import game.wordchecker.DawgBuilder;
+import game.wordchecker.MultiLexiconDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnagramTest {
+
+    List<String> words;
+    Dawg dawg;
+    AnagramIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        words = Arrays.asList("ART", "ARTS", "AS", "AT", "QI", "RAT", "RATS", "STAR", "STARE", "TA", "TAR", "TARS",
+                "TSAR", "ZA", "ABCDEFGHIJKLM");
+        dawg = DawgBuilder.build(words);
+        index = new AnagramIndex(dawg);
+    }
+
+    @Test
+    public void testAnagrams() {
+        assertEquals(index.anagrams("rats"), Arrays.asList("ARTS", "RATS", "STAR", "TARS", "TSAR"));
+        assertEquals(index.anagrams("TRA"), Arrays.asList("ART", "RAT", "TAR"));
+        assertEquals(index.anagrams("IQ"), Arrays.asList("QI"));
+        assertTrue(index.anagrams("XYZ").isEmpty());
+        assertTrue(index.anagrams("").isEmpty());
+        assertTrue(index.anagrams("A-T").isEmpty());
+        // longer than any rack, so not indexed
+        assertTrue(index.anagrams("ABCDEFGHIJKLM").isEmpty());
+    }
+
+    @Test
+    public void testPlainRack() {
+        assertEquals(set(index.wordsFromRack("STAR")),
+                set("ART", "ARTS", "AS", "AT", "RAT", "RATS", "STAR", "TA", "TAR", "TARS", "TSAR"));
+        assertEquals(set(index.wordsFromRack("taq")), set("AT", "TA"));
+        assertTrue(index.wordsFromRack("XYZ").isEmpty());
+        assertTrue(index.wordsFromRack("").isEmpty());
+    }
+
+    @Test
+    public void testBlankRack() {
+        // the blank stands for the I of QI or the Z of ZA
+        assertEquals(set(index.wordsFromRack("Q-")), set("QI"));
+        assertEquals(set(index.wordsFromRack("A-")), set("AS", "AT", "TA", "ZA"));
+        assertEquals(set(index.wordsFromRack("--")), set("AS", "AT", "QI", "TA", "ZA"));
+        assertEquals(set(index.wordsFromRack("STA-E")), set("ART", "ARTS", "AS", "AT", "RAT", "RATS", "STAR",
+                "STARE", "TA", "TAR", "TARS", "TSAR", "ZA"));
+        // every word appears once, even when a blank could also stand for a tile of the rack
+        assertEquals(index.wordsFromRack("AT-").size(), set(index.wordsFromRack("AT-")).size());
+    }
+
+    @Test
+    public void testLexiconView() {
+        short[] masks = new short[dawg.size()];
+        for (String word : words) {
+            // the second lexicon has no words with a Q or a Z
+            masks[dawg.indexOf(word)] = (short) (word.contains("Q") || word.contains("Z") ? 1 : 3);
+        }
+        MultiLexiconDictionary dictionary = new MultiLexiconDictionary(dawg, new String[]{"ALL", "NO QZ"}, masks,
+                null);
+
+        AnagramIndex all = new AnagramIndex(dictionary.checker("ALL"));
+        AnagramIndex noQz = new AnagramIndex(dictionary.checker("NO QZ"));
+
+        assertEquals(all.anagrams("QI"), Arrays.asList("QI"));
+        assertTrue(noQz.anagrams("QI").isEmpty());
+        assertEquals(set(all.wordsFromRack("A-")), set("AS", "AT", "TA", "ZA"));
+        assertEquals(set(noQz.wordsFromRack("A-")), set("AS", "AT", "TA"));
+        assertEquals(set(noQz.wordsFromRack("--")), set("AS", "AT", "TA"));
+        assertEquals(noQz.size(), all.size() - 2);
+    }
+
+    private static Set<String> set(List<String> words) {
+        return new HashSet<>(words);
+    }
+
+    private static Set<String> set(String... words) {
+        return new HashSet<>(Arrays.asList(words));
+    }
+
+} // end of class
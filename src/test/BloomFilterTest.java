@@ -0,0 +1,125 @@
+package test;
+
+import game.wordchecker.BloomFilterScrabbleWordChecker;
+import game.wordchecker.DawgBuilder;
+import game.wordchecker.DawgScrabbleWordChecker;
+import game.wordchecker.ScrabbleWordChecker;
+import game.wordchecker.ScrabbleWordChecker.WordResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    List<String> words;
+    List<String> forwarded;
+    BloomFilterScrabbleWordChecker filter;
+
+    @BeforeEach
+    public void setUp() {
+        words = new ArrayList<>();
+        for (char a = 'A'; a <= 'Z'; a++) {
+            for (char b = 'A'; b <= 'Z'; b++) {
+                words.add("" + a + b + "ING");
+            }
+        }
+        DawgScrabbleWordChecker dictionary = new DawgScrabbleWordChecker(DawgBuilder.build(words), null);
+        forwarded = new ArrayList<>();
+        // records every batch the filter passes on
+        ScrabbleWordChecker delegate = new ScrabbleWordChecker() {
+            @Override
+            public WordResponse isValidWord(String word) {
+                forwarded.add(word);
+                return dictionary.contains(word) ? new WordResponse(word.toUpperCase(), "") : null;
+            }
+
+            @Override
+            public List<WordResponse> isValidWords(Collection<String> batch) {
+                forwarded.add("batch of " + batch.size());
+                List<WordResponse> responses = new ArrayList<>();
+                for (String word : batch) {
+                    responses.add(isValidWord(word));
+                }
+                return responses;
+            }
+        };
+        filter = new BloomFilterScrabbleWordChecker(delegate, words, words.size(), 0.01);
+    }
+
+    @Test
+    public void testNoFalseNegatives() {
+        for (String word : words) {
+            assertTrue(filter.mightContain(word));
+            assertTrue(filter.mightContain(word.toLowerCase()));
+            assertNotNull(filter.isValidWord(word));
+        }
+        assertEquals(filter.getHits(), words.size());
+        assertFalse(filter.mightContain(""));
+        assertFalse(filter.mightContain(null));
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        for (String word : words) {
+            assertNull(filter.isValidWord(word.replace("ING", "ONG")));
+        }
+        assertEquals(filter.getRejected() + filter.getFalsePositives(), words.size());
+        assertTrue(filter.getFalsePositiveRate() < 0.03);
+        // rejected words never reach the wrapped checker
+        assertEquals(forwarded.size(), filter.getFalsePositives());
+    }
+
+    @Test
+    public void testBatchForwardsPassingWords() {
+        List<String> batch = new ArrayList<>(Arrays.asList("ABING", "XQZZY", "zzing", "QQQQQ", "ABING"));
+        for (String word : words) {
+            batch.add(word.replace("ING", "ONG"));
+        }
+        List<String> passing = new ArrayList<>();
+        for (String word : batch) {
+            if (filter.mightContain(word)) {
+                passing.add(word);
+            }
+        }
+
+        filter.isValidWords(batch);
+
+        assertEquals(forwarded.get(0), "batch of " + passing.size());
+        assertEquals(forwarded.subList(1, forwarded.size()), passing);
+        assertTrue(passing.size() < batch.size());
+    }
+
+    @Test
+    public void testMergeKeepsOrder() throws Exception {
+        List<String> batch = Arrays.asList("XQZZY", "ABING", "QQQQQ", "zzing", "ABING", "");
+
+        List<WordResponse> responses = filter.isValidWords(batch);
+        List<WordResponse> asyncResponses = filter.isValidWordsAsync(batch).get();
+
+        for (List<WordResponse> result : Arrays.asList(responses, asyncResponses)) {
+            assertEquals(result.size(), batch.size());
+            assertNull(result.get(0));
+            assertEquals(result.get(1).getWord(), "ABING");
+            assertNull(result.get(2));
+            assertEquals(result.get(3).getWord(), "ZZING");
+            assertEquals(result.get(4).getWord(), "ABING");
+            assertNull(result.get(5));
+        }
+    }
+
+    @Test
+    public void testBatchWithoutCandidates() throws Exception {
+        List<String> batch = Arrays.asList("", "");
+
+        assertEquals(filter.isValidWords(batch), Arrays.asList(null, null));
+        assertEquals(filter.isValidWordsAsync(batch).get(), Arrays.asList(null, null));
+        assertTrue(forwarded.isEmpty());
+    }
+
+} // end of class
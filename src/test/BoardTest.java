@@ -1,10 +1,21 @@
 package test;
 
+import game.Bitboard;
 import game.Board;
+import game.BoardLayout;
+import game.LetterDistribution;
+import game.Move;
+import game.engine.CrossChecker;
+import game.wordchecker.Dawg;
+import game.wordchecker.DawgBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BoardTest {
 
@@ -37,6 +48,54 @@ public class BoardTest {
         assertEquals(board.getBoardScores().get(board.getCoordinate(14,0)),"3W");
     }
 
+    @Test
+    public void testBoardLayout() {
+        BoardLayout layout = BoardLayout.getDefault();
+        for (int row = 0; row < Board.BOARD_SIZE; row++) {
+            for (int column = 0; column < Board.BOARD_SIZE; column++) {
+                String multiplier = board.getBoardMultiplier(board.getCoordinate(row, column));
+                int square = row * Board.BOARD_SIZE + column;
+                int letter = multiplier.endsWith("L") ? multiplier.charAt(0) - '0' : 1;
+                int word = multiplier.endsWith("W") ? multiplier.charAt(0) - '0' : 1;
+                assertEquals(layout.getLetterMultiplier(square), letter);
+                assertEquals(layout.getWordMultiplier(square), word);
+            }
+        }
+    }
+
+    @Test
+    public void testOccupancy() {
+        Bitboard occupancy = board.getOccupancy();
+        assertTrue(occupancy.isEmpty());
+        assertEquals(occupancy.anchors(Bitboard.ROWS, 7), 1 << 7);
+        assertTrue(Bitboard.coversCenter(Move.HORIZONTAL, 7, 4, 4));
+        assertFalse(Bitboard.coversCenter(Move.VERTICAL, 0, 7, 7));
+
+        // FARM down from H6
+        board.setTileOnBoard(5, 7, 'F');
+        board.setTileOnBoard(6, 7, 'A');
+        board.setTileOnBoard(7, 7, 'R');
+        board.setTileOnBoard(8, 7, 'M');
+        assertEquals(occupancy.getTileCount(), 4);
+        assertEquals(occupancy.getLine(Bitboard.COLUMNS, 7), 0b1111 << 5);
+        assertEquals(occupancy.getLine(Bitboard.ROWS, 7), 1 << 7);
+        assertEquals(occupancy.anchors(Bitboard.ROWS, 7), 0b101 << 6);
+        assertEquals(occupancy.anchors(Bitboard.COLUMNS, 7), 1 << 4 | 1 << 9);
+        assertEquals(occupancy.anchors(Bitboard.COLUMNS, 8), 0b1111 << 5);
+
+        assertTrue(occupancy.touches(Move.HORIZONTAL, 7, 5, 4));
+        assertTrue(occupancy.touches(Move.VERTICAL, 9, 7, 3));
+        assertTrue(occupancy.touches(Move.VERTICAL, 2, 8, 4));
+        assertFalse(occupancy.touches(Move.VERTICAL, 0, 8, 5));
+        assertFalse(occupancy.touches(Move.HORIZONTAL, 4, 0, 7));
+
+        board.setTileOnBoard(8, 7, ' ');
+        assertFalse(occupancy.isOccupied(8, 7));
+        assertEquals(occupancy.getTileCount(), 3);
+        board.initBoard();
+        assertTrue(occupancy.isEmpty());
+    }
+
     @Test
     public void testGetCoordinate() {
         assertEquals(board.getCoordinate(0,0), "A1");
@@ -61,4 +120,69 @@ public class BoardTest {
         assertEquals(board.getBoardMultiplier("D2"),"1");
     }
 
+    @Test
+    public void testCrossChecks() {
+        Dawg dawg = DawgBuilder.build(Arrays.asList("AT", "CAT", "CATS", "TA"));
+        board.setCrossChecker(new CrossChecker(dawg, index -> true, LetterDistribution.getDefault()));
+        int a = 1 << 0;
+        int s = 1 << ('S' - 'A');
+        int t = 1 << ('T' - 'A');
+        assertEquals(board.getCrossCheck(7, 7, Move.HORIZONTAL), CrossChecker.ALL_LETTERS);
+        assertEquals(board.getCrossScore(7, 7, Move.HORIZONTAL), CrossChecker.NO_CROSS_WORD);
+
+        // CAT across row 8: the squares above and below the A only take letters forming AT or TA
+        board.setTileOnBoard(7, 6, 'C');
+        board.setTileOnBoard(7, 7, 'A');
+        board.setTileOnBoard(7, 8, 'T');
+        assertEquals(board.getCrossCheck(6, 7, Move.HORIZONTAL), t);
+        assertEquals(board.getCrossCheck(8, 7, Move.HORIZONTAL), t);
+        assertEquals(board.getCrossScore(8, 7, Move.HORIZONTAL), 1);
+        // behind CAT only an S fits for a vertical word, in front of it nothing
+        assertEquals(board.getCrossCheck(7, 9, Move.VERTICAL), s);
+        assertEquals(board.getCrossCheck(7, 5, Move.VERTICAL), 0);
+        assertEquals(board.getCrossScore(7, 9, Move.VERTICAL), 5);
+        // across words are not affected by tiles on the same row
+        assertEquals(board.getCrossCheck(7, 9, Move.HORIZONTAL), CrossChecker.ALL_LETTERS);
+
+        // a T below the A turns the square above it into the start of xAT
+        board.setTileOnBoard(8, 7, 'T');
+        assertEquals(board.getCrossCheck(6, 7, Move.HORIZONTAL), 1 << ('C' - 'A'));
+        assertEquals(board.getCrossCheck(9, 7, Move.HORIZONTAL), 0);
+        assertEquals(board.getCrossScore(6, 7, Move.HORIZONTAL), 2);
+        assertEquals(board.getCrossCheck(8, 8, Move.VERTICAL), a);
+
+        board.initBoard();
+        assertEquals(board.getCrossCheck(6, 7, Move.HORIZONTAL), CrossChecker.ALL_LETTERS);
+    }
+
+    @Test
+    public void testUndo() {
+        Dawg dawg = DawgBuilder.build(Arrays.asList("AT", "CAT", "CATS", "TA"));
+        board.setCrossChecker(new CrossChecker(dawg, index -> true, LetterDistribution.getDefault()));
+        board.placeWord("CAT", Move.HORIZONTAL, 7, 6);
+        int crossCheck = board.getCrossCheck(8, 7, Move.HORIZONTAL);
+
+        int outer = board.mark();
+        assertEquals(board.placeWord("AT", Move.VERTICAL, 7, 7), 1);
+        int inner = board.mark();
+        board.placeWord("CATS", Move.HORIZONTAL, 7, 6);
+        assertEquals(board.getTileOnBoard(7, 9), 'S');
+        board.undo(inner);
+        assertEquals(board.getTileOnBoard(7, 9), ' ');
+        assertEquals(board.getTileOnBoard(8, 7), 'T');
+        board.undo(outer);
+
+        assertEquals(board.getTileOnBoard(8, 7), ' ');
+        assertEquals(board.getOccupancy().getTileCount(), 3);
+        assertEquals(board.getCrossCheck(8, 7, Move.HORIZONTAL), crossCheck);
+        assertEquals(board.getCrossScore(6, 7, Move.HORIZONTAL), 1);
+
+        // a copy can be played on without changing the original
+        Board copy = new Board(board);
+        copy.placeWord("S", Move.HORIZONTAL, 7, 9);
+        assertEquals(copy.getCrossCheck(7, 10, Move.VERTICAL), 0);
+        assertEquals(board.getTileOnBoard(7, 9), ' ');
+        assertEquals(board.getCrossCheck(7, 9, Move.VERTICAL), 1 << ('S' - 'A'));
+    }
+
 }
@@ -0,0 +1,128 @@
+package test;
+
+import game.Game;
+import game.GameServices;
+import game.LetterDistribution;
+import game.Placement;
+import game.Player;
+import game.bot.BotPlayer;
+import game.bot.LeaveTable;
+import game.bot.MonteCarloStrategy;
+import game.bot.StaticEvaluationStrategy;
+import game.bot.Tournament;
+import game.bot.TournamentResult;
+import game.engine.ScoredMove;
+import game.wordchecker.DawgBuilder;
+import game.wordchecker.DawgScrabbleWordChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BotTest {
+
+    Player p1 = new Player("Michael");
+    Game newGame;
+    MonteCarloStrategy monteCarlo;
+    BotPlayer bot;
+    GameServices services;
+
+    @BeforeEach
+    public void setUp() {
+        List<String> words = Arrays.asList("AB", "AN", "AR", "AT", "BOARD", "BIT", "CAT", "CATS", "FARM", "HE",
+                "HORN", "HORNS", "IT", "MOB", "NO", "OR", "PASTE", "PASTES", "RAT", "SH", "TA", "TAN", "TO", "TON");
+        DawgScrabbleWordChecker dictionary = new DawgScrabbleWordChecker(DawgBuilder.build(words), null);
+        services = new GameServices(dictionary, LetterDistribution.getDefault());
+        monteCarlo = new MonteCarloStrategy(ForkJoinPool.commonPool(), 200, 5, 2, new SplittableRandom(42));
+        bot = new BotPlayer("Computer", monteCarlo);
+        List<Player> players = new ArrayList<>();
+        players.add(bot);
+        players.add(p1);
+        newGame = new Game(players, services);
+        bot.clearRack();
+    }
+
+    @Test
+    public void testMonteCarloMove() {
+        bot.addTilesToRack(Arrays.asList('H', 'O', 'R', 'N', 'S', 'A', 'T'));
+        long hash = newGame.getStateHash();
+        ScoredMove move = bot.decide(newGame);
+
+        // the move is legal, and thinking about it did not change the game
+        assertNotNull(move);
+        assertTrue(newGame.validateMove(move.toMove(), bot, new Placement()).isValid());
+        assertEquals(newGame.getStateHash(), hash);
+        assertTrue(monteCarlo.getLastSimulations() > 0);
+        assertTrue(monteCarlo.getSimulationsPerSecond() > 0);
+    }
+
+    @Test
+    public void testPassWithoutMove() {
+        bot.addTilesToRack(Arrays.asList('Q', 'Q', 'Z'));
+        assertNull(bot.decide(newGame));
+    }
+
+    @Test
+    public void testStaticEvaluationMove() {
+        List<Character> rack = Arrays.asList('H', 'O', 'R', 'N', 'S', 'A', 'T');
+        bot.addTilesToRack(rack);
+        int bestScore = 0;
+        for (ScoredMove move : newGame.getLegalMoves(bot)) {
+            bestScore = Math.max(bestScore, move.getScore());
+        }
+
+        // without leave values the highest score wins
+        ScoredMove move = new StaticEvaluationStrategy(new LeaveTable()).chooseMove(newGame, bot);
+        assertEquals(move.getScore(), bestScore);
+
+        // an S worth keeping is kept
+        LeaveTable keepS = new LeaveTable();
+        keepS.setTileValue('S', 100);
+        move = new StaticEvaluationStrategy(keepS).chooseMove(newGame, bot);
+        int[] leave = new int[LetterDistribution.TILE_TYPES];
+        for (char tile : rack) {
+            leave[LetterDistribution.tileIndex(tile)]++;
+        }
+        move.countLeave(newGame.getBoard(), leave);
+        assertEquals(leave[LetterDistribution.tileIndex('S')], 1);
+        assertTrue(newGame.validateMove(move.toMove(), bot, new Placement()).isValid());
+    }
+
+    @Test
+    public void testLeaveTableFile() throws IOException {
+        LeaveTable table = LeaveTable.fromLetters(LetterDistribution.getDefault());
+        table.setPairValue('Q', 'U', 4.5f);
+        File file = File.createTempFile("leaves", ".txt");
+        file.deleteOnExit();
+        table.write(file.getPath());
+
+        LeaveTable read = new LeaveTable(file.getPath());
+        assertEquals(read.getTileValue('-'), table.getTileValue('-'));
+        assertEquals(read.getTileValue('Q'), table.getTileValue('Q'));
+        assertEquals(read.getPairValue('U', 'Q'), 4.5f);
+        assertEquals(read.getPairValue('E', 'E'), -3f);
+    }
+
+    @Test
+    public void testTournament() throws InterruptedException {
+        TournamentResult result = new Tournament().services(services).games(6).threads(2).seed(7)
+                .addPlayer("first", random -> new StaticEvaluationStrategy(new LeaveTable()))
+                .addPlayer("second", random -> new StaticEvaluationStrategy(new LeaveTable()))
+                .run();
+
+        assertEquals(result.getGames(), 6);
+        assertTrue(result.getMoves() > 0);
+        assertEquals(result.getWins(0) + result.getWins(1), 6);
+        assertTrue(result.getTurnNanos(50) <= result.getTurnNanos(99));
+        assertTrue(result.getScore(0, 0) <= result.getScore(0, 100));
+    }
+
+} // end of class
@@ -0,0 +1,274 @@
+package test;
+
+import network.server.Connection;
+import network.server.IoLoop;
+import network.server.OutboundMetrics;
+import network.server.OutboundPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionTest {
+
+    static final int MAX_LINE_LENGTH = 64 * 1024; // the longest line a connection accepts
+
+    ServerSocketChannel acceptor;
+    Socket client;
+    BufferedReader reader;
+    SocketChannel channel;
+    IoLoop loop;
+    OutboundMetrics metrics;
+    AtomicInteger closes;
+    CountDownLatch closed;
+    BlockingQueue<String> lines;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        acceptor = ServerSocketChannel.open();
+        acceptor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = new Socket(InetAddress.getLoopbackAddress(), acceptor.socket().getLocalPort());
+        client.setSoTimeout(5000);
+        reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        channel = acceptor.accept();
+        channel.configureBlocking(false);
+        // the loop is started by the tests, so everything sent before stays queued
+        loop = new IoLoop("test-io");
+        metrics = new OutboundMetrics();
+        closes = new AtomicInteger();
+        closed = new CountDownLatch(1);
+        lines = new LinkedBlockingQueue<>();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        loop.shutdown();
+        client.close();
+        channel.close();
+        acceptor.close();
+    }
+
+    @Test
+    public void testBoardsCoalesced() throws Exception {
+        Connection connection = connect(new OutboundPolicy().coalesceBoards(true));
+        connection.send("START");
+        connection.send("BOARD 1", Connection.Kind.BOARD);
+        connection.send("BOARD 2", Connection.Kind.BOARD);
+        connection.send("BOARD 3", Connection.Kind.BOARD);
+        connection.send("END");
+
+        assertEquals(metrics.getBoardsCoalesced(), 2);
+        assertEquals(connection.getQueuedBytes(), bytes("START") + bytes("BOARD 3") + bytes("END"));
+        assertEquals(metrics.getQueuedBytes(), connection.getQueuedBytes());
+
+        serve(connection);
+        // only the newest board is written, in the place of the first one
+        assertEquals(reader.readLine(), "START");
+        assertEquals(reader.readLine(), "BOARD 3");
+        assertEquals(reader.readLine(), "END");
+        waitFor(() -> metrics.getQueuedBytes() == 0);
+        assertEquals(connection.getQueuedBytes(), 0);
+        assertEquals(metrics.getMessagesWritten(), 3);
+    }
+
+    @Test
+    public void testChatDropped() throws Exception {
+        Connection connection = connect(new OutboundPolicy().chatQueuedBytes(10));
+        connection.send("hello", Connection.Kind.CHAT);
+        connection.send("a message longer than the chat limit");
+        connection.send("dropped", Connection.Kind.CHAT);
+
+        assertEquals(metrics.getChatDropped(), 1);
+
+        serve(connection);
+        assertEquals(reader.readLine(), "hello");
+        assertEquals(reader.readLine(), "a message longer than the chat limit");
+        waitFor(() -> metrics.getQueuedBytes() == 0);
+
+        // once the queue is written, chat goes through again
+        connection.send("welcome back", Connection.Kind.CHAT);
+        assertEquals(reader.readLine(), "welcome back");
+        assertEquals(metrics.getChatDropped(), 1);
+        waitFor(() -> metrics.getQueuedBytes() == 0);
+    }
+
+    @Test
+    public void testSlowClientDisconnectedOnce() throws Exception {
+        Connection connection = connect(new OutboundPolicy().maxQueuedBytes(50));
+        for (int i = 0; i < 10; i++) {
+            connection.send("message number " + i);
+        }
+
+        // only crossing the limit disconnects, the messages after it do not count again
+        assertEquals(metrics.getSlowDisconnects(), 1);
+
+        loop.start();
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertTrue(connection.isClosed());
+        assertNull(reader.readLine());
+        assertEquals(metrics.getQueuedBytes(), 0);
+        assertEquals(metrics.getMessagesWritten(), 0);
+
+        // a closed connection takes nothing more
+        connection.send("too late");
+        connection.close();
+        assertEquals(metrics.getQueuedBytes(), 0);
+        assertEquals(metrics.getSlowDisconnects(), 1);
+        assertEquals(closes.get(), 1);
+    }
+
+    @Test
+    public void testCloseWritesQueueFirst() throws Exception {
+        Connection connection = connect(new OutboundPolicy());
+        serve(connection);
+        connection.send("first");
+        assertEquals(reader.readLine(), "first");
+
+        connection.send("last");
+        connection.close();
+        assertEquals(reader.readLine(), "last");
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertNull(reader.readLine());
+        waitFor(() -> metrics.getQueuedBytes() == 0);
+        assertEquals(closes.get(), 1);
+        assertEquals(metrics.getSlowDisconnects(), 0);
+    }
+
+    @Test
+    public void testLineSplitAcrossReads() throws Exception {
+        serve(connect(new OutboundPolicy()));
+        write("MOVE:;:H");
+        assertNull(lines.poll(200, TimeUnit.MILLISECONDS));
+        write(":;:8\n");
+        assertEquals(nextLine(), "MOVE:;:H:;:8");
+
+        // a character split between two reads is decoded once the line is complete
+        byte[] word = "écu\n".getBytes(StandardCharsets.UTF_8);
+        write(Arrays.copyOf(word, 1));
+        assertNull(lines.poll(200, TimeUnit.MILLISECONDS));
+        write(Arrays.copyOfRange(word, 1, word.length));
+        assertEquals(nextLine(), "écu");
+    }
+
+    @Test
+    public void testCarriageReturnStripped() throws Exception {
+        serve(connect(new OutboundPolicy()));
+        write("PASS\r\n");
+        assertEquals(nextLine(), "PASS");
+
+        // also when the line break comes with the next read
+        write("SWAP:;:AB\r");
+        assertNull(lines.poll(200, TimeUnit.MILLISECONDS));
+        write("\n");
+        assertEquals(nextLine(), "SWAP:;:AB");
+
+        // only the one before the line break
+        write("A\rB\r\r\n");
+        assertEquals(nextLine(), "A\rB\r");
+    }
+
+    @Test
+    public void testSeveralLinesInOneRead() throws Exception {
+        serve(connect(new OutboundPolicy()));
+        write("HI:;:P1\nCRDY:;:P1\n\nPASS\nMSG");
+        assertEquals(nextLine(), "HI:;:P1");
+        assertEquals(nextLine(), "CRDY:;:P1");
+        assertEquals(nextLine(), "");
+        assertEquals(nextLine(), "PASS");
+        assertNull(lines.poll(200, TimeUnit.MILLISECONDS));
+        write("OUT:;:hi\n");
+        assertEquals(nextLine(), "MSGOUT:;:hi");
+        assertEquals(closes.get(), 0);
+    }
+
+    @Test
+    public void testLongestLine() throws Exception {
+        Connection connection = connect(new OutboundPolicy());
+        serve(connection);
+        char[] longest = new char[MAX_LINE_LENGTH];
+        Arrays.fill(longest, 'X');
+        write(new String(longest) + "\n");
+        assertEquals(nextLine().length(), MAX_LINE_LENGTH);
+        assertFalse(connection.isClosed());
+
+        // one byte more is no message of the protocol, even before its line break arrives
+        write(new String(longest) + "X");
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertTrue(connection.isClosed());
+        assertTrue(lines.isEmpty());
+        assertEquals(closes.get(), 1);
+    }
+
+    private Connection connect(OutboundPolicy policy) {
+        Connection connection = new Connection(channel, loop, policy, metrics);
+        connection.setListener(new Connection.Listener() {
+            @Override
+            public void lineReceived(String line) {
+                lines.add(line);
+            }
+
+            @Override
+            public void connectionClosed() {
+                closes.incrementAndGet();
+                closed.countDown();
+            }
+        });
+        return connection;
+    }
+
+    private void serve(Connection connection) {
+        loop.register(connection);
+        loop.start();
+    }
+
+    private void write(String text) throws IOException {
+        write(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        OutputStream out = client.getOutputStream();
+        out.write(bytes);
+        out.flush();
+    }
+
+    private String nextLine() throws InterruptedException {
+        String line = lines.poll(5, TimeUnit.SECONDS);
+        assertNotNull(line);
+        return line;
+    }
+
+    private static long bytes(String message) {
+        return (message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Wait until the loop has counted what the client already read
+     */
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+} // end of class
@@ -0,0 +1,63 @@
+package test;
+
+import game.wordchecker.Dawg;
+import game.wordchecker.DawgBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DawgTest {
+
+    List<String> words;
+    Dawg dawg;
+
+    @BeforeEach
+    public void setUp() {
+        words = Arrays.asList("CAT", "CATS", "DOG", "DOGS", "HORN", "HORNS", "PASTE", "PASTES");
+        dawg = DawgBuilder.build(words);
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(dawg.contains("CAT"));
+        assertTrue(dawg.contains("horns"));
+        assertTrue(dawg.contains("PaStE"));
+        assertFalse(dawg.contains("CA"));
+        assertFalse(dawg.contains("CATSS"));
+        assertFalse(dawg.contains("HORN-"));
+        assertFalse(dawg.contains(""));
+        assertFalse(dawg.contains(null));
+    }
+
+    @Test
+    public void testIndexOf() {
+        assertEquals(dawg.size(), 8);
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(dawg.indexOf(words.get(i)), i);
+        }
+        assertEquals(dawg.indexOf("FARM"), -1);
+    }
+
+    @Test
+    public void testMinimized() {
+        // the "S" suffix is shared, so the graph is smaller than a trie of the same words
+        int trieEdges = 0;
+        for (String word : words) {
+            trieEdges += word.length();
+        }
+        assertTrue(dawg.edgeCount() < trieEdges);
+    }
+
+    @Test
+    public void testForEachWord() {
+        List<String> result = new ArrayList<>();
+        dawg.forEachWord(result::add);
+        assertEquals(result, words);
+    }
+
+}
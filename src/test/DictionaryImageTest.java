@@ -0,0 +1,113 @@
+package test;
+
+import game.wordchecker.DictionaryCompiler;
+import game.wordchecker.DictionaryImage;
+import game.wordchecker.MappedScrabbleWordChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionaryImageTest {
+
+    Path image;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        String wordList = "CAT\ta small domesticated carnivore\n"
+                + "cats\tCAT, a small domesticated carnivore\n"
+                + "DOG\ta domesticated canine\n"
+                + "NOTAB\n"
+                + "ECU\tthe écu, an old French coin\n"
+                + "ÉPÉE\ta fencing sword\n";
+        image = tempFile("dictionary", ".dict");
+        int words = DictionaryCompiler.compile(
+                new ByteArrayInputStream(wordList.getBytes(StandardCharsets.UTF_8)), image);
+        assertEquals(words, 4);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        MappedScrabbleWordChecker checker = new MappedScrabbleWordChecker(image);
+
+        assertTrue(checker.contains("CAT"));
+        assertTrue(checker.contains("cats"));
+        assertTrue(checker.contains("DOG"));
+        assertFalse(checker.contains("DOGS"));
+        assertFalse(checker.contains("NOTAB"));
+        assertNull(checker.isValidWord("CA"));
+        assertEquals(checker.isValidWord("cat").getWord(), "CAT");
+        assertEquals(checker.isValidWord("CATS").getDescription(), "CAT, a small domesticated carnivore");
+        assertEquals(checker.isValidWord("ECU").getDescription(), "the écu, an old French coin");
+        assertFalse(checker.contains("ÉPÉE"));
+    }
+
+    @Test
+    public void testMappedGraph() throws IOException {
+        DictionaryImage mapped = DictionaryImage.map(image);
+
+        assertEquals(mapped.getDawg().size(), 4);
+        assertEquals(mapped.getDawg().indexOf("CAT"), 0);
+        assertEquals(mapped.getDefinitions().get(mapped.getDawg().indexOf("DOG")), "a domesticated canine");
+    }
+
+    @Test
+    public void testWrongMagic() throws IOException {
+        Path corrupt = tempFile("corrupt", ".dict");
+        Files.write(corrupt, "CAT\tnot an image\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> new MappedScrabbleWordChecker(corrupt));
+
+        Path empty = tempFile("empty", ".dict");
+        assertThrows(IOException.class, () -> DictionaryImage.map(empty));
+    }
+
+    @Test
+    public void testWrongVersion() throws IOException {
+        byte[] bytes = Files.readAllBytes(image);
+        ByteBuffer.wrap(bytes).putInt(4, DictionaryImage.VERSION + 1);
+        Path newer = tempFile("newer", ".dict");
+        Files.write(newer, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> DictionaryImage.map(newer));
+        assertTrue(e.getMessage().contains("version"));
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        byte[] bytes = Files.readAllBytes(image);
+        // cut inside the edges, inside the offsets and inside the descriptions
+        for (int length : new int[]{20, bytes.length / 2, bytes.length - 3}) {
+            Path truncated = tempFile("truncated", ".dict");
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            IOException e = assertThrows(IOException.class, () -> DictionaryImage.map(truncated));
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+    }
+
+    @Test
+    public void testCorruptCounts() throws IOException {
+        for (int[] counts : new int[][]{{-1, 4}, {1, -2}, {Integer.MAX_VALUE, 4}, {1, Integer.MAX_VALUE}}) {
+            byte[] bytes = Files.readAllBytes(image);
+            ByteBuffer.wrap(bytes).putInt(8, counts[0]).putInt(12, counts[1]);
+            Path corrupt = tempFile("counts", ".dict");
+            Files.write(corrupt, bytes);
+            assertThrows(IOException.class, () -> DictionaryImage.map(corrupt));
+        }
+    }
+
+    private static Path tempFile(String prefix, String suffix) throws IOException {
+        File file = File.createTempFile(prefix, suffix);
+        file.deleteOnExit();
+        return file.toPath();
+    }
+
+} // end of class
@@ -0,0 +1,176 @@
+package test;
+
+import game.wordchecker.FileStreamScrabbleWordChecker;
+import game.wordchecker.ScrabbleWordChecker.WordResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileStreamTest {
+
+    Path directory;
+    Path wordList;
+    Path index;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("words");
+        directory.toFile().deleteOnExit();
+        wordList = directory.resolve("words.txt");
+        index = directory.resolve("words.idx");
+        writeWordList("AA\ta rough cindery lava\n"
+                + "CAT\ta small domesticated carnivore\n"
+                + "cats\tCAT, a small domesticated carnivore\n"
+                + "DOG\ta domesticated canine\n"
+                + "ECU\tthe écu, an old French coin\n"
+                + "ZYZZYVAS\tZYZZYVA, a tropical weevil\n");
+    }
+
+    @Test
+    public void testBuildIndex() throws IOException {
+        try (FileStreamScrabbleWordChecker checker = open()) {
+            assertTrue(Files.exists(index));
+            assertEquals(checker.size(), 6);
+        }
+        // only the index is left, no temporary files
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(files.count(), 2);
+        }
+    }
+
+    @Test
+    public void testLookup() throws IOException {
+        try (FileStreamScrabbleWordChecker checker = open()) {
+            // the first, the last and the words in between
+            assertEquals(checker.isValidWord("AA").getDescription(), "a rough cindery lava");
+            assertEquals(checker.isValidWord("zyzzyvas").getWord(), "ZYZZYVAS");
+            assertEquals(checker.isValidWord("Cats").getDescription(), "CAT, a small domesticated carnivore");
+            assertEquals(checker.isValidWord("ECU").getDescription(), "the écu, an old French coin");
+            assertNotNull(checker.isValidWord("DOG"));
+
+            // before the first, after the last, between two words, a prefix and a word longer than any key
+            assertNull(checker.isValidWord("A"));
+            assertNull(checker.isValidWord("ZZZ"));
+            assertNull(checker.isValidWord("CAN"));
+            assertNull(checker.isValidWord("CA"));
+            assertNull(checker.isValidWord("ZYZZYVASES"));
+            assertNull(checker.isValidWord(""));
+            assertNull(checker.isValidWord(null));
+        }
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        FileStreamScrabbleWordChecker checker = open();
+        assertNotNull(checker.isValidWord("CAT"));
+        assertNull(checker.isValidWord("CAN"));
+        checker.close();
+
+        // after closing, only the words that are still cached are answered
+        assertNotNull(checker.isValidWord("cat"));
+        assertNull(checker.isValidWord("CAN"));
+        assertNull(checker.isValidWord("DOG"));
+    }
+
+    @Test
+    public void testCacheEviction() throws IOException {
+        FileStreamScrabbleWordChecker checker = open();
+        assertNotNull(checker.isValidWord("CAT"));
+        assertNotNull(checker.isValidWord("DOG"));
+        // more misses than the cache holds, while DOG is used now and then
+        for (int i = 0; i < 2000; i++) {
+            assertNull(checker.isValidWord("MISS" + i));
+            if (i % 500 == 0) {
+                assertNotNull(checker.isValidWord("DOG"));
+            }
+        }
+        checker.close();
+
+        assertNull(checker.isValidWord("CAT"));
+        assertNotNull(checker.isValidWord("DOG"));
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        List<String> words = Arrays.asList("dog", "CAN", "CAT", null, "DOG", " ", "zyzzyvas");
+        try (FileStreamScrabbleWordChecker checker = open()) {
+            List<WordResponse> responses = checker.isValidWords(words);
+            List<WordResponse> asyncResponses = checker.isValidWordsAsync(words).get();
+
+            for (List<WordResponse> result : Arrays.asList(responses, asyncResponses)) {
+                assertEquals(result.size(), words.size());
+                assertEquals(result.get(0).getWord(), "DOG");
+                assertNull(result.get(1));
+                assertEquals(result.get(2).getWord(), "CAT");
+                assertNull(result.get(3));
+                assertEquals(result.get(4).getWord(), "DOG");
+                assertNull(result.get(5));
+                assertEquals(result.get(6).getWord(), "ZYZZYVAS");
+            }
+        }
+    }
+
+    @Test
+    public void testRebuildChangedWordList() throws IOException {
+        open().close();
+        writeWordList("CAT\ta small domesticated carnivore\nEMU\ta large flightless bird\n");
+
+        try (FileStreamScrabbleWordChecker checker = open()) {
+            assertEquals(checker.size(), 2);
+            assertNotNull(checker.isValidWord("EMU"));
+            assertNull(checker.isValidWord("DOG"));
+        }
+    }
+
+    @Test
+    public void testRebuildTruncatedIndex() throws IOException {
+        open().close();
+        try (FileChannel file = FileChannel.open(index, StandardOpenOption.WRITE)) {
+            file.truncate(file.size() - 5);
+        }
+
+        try (FileStreamScrabbleWordChecker checker = open()) {
+            assertEquals(checker.isValidWord("ZYZZYVAS").getDescription(), "ZYZZYVA, a tropical weevil");
+        }
+    }
+
+    @Test
+    public void testRebuildCorruptIndex() throws IOException {
+        Files.write(index, "not an index".getBytes(StandardCharsets.UTF_8));
+
+        try (FileStreamScrabbleWordChecker checker = open()) {
+            assertEquals(checker.size(), 6);
+            assertNotNull(checker.isValidWord("CAT"));
+        }
+    }
+
+    private FileStreamScrabbleWordChecker open() throws IOException {
+        index.toFile().deleteOnExit();
+        URL url = wordList.toUri().toURL();
+        return new FileStreamScrabbleWordChecker(index, url);
+    }
+
+    private void writeWordList(String text) throws IOException {
+        FileTime previous = Files.exists(wordList) ? Files.getLastModifiedTime(wordList) : null;
+        Files.write(wordList, text.getBytes(StandardCharsets.UTF_8));
+        if (previous != null) {
+            // a new modification time even if the file system keeps it in whole seconds
+            Files.setLastModifiedTime(wordList, FileTime.fromMillis(previous.toMillis() + 2000));
+        }
+        wordList.toFile().deleteOnExit();
+    }
+
+} // end of class
@@ -2,12 +2,20 @@ package test;
 
 import exception.InvalidMoveException;
 import exception.InvalidWordException;
+import game.Board;
 import game.Game;
+import game.GameServices;
+import game.Move;
+import game.Placement;
 import game.Player;
+import game.Turn;
+import game.engine.ScoringEngine;
+import game.engine.TranspositionTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -230,6 +238,64 @@ public class GameTest {
         }
     }
 
+    @Test
+    public void testScoreWithoutCrossChecker() {
+        // a board without cross checker has its cross words walked instead of read from the cache
+        ScoringEngine scoring = GameServices.getDefault().getScoring();
+        Board board = new Board();
+        String[][] moves = {{"HORN", "H", "F", "8"}, {"FARM", "V", "H", "6"}, {"PASTE", "H", "F", "10"},
+                {"MOB", "H", "H", "9"}, {"BIT", "H", "E", "11"}, {"BOARD", "V", "E", "11"},
+                {"HEARD", "H", "A", "15"}, {"PLAYABLE", "H", "C", "13"}};
+        int[] scores = {14, 9, 25, 15, 16, 8, 30, 84};
+        for (int i = 0; i < moves.length; i++) {
+            Move move = new Move(moves[i][0], moves[i][1].charAt(0), moves[i][2].charAt(0),
+                    Integer.parseInt(moves[i][3]));
+            assertEquals(scoring.score(board, move), scores[i]);
+            for (int j = 0; j < move.getWord().length(); j++) {
+                int row = move.getPlaceRow() - 1 + (move.getDirection() == Move.VERTICAL ? j : 0);
+                int column = move.getPlaceCol() - 'A' + (move.getDirection() == Move.HORIZONTAL ? j : 0);
+                board.setTileOnBoard(row, column, move.getWord().charAt(j));
+            }
+        }
+    }
+
+    @Test
+    public void testStateHash() throws InvalidMoveException {
+        p1.clearRack();
+        p1.addTilesToRack(Arrays.asList('H', 'O', 'R', 'N'));
+        long start = newGame.getStateHash();
+
+        // the same rack in another order hashes the same
+        p1.removeTilesFromRack(Arrays.asList('O', 'H'));
+        assertNotEquals(newGame.getStateHash(), start);
+        p1.addTilesToRack(Arrays.asList('O', 'H'));
+        assertEquals(newGame.getStateHash(), start);
+
+        // trying a move on the board and taking it back restores the hash
+        Board board = newGame.getBoard();
+        int mark = board.mark();
+        p1.makeMove(new String[]{"HORN", "H", "F", "8"});
+        newGame.placeTileOnBoard(p1.getMove());
+        long played = newGame.getStateHash();
+        assertNotEquals(played, start);
+        board.undo(mark);
+        assertEquals(newGame.getStateHash(), start);
+        assertEquals(new Board(board).getHash(), board.getHash());
+
+        // drawing from the bag changes the hash
+        p2.addTilesToRack(newGame.getTileBag().drawTiles(1));
+        assertNotEquals(newGame.getStateHash(), start);
+
+        TranspositionTable<Integer> table = new TranspositionTable<>(1000);
+        assertEquals(table.getCapacity(), 1024);
+        assertNull(table.get(played));
+        table.put(played, 14);
+        assertEquals(table.get(played), Integer.valueOf(14));
+        assertNull(table.get(played ^ table.getCapacity() << 40));
+        table.clear();
+        assertNull(table.get(played));
+    }
+
     @Test
     public void testRemoveMinus() {
         String[] blankTile1 = {"comp-UTER", "H", "H", "8"};
@@ -420,4 +486,45 @@ public class GameTest {
         assertEquals(newGame.getTileBag().getTilesLeft(), 100);
     }
 
+    @Test
+    public void testSeedAndReplay() throws InvalidMoveException {
+        GameServices services = GameServices.getDefault();
+        // the first player of this seed draws a blank
+        Game seeded = new Game(Arrays.asList(new Player("a"), new Player("b")), services, 34);
+        Game same = new Game(Arrays.asList(new Player("a"), new Player("b")), services, 34);
+        assertEquals(same.getStateHash(), seeded.getStateHash());
+
+        // a swap that keeps the blank, a pass and a word of the blank as an A and the first letter on the rack
+        Player first = seeded.getCurrentPlayer();
+        List<Character> rack = first.getCurrentTiles();
+        assertTrue(rack.contains('-'));
+        List<Character> swapped = new ArrayList<>(rack);
+        swapped.remove(Character.valueOf('-'));
+        seeded.swapTiles(first, swapped.subList(0, 3));
+        seeded.nextPlayer();
+        seeded.nextPlayer();
+        assertTrue(first.getCurrentTiles().contains('-'));
+        StringBuilder word = new StringBuilder("-A");
+        for (char tile : first.getCurrentTiles()) {
+            if (tile != '-' && word.length() < 3) {
+                word.append(tile);
+            }
+        }
+        Placement placement = seeded.validateMove(new Move(word.toString(), 'H', 'H', 8), first, new Placement());
+        assertTrue(placement.isValid(), placement.getErrorMessage());
+        int score = seeded.playMove(placement, first);
+        seeded.nextPlayer();
+
+        List<Turn> history = seeded.getHistory();
+        assertEquals(history.size(), 3);
+        assertEquals(history.get(1).getKind(), Turn.Kind.PASS);
+        // the blank is recorded as a blank, not as the letter it stands for
+        assertEquals(history.get(2).getMove().getWord(), word.toString());
+
+        List<Player> replayers = Arrays.asList(new Player("a"), new Player("b"));
+        Game replayed = Game.replay(replayers, services, seeded.getSeed(), history);
+        assertEquals(replayed.getStateHash(), seeded.getStateHash());
+        assertEquals(replayers.get(seeded.getPlayers().indexOf(first)).getScore(), score);
+    }
+
 } // end of class
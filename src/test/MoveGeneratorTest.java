@@ -0,0 +1,145 @@
+package test;
+
+import exception.InvalidMoveException;
+import exception.InvalidWordException;
+import game.Game;
+import game.GameServices;
+import game.LetterDistribution;
+import game.Move;
+import game.Player;
+import game.engine.MoveGenerator;
+import game.engine.ScoredMove;
+import game.wordchecker.DawgBuilder;
+import game.wordchecker.DawgScrabbleWordChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGeneratorTest {
+
+    Player p1 = new Player("Michael");
+    Player p2 = new Player("Ronny");
+    Game newGame;
+    MoveGenerator generator;
+
+    @BeforeEach
+    public void setUp() {
+        List<String> words = Arrays.asList("AB", "AN", "AR", "AT", "BOARD", "BIT", "CAT", "CATS", "FARM", "HE",
+                "HORN", "HORNS", "IT", "MOB", "NO", "OR", "PASTE", "PASTES", "RAT", "SH", "TA", "TAN", "TO", "TON");
+        DawgScrabbleWordChecker dictionary = new DawgScrabbleWordChecker(DawgBuilder.build(words), null);
+        GameServices services = new GameServices(dictionary, LetterDistribution.getDefault());
+        List<Player> players = new ArrayList<>();
+        players.add(p1);
+        players.add(p2);
+        newGame = new Game(players, services);
+        generator = services.getMoveGenerator();
+    }
+
+    private void setRack(Player player, String tiles) {
+        player.clearRack();
+        List<Character> rack = new ArrayList<>();
+        for (char c : tiles.toCharArray()) {
+            rack.add(c);
+        }
+        player.addTilesToRack(rack);
+    }
+
+    private void play(String... input) throws InvalidMoveException {
+        p2.makeMove(input);
+        newGame.placeTileOnBoard(p2.getMove());
+    }
+
+    /**
+     * Check a generated move the way the server checks a move typed by a player
+     */
+    private void assertAcceptedByGame(Player player, ScoredMove scored) throws InvalidMoveException {
+        Move move = scored.toMove();
+        String wordWithoutBlanks = newGame.removeMinus(move);
+        String wordWithoutReplacement = move.getWord().contains("-") ? newGame.removeCharAfterMinus(move)
+                : wordWithoutBlanks;
+
+        move.setWord(wordWithoutReplacement);
+        assertTrue(newGame.checkMoveInsideBoard(move));
+        assertTrue(newGame.checkMoveOverwrite(move));
+        assertTrue(newGame.checkFirstMoveCenter(move));
+        assertTrue(newGame.checkMoveTouchTile(move));
+        List<Character> rack = player.rackCopy();
+        for (char tile : newGame.tilesToRemove(move)) {
+            assertTrue(rack.remove((Character) tile), scored + " uses a tile that is not on the rack");
+        }
+        assertEquals(newGame.tilesToRemove(move).size(), scored.getTileCount());
+
+        move.setWord(wordWithoutBlanks);
+        try {
+            assertTrue(newGame.checkWordsValid(newGame.getAllWords(move)));
+        } catch (InvalidWordException e) {
+            fail(scored + " forms an invalid word: " + newGame.getAllWords(move));
+        }
+        assertEquals(newGame.calculateScore(move), scored.getScore(), scored.toString());
+    }
+
+    @Test
+    public void testFirstMove() throws InvalidMoveException {
+        setRack(p1, "HORNSXQ");
+        List<ScoredMove> moves = newGame.getLegalMoves(p1);
+        Set<String> found = new HashSet<>();
+        for (ScoredMove move : moves) {
+            assertAcceptedByGame(p1, move);
+            found.add(move.toString());
+        }
+        assertTrue(found.contains("HORN H E 8"));
+        assertTrue(found.contains("HORNS V H 4"));
+        assertTrue(found.contains("NO H H 8"));
+        assertFalse(found.contains("HORN H A 8"));
+        assertEquals(found.size(), moves.size());
+    }
+
+    @Test
+    public void testMovesAgreeWithGame() throws InvalidMoveException {
+        play("HORN", "H", "F", "8");
+        play("FARM", "V", "H", "6");
+        play("PASTE", "H", "F", "10");
+        for (String tiles : new String[]{"BOARDIT", "CATSHNO", "TONE-AB", "--RATSX"}) {
+            setRack(p1, tiles);
+            List<ScoredMove> moves = newGame.getLegalMoves(p1);
+            assertFalse(moves.isEmpty());
+            for (ScoredMove move : moves) {
+                assertAcceptedByGame(p1, move);
+            }
+        }
+    }
+
+    @Test
+    public void testCrossWords() throws InvalidMoveException {
+        play("CAT", "H", "G", "8");
+        setRack(p1, "S");
+        // the only place for an S is behind CAT, on its own or as the end of a longer word
+        List<ScoredMove> moves = newGame.getLegalMoves(p1);
+        assertEquals(moves.size(), 1);
+        assertEquals(moves.get(0).toString(), "CATS H G 8");
+        assertAcceptedByGame(p1, moves.get(0));
+    }
+
+    @Test
+    public void testBestAndHasMove() throws InvalidMoveException {
+        setRack(p1, "QXZQXZV");
+        assertFalse(newGame.hasLegalMove(p1));
+        assertNull(generator.best(newGame.getBoard(), p1.getCurrentTiles()));
+
+        setRack(p1, "PASTESX");
+        assertTrue(newGame.hasLegalMove(p1));
+        ScoredMove best = generator.best(newGame.getBoard(), p1.getCurrentTiles());
+        for (ScoredMove move : newGame.getLegalMoves(p1)) {
+            assertTrue(move.getScore() <= best.getScore());
+        }
+        assertEquals(best.getWord(), "PASTES");
+    }
+
+} // end of class
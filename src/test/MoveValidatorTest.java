@@ -0,0 +1,110 @@
+package test;
+
+import exception.InvalidMoveException;
+import game.Game;
+import game.Placement;
+import game.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveValidatorTest {
+
+    Player p1 = new Player("Michael");
+    Player p2 = new Player("Ronny");
+    Game newGame;
+    Placement placement;
+
+    @BeforeEach
+    public void setUp() {
+        List<Player> players = new ArrayList<>();
+        players.add(p1);
+        players.add(p2);
+        newGame = new Game(players);
+        placement = new Placement();
+        p1.clearRack();
+        p1.addTilesToRack(Arrays.asList('H', 'O', 'R', 'N', 'S', 'E', '-'));
+    }
+
+    private Placement validate(String... input) throws InvalidMoveException {
+        p1.makeMove(input);
+        return newGame.validateMove(p1.getMove(), p1, placement);
+    }
+
+    private void play(String... input) throws InvalidMoveException {
+        p2.makeMove(input);
+        newGame.placeTileOnBoard(p2.getMove());
+    }
+
+    @Test
+    public void testValidFirstMove() throws InvalidMoveException {
+        validate("HORN", "H", "F", "8");
+        assertTrue(placement.isValid());
+        assertEquals(placement.getTileCount(), 4);
+        assertEquals(placement.getWord(), "HORN");
+        assertEquals(placement.getTilesUsed(), Arrays.asList('H', 'O', 'R', 'N'));
+        assertEquals(placement.getRow(3), 7);
+        assertEquals(placement.getColumn(3), 8);
+    }
+
+    @Test
+    public void testBlankTile() throws InvalidMoveException {
+        validate("HO-RNS", "V", "H", "6");
+        assertTrue(placement.isValid());
+        assertEquals(placement.getWord(), "HORNS");
+        assertTrue(placement.isBlank(2));
+        assertEquals(placement.getTilesUsed(), Arrays.asList('H', 'O', '-', 'N', 'S'));
+
+        assertEquals(validate("HO-", "H", "H", "8").getViolation(), Placement.Violation.MALFORMED_WORD);
+        assertEquals(validate("H-O-R-N", "H", "H", "8").getViolation(), Placement.Violation.TOO_MANY_BLANKS);
+    }
+
+    @Test
+    public void testViolations() throws InvalidMoveException {
+        assertEquals(validate("HORN", "X", "F", "8").getViolation(), Placement.Violation.INVALID_DIRECTION);
+        assertEquals(validate("HORNS", "H", "L", "8").getViolation(), Placement.Violation.OUTSIDE_BOARD);
+        assertEquals(validate("HORNS", "V", "A", "16").getViolation(), Placement.Violation.OUTSIDE_BOARD);
+        assertEquals(validate("FARM", "H", "F", "8").getViolation(), Placement.Violation.NOT_ON_RACK);
+        assertEquals(validate("HORN", "H", "A", "1").getViolation(), Placement.Violation.FIRST_MOVE_CENTER);
+        assertFalse(placement.getErrorMessage().isEmpty());
+
+        play("FARM", "V", "H", "6");
+        assertEquals(validate("HORN", "H", "E", "8").getViolation(), Placement.Violation.OVERWRITE);
+        assertEquals(validate("HORN", "H", "A", "1").getViolation(), Placement.Violation.NOT_TOUCHING);
+        assertEquals(validate("RM", "V", "H", "8").getViolation(), Placement.Violation.NO_TILE_PLACED);
+    }
+
+    @Test
+    public void testUsesBoardTiles() throws InvalidMoveException {
+        play("FARM", "V", "H", "6");
+        // HORN across the R of FARM takes only three tiles from the rack
+        validate("HORN", "H", "F", "8");
+        assertTrue(placement.isValid());
+        assertEquals(placement.getTileCount(), 3);
+        assertFalse(placement.isPlaced(2));
+        assertEquals(placement.getTilesUsed(), newGame.tilesToRemove(p1.getMove()));
+
+        // a word next to FARM touches it without using its tiles
+        validate("SHE", "V", "I", "5");
+        assertTrue(placement.isValid());
+        assertTrue(placement.isTouching());
+    }
+
+    @Test
+    public void testPlayMove() throws InvalidMoveException {
+        validate("HORN", "H", "F", "8");
+        int tilesLeft = newGame.getTileBag().getTilesLeft();
+        int score = newGame.playMove(placement, p1);
+        assertEquals(score, 14);
+        assertEquals(p1.getScore(), 14);
+        assertEquals(p1.getRackSize(), 7);
+        assertEquals(newGame.getTileBag().getTilesLeft(), tilesLeft - 4);
+        assertEquals(newGame.getBoard().getTileOnBoard('I', 8), 'N');
+    }
+
+} // end of class
@@ -0,0 +1,122 @@
+package test;
+
+import game.Game;
+import game.GameServices;
+import game.LetterDistribution;
+import game.Player;
+import game.engine.ScoredMove;
+import game.wordchecker.Dawg;
+import game.wordchecker.DawgBuilder;
+import game.wordchecker.DawgScrabbleWordChecker;
+import game.wordchecker.MultiLexiconDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiLexiconTest {
+
+    static final int COLLINS = 1;
+    static final int TWL = 2;
+
+    MultiLexiconDictionary dictionary;
+
+    @BeforeEach
+    public void setUp() {
+        List<String> words = Arrays.asList("CAT", "CATS", "HORN", "HORNS", "NO", "OH", "ON", "QI", "ZA");
+        int[] lexicons = {COLLINS | TWL, COLLINS | TWL, COLLINS | TWL, COLLINS | TWL, COLLINS | TWL,
+                COLLINS, TWL, COLLINS, TWL};
+        Dawg dawg = DawgBuilder.build(words);
+        short[] masks = new short[dawg.size()];
+        for (int i = 0; i < words.size(); i++) {
+            masks[dawg.indexOf(words.get(i))] = (short) lexicons[i];
+        }
+        dictionary = new MultiLexiconDictionary(dawg, new String[]{"Collins", "TWL"}, masks, null);
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(dictionary.contains("CAT", 0));
+        assertTrue(dictionary.contains("cat", 1));
+        assertTrue(dictionary.contains("QI", 0));
+        assertFalse(dictionary.contains("QI", 1));
+        assertFalse(dictionary.contains("ZA", 0));
+        assertTrue(dictionary.contains("ZA", 1));
+        assertFalse(dictionary.contains("DOG", 0));
+        assertFalse(dictionary.contains("DOG", 1));
+    }
+
+    @Test
+    public void testCheckers() {
+        DawgScrabbleWordChecker collins = dictionary.checker("Collins");
+        DawgScrabbleWordChecker twl = dictionary.checker("twl");
+
+        // both views share the one graph
+        assertSame(collins.getDawg(), dictionary.getDawg());
+        assertSame(twl.getDawg(), dictionary.getDawg());
+
+        assertTrue(collins.contains("OH"));
+        assertFalse(collins.contains("ON"));
+        assertTrue(twl.contains("ON"));
+        assertFalse(twl.contains("OH"));
+        assertEquals(collins.isValidWord("qi").getWord(), "QI");
+        assertNull(twl.isValidWord("QI"));
+
+        List<String> words = Arrays.asList("CATS", "QI", "ZA", "DOG");
+        assertEquals(responded(collins, words), Arrays.asList(true, true, false, false));
+        assertEquals(responded(twl, words), Arrays.asList(true, false, true, false));
+    }
+
+    @Test
+    public void testUnknownLexicon() {
+        assertThrows(IllegalArgumentException.class, () -> dictionary.checker("SOWPODS"));
+        assertEquals(dictionary.getLexiconNames(), Arrays.asList("Collins", "TWL"));
+        dictionary.getLexiconNames().clear();
+        assertEquals(dictionary.getLexiconNames().size(), 2);
+    }
+
+    @Test
+    public void testMoveGeneratorPerLexicon() {
+        Set<String> collinsWords = firstMoveWords(dictionary.checker("Collins"));
+        Set<String> twlWords = firstMoveWords(dictionary.checker("TWL"));
+
+        assertTrue(collinsWords.contains("HORNS"));
+        assertTrue(collinsWords.contains("OH"));
+        assertFalse(collinsWords.contains("ON"));
+        assertTrue(twlWords.contains("HORNS"));
+        assertTrue(twlWords.contains("ON"));
+        assertFalse(twlWords.contains("OH"));
+    }
+
+    private static List<Boolean> responded(DawgScrabbleWordChecker checker, List<String> words) {
+        List<Boolean> result = new ArrayList<>();
+        for (Object response : checker.isValidWords(words)) {
+            result.add(response != null);
+        }
+        return result;
+    }
+
+    private static Set<String> firstMoveWords(DawgScrabbleWordChecker lexicon) {
+        GameServices services = new GameServices(lexicon, LetterDistribution.getDefault());
+        Player player = new Player("Michael");
+        List<Player> players = new ArrayList<>();
+        players.add(player);
+        players.add(new Player("Ronny"));
+        Game game = new Game(players, services);
+        player.clearRack();
+        player.addTilesToRack(Arrays.asList('H', 'O', 'R', 'N', 'S', 'X', 'V'));
+
+        Set<String> words = new HashSet<>();
+        for (ScoredMove move : game.getLegalMoves(player)) {
+            words.add(move.getWord());
+        }
+        return words;
+    }
+
+} // end of class
@@ -1,10 +1,12 @@
 package test;
 
+import game.LetterDistribution;
 import game.TileBag;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -49,4 +51,17 @@ public class TileBagTest {
         assertTrue(!newTiles.containsAll(oldTiles));
     }
 
+    @Test
+    public void testSeededDraws() {
+        TileBag bag = new TileBag(LetterDistribution.getDefault(), new SplittableRandom(3));
+        TileBag same = new TileBag(LetterDistribution.getDefault(), new SplittableRandom(3));
+        assertEquals(same.drawTiles(50), bag.drawTiles(50));
+        assertEquals(same.getHash(), bag.getHash());
+
+        // emptying the bag draws every tile exactly once
+        bag.drawTiles(100);
+        assertEquals(bag.getTilesLeft(), 0);
+        assertEquals(bag.getLetterAmountLeft('E'), 0);
+    }
+
 }